@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A loop of {@link Event#fire(Object)} compared with one {@link BatchEvent#fireAll(java.util.Collection)}
+ * of the same events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchEventBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+    private SeContainer container;
+    private Event<Order> event;
+    private List<Order> orders;
+
+    @Setup
+    public void setup() {
+        container = SeContainerInitializer.newInstance().initialize();
+        event = container.getBeanContainer().getEvent().select(Order.class);
+        orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            orders.add(new Order());
+        }
+        event.fire(orders.get(0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.close();
+    }
+
+    @Benchmark
+    public void fire() {
+        for (Order order : orders) {
+            event.fire(order);
+        }
+    }
+
+    @Benchmark
+    public void fireAll() {
+        ((BatchEvent<Order>) event).fireAll(orders);
+    }
+
+    public static final class Order {
+    }
+
+    @ApplicationScoped
+    public static class OrderObserver {
+        private long received;
+
+        void onOrder(@Observes Order order) {
+            received++;
+        }
+    }
+
+    @ApplicationScoped
+    public static class OrderAuditor {
+        private long received;
+
+        void onOrder(@Observes Order order) {
+            received++;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.EventMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The synchronous notification of the observers, run with {@code -prof gc} to see the allocation per fire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventFireBenchmark {
+
+    private final Ping ping = new Ping();
+    private final Pong pong = new Pong();
+    private SeContainer container;
+    private Event<Ping> pingEvent;
+    private Event<Pong> pongEvent;
+
+    @Setup
+    public void setup() {
+        container = SeContainerInitializer.newInstance().initialize();
+        pingEvent = container.getBeanContainer().getEvent().select(Ping.class);
+        pongEvent = container.getBeanContainer().getEvent().select(Pong.class);
+        // The observers are resolved and the instances created before the measurement
+        pingEvent.fire(ping);
+        pongEvent.fire(pong);
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.close();
+    }
+
+    @Benchmark
+    public void fire() {
+        pingEvent.fire(ping);
+    }
+
+    @Benchmark
+    public void fireWithMetadata() {
+        pongEvent.fire(pong);
+    }
+
+    public static final class Ping {
+    }
+
+    public static final class Pong {
+    }
+
+    @ApplicationScoped
+    public static class PingObserver {
+        private long received;
+
+        void onPing(@Observes Ping ping) {
+            received++;
+        }
+    }
+
+    @ApplicationScoped
+    public static class PongObserver {
+        private long received;
+
+        void onPong(@Observes Pong pong, EventMetadata metadata) {
+            received++;
+        }
+    }
+}
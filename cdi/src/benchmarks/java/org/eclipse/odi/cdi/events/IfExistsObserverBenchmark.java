@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.Reception;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The high frequency notification of the {@link Reception#IF_EXISTS} observers, with and without their instances.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IfExistsObserverBenchmark {
+
+    private final Tick tick = new Tick();
+    private final Tock tock = new Tock();
+    private SeContainer container;
+    private Event<Tick> existingEvent;
+    private Event<Tock> missingEvent;
+
+    @Setup
+    public void setup() {
+        container = SeContainerInitializer.newInstance().initialize();
+        existingEvent = container.getBeanContainer().getEvent().select(Tick.class);
+        missingEvent = container.getBeanContainer().getEvent().select(Tock.class);
+        // Only the instance of the tick observer exists
+        container.select(TickObserver.class).get().touch();
+        existingEvent.fire(tick);
+        missingEvent.fire(tock);
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.close();
+    }
+
+    @Benchmark
+    public void existingInstance() {
+        existingEvent.fire(tick);
+    }
+
+    @Benchmark
+    public void missingInstance() {
+        missingEvent.fire(tock);
+    }
+
+    public static final class Tick {
+    }
+
+    public static final class Tock {
+    }
+
+    @ApplicationScoped
+    public static class TickObserver {
+        private long received;
+
+        void onTick(@Observes(notifyObserver = Reception.IF_EXISTS) Tick tick) {
+            received++;
+        }
+
+        public void touch() {
+        }
+    }
+
+    @ApplicationScoped
+    public static class TockObserver {
+        private long received;
+
+        void onTock(@Observes(notifyObserver = Reception.IF_EXISTS) Tock tock) {
+            received++;
+        }
+    }
+}
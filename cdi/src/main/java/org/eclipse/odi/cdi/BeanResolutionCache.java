@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi;
+
+import io.micronaut.context.Qualifier;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.type.Argument;
+import io.micronaut.inject.BeanDefinition;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Cache of the typesafe resolution results computed by {@link OdiBeanContainer#getBeanDefinitions(Argument, Qualifier)}.
+ * The entries are keyed by the argument type (including the type parameters) and the qualifier.
+ *
+ * <p>The cache assumes a static set of bean definitions: it is not notified of the beans registered at runtime
+ * through {@link io.micronaut.context.BeanDefinitionRegistry}, the resolutions computed before such a registration
+ * keep being served until {@link #clear()} is called. The cache is cleared when the container is closed.</p>
+ */
+@Internal
+public final class BeanResolutionCache {
+
+    private final Map<ResolutionKey, Collection<BeanDefinition<?>>> resolutions = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Finds the cached resolution or resolves and caches it.
+     *
+     * @param argument  The argument
+     * @param qualifier The qualifier
+     * @param resolver  The resolver
+     * @param <T>       The bean type
+     * @return The resolved bean definitions
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @NonNull
+    <T> Collection<BeanDefinition<T>> resolve(@NonNull Argument<T> argument,
+                                              @Nullable Qualifier<T> qualifier,
+                                              @NonNull BiFunction<Argument<T>, Qualifier<T>, Collection<BeanDefinition<T>>> resolver) {
+        ResolutionKey key = new ResolutionKey(argument, qualifier);
+        Collection<BeanDefinition<?>> beanDefinitions = resolutions.get(key);
+        if (beanDefinitions != null) {
+            hits.increment();
+            return (Collection) beanDefinitions;
+        }
+        misses.increment();
+        Collection<BeanDefinition<T>> resolved = List.copyOf(resolver.apply(argument, qualifier));
+        if (resolutions.size() < ResolutionKey.MAX_CACHED_RESOLUTIONS) {
+            resolutions.putIfAbsent(key, (Collection) resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Invalidates all cached resolutions, needs to be called after registering beans at runtime.
+     */
+    public void clear() {
+        resolutions.clear();
+    }
+
+    /**
+     * @return The number of cached resolutions
+     */
+    public int size() {
+        return resolutions.size();
+    }
+
+    /**
+     * @return The number of resolutions served from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of resolutions that needed to query the bean context
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi;
+
+import io.micronaut.context.BeanResolutionContext;
+import io.micronaut.context.DefaultBeanResolutionContext;
+import io.micronaut.context.Qualifier;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.type.Argument;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import jakarta.enterprise.context.spi.Context;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.AmbiguousResolutionException;
+import jakarta.enterprise.inject.CreationException;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.UnsatisfiedResolutionException;
+import org.eclipse.odi.cdi.context.AbstractContext;
+import org.eclipse.odi.cdi.context.DependentContext;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntPredicate;
+
+/**
+ * The precomputed plan of fulfilling and executing a method of a bean (event handler, disposer).
+ * The slots of the arguments are classified once: the supplied arguments are provided by the caller,
+ * {@link Instance} arguments and the injected beans are resolved by the plan.
+ * The bean handles of the injected arguments are resolved on the first execution and reused afterwards.
+ * The method is invoked by the {@link MethodInvoker} generated for it when there is one.
+ *
+ * @param <B> The bean type
+ * @param <R> The result type
+ */
+@Internal
+public final class MethodExecutionPlan<B, R> {
+
+    private static final byte SUPPLIED = 0;
+    private static final byte INSTANCE = 1;
+    private static final byte BEAN = 2;
+
+    private final OdiBeanContainer beanContainer;
+    private final BeanDefinition<B> beanDefinition;
+    private final ExecutableMethod<B, R> executableMethod;
+    private final MethodInvoker<B, R> invoker;
+    private final Argument<?>[] arguments;
+    private final byte[] slots;
+    // The resolved beans are published safely to the threads executing the plan
+    private final AtomicReferenceArray<OdiBean<?>> beans;
+    private final OdiBean<B> bean;
+    private final boolean dependent;
+    private final boolean requiresResolutionContext;
+
+    MethodExecutionPlan(OdiBeanContainer beanContainer,
+                        BeanDefinition<B> beanDefinition,
+                        ExecutableMethod<B, R> executableMethod,
+                        IntPredicate suppliedArguments,
+                        @Nullable MethodInvoker<B, R> invoker) {
+        this.beanContainer = beanContainer;
+        this.beanDefinition = beanDefinition;
+        this.executableMethod = executableMethod;
+        this.invoker = invoker == null ? executableMethod::invoke : invoker;
+        this.arguments = executableMethod.getArguments();
+        this.slots = new byte[arguments.length];
+        this.beans = new AtomicReferenceArray<>(arguments.length);
+        this.bean = beanContainer.getBean(beanDefinition);
+        this.dependent = beanContainer.getOdiAnnotations().isDependent(bean.getScope());
+        boolean injects = false;
+        for (int i = 0; i < arguments.length; i++) {
+            if (suppliedArguments.test(i)) {
+                slots[i] = SUPPLIED;
+            } else {
+                slots[i] = arguments[i].getType() == Instance.class ? INSTANCE : BEAN;
+                injects = true;
+            }
+        }
+        this.requiresResolutionContext = injects || dependent;
+    }
+
+    /**
+     * @return The number of the arguments of the method
+     */
+    public int getArgumentCount() {
+        return arguments.length;
+    }
+
+    /**
+     * Fulfills the not supplied arguments and executes the method.
+     *
+     * @param values The argument values, the supplied slots need to be populated
+     * @return return value
+     */
+    @Nullable
+    public Object execute(@NonNull Object[] values) {
+        if (!requiresResolutionContext) {
+            Context context = beanContainer.getContext(bean.getScope());
+            // The creational context is only created with the instance in the contexts storing the instances
+            B beanInstance = context instanceof AbstractContext ? context.get(bean) : null;
+            if (beanInstance == null) {
+                beanInstance = context.get(bean, beanContainer.createCreationalContext(bean));
+            }
+            return invoker.invoke(beanInstance, values);
+        }
+        try (BeanResolutionContext resolutionContext = new DefaultBeanResolutionContext(beanContainer.getBeanContext(), beanDefinition)) {
+            DependentContext dependentContext = new DependentContext(resolutionContext);
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] == SUPPLIED) {
+                    continue;
+                }
+                Argument<?> argument = arguments[i];
+                try (BeanResolutionContext.Path ignore = resolutionContext.getPath().pushMethodArgumentResolve(
+                        beanDefinition,
+                        executableMethod.getMethodName(),
+                        argument,
+                        arguments,
+                        false
+                )) {
+                    if (slots[i] == INSTANCE) {
+                        values[i] = beanContainer.createInstance(dependentContext).select(argument.getFirstTypeVariable()
+                                .orElseThrow(() -> new IllegalArgumentException("Expected the type of Instance!")));
+                    } else {
+                        values[i] = getDependentValue(i, dependentContext);
+                    }
+                }
+            }
+            Context beanContext = dependent ? dependentContext : beanContainer.getContext(bean.getScope());
+            B beanInstance = beanContext.get(bean, beanContainer.createCreationalContext(bean));
+            Object result = invoker.invoke(beanInstance, values);
+            dependentContext.destroy();
+            return result;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getDependentValue(int index, DependentContext dependentContext) {
+        OdiBean<T> argumentBean = (OdiBean<T>) beans.get(index);
+        if (argumentBean == null) {
+            // The concurrent executions can resolve the same interned bean more than once
+            argumentBean = resolveBean((Argument<T>) arguments[index]);
+            beans.set(index, argumentBean);
+        }
+        CreationalContext<T> creationalContext = beanContainer.createCreationalContext(argumentBean);
+        return dependentContext.get(argumentBean, creationalContext);
+    }
+
+    private <T> OdiBean<T> resolveBean(Argument<T> argument) {
+        try {
+            Qualifier<T> qualifier = Qualifiers.forArgument(argument);
+            if (qualifier == null) {
+                qualifier = DefaultQualifier.instance();
+            }
+            return beanContainer.getBean(argument, qualifier);
+        } catch (UnsatisfiedResolutionException | AmbiguousResolutionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CreationException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Invokes a method of a bean with the fulfilled arguments, see {@link MethodExecutionPlan}.
+ * The processor generates an implementation calling the observer method directly for each observer method
+ * accessible from its package.
+ *
+ * @param <B> The bean type
+ * @param <R> The result type
+ */
+@Internal
+@FunctionalInterface
+public interface MethodInvoker<B, R> {
+
+    /**
+     * Invokes the method.
+     *
+     * @param bean      The bean instance, ignored by the static methods
+     * @param arguments The arguments
+     * @return The result
+     */
+    @Nullable
+    R invoke(@Nullable B bean, @NonNull Object[] arguments);
+}
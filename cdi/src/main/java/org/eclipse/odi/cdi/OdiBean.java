@@ -32,4 +32,13 @@ public interface OdiBean<T> extends Bean<T> {
     @NonNull
     BeanDefinition<T> getBeanDefinition();
 
+    /**
+     * The dense index of the bean definition in its normal scope, used by the contexts to store the contextual instance.
+     *
+     * @return The slot or {@code -1} if the bean doesn't have a slot
+     */
+    default int getSlot() {
+        return -1;
+    }
+
 }
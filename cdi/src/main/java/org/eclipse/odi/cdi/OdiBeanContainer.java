@@ -27,6 +27,7 @@ import jakarta.enterprise.inject.spi.BeanContainer;
 
 import java.util.Collection;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
 
 /**
  * ODI specific {@link BeanContainer} implementation.
@@ -46,6 +47,15 @@ public interface OdiBeanContainer extends BeanContainer {
     <T> Collection<BeanDefinition<T>> getBeanDefinitions(@NonNull Argument<T> argument,
                                                          @Nullable io.micronaut.context.Qualifier<T> qualifier);
 
+    /**
+     * Gets the cache of the resolved bean definitions. The cache needs to be cleared after registering beans
+     * at runtime.
+     *
+     * @return The resolution cache
+     */
+    @NonNull
+    BeanResolutionCache getResolutionCache();
+
     /**
      * Gets a bean resolved by {@link BeanDefinition}.
      *
@@ -123,4 +133,36 @@ public interface OdiBeanContainer extends BeanContainer {
     <B, R> Object fulfillAndExecuteMethod(BeanDefinition<B> beanDefinition,
                                           ExecutableMethod<B, R> executableMethod,
                                           Function<Argument<?>, Object> valueSupplier);
+
+    /**
+     * Creates a reusable plan to fulfill and execute a method. (event handler, disposer)
+     *
+     * @param beanDefinition    The bean definition
+     * @param executableMethod  The method to be fulfilled and executed
+     * @param suppliedArguments Tests if the argument at the given index is supplied by the caller
+     * @param <B>               The bean type
+     * @param <R>               The result type
+     * @return The execution plan
+     */
+    @NonNull
+    <B, R> MethodExecutionPlan<B, R> createExecutionPlan(@NonNull BeanDefinition<B> beanDefinition,
+                                                         @NonNull ExecutableMethod<B, R> executableMethod,
+                                                         @NonNull IntPredicate suppliedArguments);
+
+    /**
+     * Creates a reusable plan to fulfill and execute a method with the invoker generated for it.
+     *
+     * @param beanDefinition    The bean definition
+     * @param executableMethod  The method to be fulfilled and executed
+     * @param suppliedArguments Tests if the argument at the given index is supplied by the caller
+     * @param invoker           The invoker of the method, the executable method is invoked if null
+     * @param <B>               The bean type
+     * @param <R>               The result type
+     * @return The execution plan
+     */
+    @NonNull
+    <B, R> MethodExecutionPlan<B, R> createExecutionPlan(@NonNull BeanDefinition<B> beanDefinition,
+                                                         @NonNull ExecutableMethod<B, R> executableMethod,
+                                                         @NonNull IntPredicate suppliedArguments,
+                                                         @Nullable MethodInvoker<B, R> invoker);
 }
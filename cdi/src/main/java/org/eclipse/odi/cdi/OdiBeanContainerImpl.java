@@ -20,12 +20,12 @@ import io.micronaut.context.BeanContext;
 import io.micronaut.context.BeanResolutionContext;
 import io.micronaut.context.DefaultBeanResolutionContext;
 import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.type.Argument;
 import io.micronaut.inject.BeanDefinition;
 import io.micronaut.inject.ExecutableMethod;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import jakarta.annotation.Priority;
-import jakarta.enterprise.context.ContextNotActiveException;
 import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.context.spi.Context;
 import jakarta.enterprise.context.spi.Contextual;
@@ -40,6 +40,7 @@ import jakarta.enterprise.inject.spi.InterceptionType;
 import jakarta.enterprise.inject.spi.Interceptor;
 import jakarta.enterprise.inject.spi.ObserverMethod;
 import jakarta.inject.Singleton;
+import org.eclipse.odi.cdi.context.BeanSlots;
 import org.eclipse.odi.cdi.context.DependentContext;
 import org.eclipse.odi.cdi.context.SingletonContext;
 import org.eclipse.odi.cdi.events.OdiObserverMethodRegistry;
@@ -48,11 +49,14 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collection;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 
 final class OdiBeanContainerImpl implements OdiBeanContainer {
@@ -61,6 +65,9 @@ final class OdiBeanContainerImpl implements OdiBeanContainer {
     private final OdiSeContainer container;
 
     private final OdiAnnotations odiAnnotations;
+    private final BeanResolutionCache resolutionCache = new BeanResolutionCache();
+    private final OdiContextRegistry contextRegistry;
+    private final Map<BeanDefinition<?>, OdiBeanImpl<?>> beans = new ConcurrentHashMap<>();
     private OdiObserverMethodRegistry observerMethodRegistry;
     private Event<Object> objectEvent;
 
@@ -68,6 +75,11 @@ final class OdiBeanContainerImpl implements OdiBeanContainer {
         this.container = container;
         this.odiAnnotations = odiAnnotations;
         this.applicationContext = applicationContext;
+        this.contextRegistry = new OdiContextRegistry(applicationContext);
+        BeanSlots.of(applicationContext).assign(
+                applicationContext.getAllBeanDefinitions(),
+                beanDefinition -> MetaAnnotationSupport.resolveDeclaredScope(beanDefinition.getAnnotationMetadata())
+        );
     }
 
     @Override
@@ -117,9 +129,29 @@ final class OdiBeanContainerImpl implements OdiBeanContainer {
         }
     }
 
+    @Override
+    public <B, R> MethodExecutionPlan<B, R> createExecutionPlan(BeanDefinition<B> beanDefinition,
+                                                                ExecutableMethod<B, R> executableMethod,
+                                                                IntPredicate suppliedArguments) {
+        return createExecutionPlan(beanDefinition, executableMethod, suppliedArguments, null);
+    }
+
+    @Override
+    public <B, R> MethodExecutionPlan<B, R> createExecutionPlan(BeanDefinition<B> beanDefinition,
+                                                                ExecutableMethod<B, R> executableMethod,
+                                                                IntPredicate suppliedArguments,
+                                                                @Nullable MethodInvoker<B, R> invoker) {
+        return new MethodExecutionPlan<>(this, beanDefinition, executableMethod, suppliedArguments, invoker);
+    }
+
+    @SuppressWarnings("unchecked")
     @Override
     public <T> OdiBeanImpl<T> getBean(BeanDefinition<T> beanDefinition) {
-        return new OdiBeanImpl<>(applicationContext, beanDefinition);
+        OdiBeanImpl<?> bean = beans.get(beanDefinition);
+        if (bean == null) {
+            bean = beans.computeIfAbsent(beanDefinition, bd -> new OdiBeanImpl<>(applicationContext, bd));
+        }
+        return (OdiBeanImpl<T>) bean;
     }
 
     @Override
@@ -131,13 +163,13 @@ final class OdiBeanContainerImpl implements OdiBeanContainer {
         if (beanDefinitions.size() > 1) {
             throw new AmbiguousResolutionException("Multiple beans found for argument: " + argument + " and qualifier: " + qualifier);
         }
-        return new OdiBeanImpl<>(applicationContext, beanDefinitions.iterator().next());
+        return getBean(beanDefinitions.iterator().next());
     }
 
     @Override
     public <T> Collection<OdiBean<T>> getBeans(Argument<T> argument, io.micronaut.context.Qualifier<T> qualifier) {
         return getBeanDefinitions(argument, qualifier).stream()
-                .map(bd -> new OdiBeanImpl<>(applicationContext, bd))
+                .map(this::getBean)
                 .collect(Collectors.toUnmodifiableList());
     }
 
@@ -146,26 +178,35 @@ final class OdiBeanContainerImpl implements OdiBeanContainer {
         if (qualifier == null) {
             qualifier = DefaultQualifier.instance();
         }
+        return resolutionCache.resolve(argument, qualifier, this::resolveBeanDefinitions);
+    }
+
+    @Override
+    public BeanResolutionCache getResolutionCache() {
+        return resolutionCache;
+    }
+
+    private <T> Collection<BeanDefinition<T>> resolveBeanDefinitions(Argument<T> argument, io.micronaut.context.Qualifier<T> qualifier) {
         Collection<BeanDefinition<T>> beanDefinitions = applicationContext.getBeanDefinitions(argument, qualifier);
         if (beanDefinitions.isEmpty() || beanDefinitions.size() == 1) {
             return beanDefinitions;
         }
-
-        List<BeanDefinition<T>> alternatives = beanDefinitions
-                .stream()
-                .filter(bd -> bd.hasStereotype(Alternative.class))
-                .collect(Collectors.toList());
-        if (!alternatives.isEmpty()) {
-            return alternatives.stream()
-                    .sorted(Comparator.<BeanDefinition<T>>comparingInt(bd -> {
-                        AnnotationValue<Priority> annotation = bd.getAnnotation(Priority.class);
-                        if (annotation == null) {
-                            return 0;
-                        }
-                        return annotation.intValue().orElse(0);
-                    }).reversed())
-                    .limit(1)
-                    .collect(Collectors.toList());
+        // Select the alternative with the highest priority
+        BeanDefinition<T> selectedAlternative = null;
+        int selectedPriority = 0;
+        for (BeanDefinition<T> beanDefinition : beanDefinitions) {
+            if (!beanDefinition.hasStereotype(Alternative.class)) {
+                continue;
+            }
+            AnnotationValue<Priority> annotation = beanDefinition.getAnnotation(Priority.class);
+            int priority = annotation == null ? 0 : annotation.intValue().orElse(0);
+            if (selectedAlternative == null || priority > selectedPriority) {
+                selectedAlternative = beanDefinition;
+                selectedPriority = priority;
+            }
+        }
+        if (selectedAlternative != null) {
+            return Collections.singletonList(selectedAlternative);
         }
         return beanDefinitions;
     }
@@ -277,17 +318,14 @@ final class OdiBeanContainerImpl implements OdiBeanContainer {
         if (scopeType == Singleton.class) {
             return SingletonContext.INSTANCE;
         }
-        final List<Context> contexts = applicationContext.streamOfType(Context.class)
-                .filter(c -> c.getScope() == scopeType)
-                .filter(Context::isActive)
-                .collect(Collectors.toList());
-        if (contexts.isEmpty()) {
-            throw new ContextNotActiveException("No context active for scope: " + scopeType.getSimpleName());
-        } else if (contexts.size() > 1) {
-            throw new IllegalArgumentException("More than one active context for scope: " + scopeType.getSimpleName());
-        } else {
-            return contexts.iterator().next();
-        }
+        return contextRegistry.getActiveContext(scopeType);
+    }
+
+    /**
+     * @return The registry of the contexts
+     */
+    OdiContextRegistry getContextRegistry() {
+        return contextRegistry;
     }
 
     @Override
@@ -17,10 +17,13 @@ package org.eclipse.odi.cdi;
 
 import io.micronaut.context.BeanContext;
 import io.micronaut.context.BeanRegistration;
+import io.micronaut.context.exceptions.BeanCreationException;
 import io.micronaut.context.exceptions.BeanInstantiationException;
 import io.micronaut.context.exceptions.DependencyInjectionException;
 import io.micronaut.context.exceptions.NoSuchBeanException;
 import io.micronaut.context.exceptions.NonUniqueBeanException;
+import io.micronaut.context.scope.BeanCreationContext;
+import io.micronaut.context.scope.CreatedBean;
 import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.AnnotationUtil;
 import io.micronaut.core.annotation.Internal;
@@ -43,9 +46,11 @@ import jakarta.enterprise.inject.UnsatisfiedResolutionException;
 import jakarta.enterprise.inject.spi.InjectionPoint;
 import jakarta.enterprise.inject.spi.Prioritized;
 import jakarta.inject.Named;
+import org.eclipse.odi.cdi.context.BeanSlots;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -60,9 +65,18 @@ import java.util.stream.Stream;
 @Internal
 public class OdiBeanImpl<T> implements OdiBean<T>, Prioritized {
 
+    private static final int UNASSIGNED_SLOT = -2;
+
     private final BeanDefinition<T> definition;
     private final BeanContext beanContext;
     private Class<? extends Annotation> scope;
+    private Set<Type> types;
+    private Set<Annotation> qualifiers;
+    private Set<Class<? extends Annotation>> stereotypes;
+    private Set<InjectionPoint> injectionPoints;
+    private OdiBean<T> proxyTargetBean;
+    private int hashCode;
+    private int slot = UNASSIGNED_SLOT;
 
     /**
      * Default constructor.
@@ -87,11 +101,24 @@ public class OdiBeanImpl<T> implements OdiBean<T>, Prioritized {
 
     @Override
     public OdiBean<T> getProxyTargetBean() {
-        BeanDefinition<T> targetBeanDefinition = beanContext.getProxyTargetBeanDefinition(
-                ((ProxyBeanDefinition) definition).getTargetType(),
-                definition.getDeclaredQualifier()
-        );
-        return new OdiBeanImpl<>(beanContext, targetBeanDefinition);
+        if (proxyTargetBean == null) {
+            BeanDefinition<T> targetBeanDefinition = beanContext.getProxyTargetBeanDefinition(
+                    ((ProxyBeanDefinition) definition).getTargetType(),
+                    definition.getDeclaredQualifier()
+            );
+            proxyTargetBean = beanContext.getBean(OdiBeanContainer.class).getBean(targetBeanDefinition);
+        }
+        return proxyTargetBean;
+    }
+
+    @Override
+    public int getSlot() {
+        int slot = this.slot;
+        if (slot == UNASSIGNED_SLOT) {
+            slot = BeanSlots.of(beanContext).getSlot(getScope(), definition);
+            this.slot = slot;
+        }
+        return slot;
     }
 
     @Override
@@ -106,6 +133,13 @@ public class OdiBeanImpl<T> implements OdiBean<T>, Prioritized {
 
     @Override
     public Set<InjectionPoint> getInjectionPoints() {
+        if (injectionPoints == null) {
+            injectionPoints = Collections.unmodifiableSet(collectInjectionPoints());
+        }
+        return injectionPoints;
+    }
+
+    private Set<InjectionPoint> collectInjectionPoints() {
         @SuppressWarnings("rawtypes")
         Stream<? extends io.micronaut.inject.InjectionPoint> injectionPoints =
                 Stream.concat(definition.getInjectedFields().stream(), definition.getInjectedMethods().stream());
@@ -129,6 +163,12 @@ public class OdiBeanImpl<T> implements OdiBean<T>, Prioritized {
 
     @Override
     public T create(CreationalContext<T> creationalContext) {
+        if (creationalContext instanceof OdiCreationalContext) {
+            BeanCreationContext<T> scopedCreationContext = ((OdiCreationalContext<T>) creationalContext).getScopedCreationContext();
+            if (scopedCreationContext != null) {
+                return createScoped(scopedCreationContext, (OdiCreationalContext<T>) creationalContext);
+            }
+        }
         try {
             BeanRegistration<T> beanRegistration = beanContext.getBeanRegistration(definition);
             if (creationalContext != null) {
@@ -168,6 +208,16 @@ public class OdiBeanImpl<T> implements OdiBean<T>, Prioritized {
         }
     }
 
+    private T createScoped(BeanCreationContext<T> scopedCreationContext, OdiCreationalContext<T> creationalContext) {
+        try {
+            CreatedBean<T> createdBean = scopedCreationContext.create();
+            creationalContext.setCreatedBean(createdBean);
+            return createdBean.bean();
+        } catch (BeanCreationException e) {
+            throw new CreationException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public void destroy(T instance, CreationalContext<T> creationalContext) {
         if (!(creationalContext instanceof OdiCreationalContext)) {
@@ -178,21 +228,28 @@ public class OdiBeanImpl<T> implements OdiBean<T>, Prioritized {
 
     @Override
     public Set<Type> getTypes() {
-        if (definition instanceof AdvisedBeanType) {
-            return Set.of(((AdvisedBeanType<?>) definition).getInterceptedType());
+        if (types == null) {
+            if (definition instanceof AdvisedBeanType) {
+                types = Set.of(((AdvisedBeanType<?>) definition).getInterceptedType());
+            } else {
+                types = Set.of(definition.getBeanType());
+            }
         }
-        return Set.of(definition.getBeanType());
+        return types;
     }
 
     @Override
     public Set<Annotation> getQualifiers() {
-        Set<Annotation> annotations = AnnotationUtils.synthesizeQualifierAnnotations(definition.getAnnotationMetadata(), beanContext.getClassLoader());
-        Set<Annotation> all = new HashSet<>(annotations);
-        all.add(Any.Literal.INSTANCE);
-        if (all.size() == 1 || all.stream().allMatch(e -> e instanceof Named || e instanceof Any)) {
-            all.add(Default.Literal.INSTANCE);
+        if (qualifiers == null) {
+            Set<Annotation> annotations = AnnotationUtils.synthesizeQualifierAnnotations(definition.getAnnotationMetadata(), beanContext.getClassLoader());
+            Set<Annotation> all = new HashSet<>(annotations);
+            all.add(Any.Literal.INSTANCE);
+            if (all.size() == 1 || all.stream().allMatch(e -> e instanceof Named || e instanceof Any)) {
+                all.add(Default.Literal.INSTANCE);
+            }
+            qualifiers = Collections.unmodifiableSet(all);
         }
-        return all;
+        return qualifiers;
     }
 
     @Override
@@ -211,8 +268,11 @@ public class OdiBeanImpl<T> implements OdiBean<T>, Prioritized {
 
     @Override
     public Set<Class<? extends Annotation>> getStereotypes() {
-        final AnnotationMetadata annotationMetadata = definition.getAnnotationMetadata();
-        return new HashSet<>(annotationMetadata.getAnnotationTypesByStereotype(Stereotype.class));
+        if (stereotypes == null) {
+            final AnnotationMetadata annotationMetadata = definition.getAnnotationMetadata();
+            stereotypes = Collections.unmodifiableSet(new HashSet<>(annotationMetadata.getAnnotationTypesByStereotype(Stereotype.class)));
+        }
+        return stereotypes;
     }
 
     @Override
@@ -231,9 +291,14 @@ public class OdiBeanImpl<T> implements OdiBean<T>, Prioritized {
 
     @Override
     public int hashCode() {
-        Argument<?> argument = asArgument();
-        final io.micronaut.context.Qualifier<T> qualifier = definition.getDeclaredQualifier();
-        return Objects.hash(argument, qualifier);
+        int hashCode = this.hashCode;
+        if (hashCode == 0) {
+            Argument<?> argument = asArgument();
+            final io.micronaut.context.Qualifier<T> qualifier = definition.getDeclaredQualifier();
+            hashCode = Objects.hash(argument, qualifier);
+            this.hashCode = hashCode;
+        }
+        return hashCode;
     }
 
     private Argument<?> asArgument() {
@@ -254,6 +319,9 @@ public class OdiBeanImpl<T> implements OdiBean<T>, Prioritized {
             return false;
         }
         OdiBeanImpl<?> odiBean = (OdiBeanImpl<?>) o;
+        if (definition == odiBean.definition) {
+            return true;
+        }
         Argument<?> argument = asArgument();
         return Objects.equals(argument, ((OdiBeanImpl<?>) o).asArgument())
                 && Objects.equals(definition.getDeclaredQualifier(), odiBean.definition.getDeclaredQualifier());
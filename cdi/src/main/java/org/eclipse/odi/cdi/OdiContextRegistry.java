@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.context.spi.Context;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The registry of {@link Context} beans indexed by the scope annotation.
+ * The index is built once when the container starts and the lookup of the active context doesn't allocate.
+ */
+final class OdiContextRegistry {
+
+    private static final Context[] NO_CONTEXTS = new Context[0];
+
+    private final Map<Class<? extends Annotation>, Context[]> contexts;
+    private final Map<String, Context[]> contextsByName;
+
+    OdiContextRegistry(BeanContext beanContext) {
+        Map<Class<? extends Annotation>, List<Context>> byScope = new HashMap<>();
+        beanContext.streamOfType(Context.class).forEach(context ->
+                byScope.computeIfAbsent(context.getScope(), scope -> new ArrayList<>(1)).add(context)
+        );
+        this.contexts = new HashMap<>(byScope.size());
+        this.contextsByName = new HashMap<>(byScope.size());
+        for (Map.Entry<Class<? extends Annotation>, List<Context>> e : byScope.entrySet()) {
+            Context[] scopeContexts = e.getValue().toArray(NO_CONTEXTS);
+            contexts.put(e.getKey(), scopeContexts);
+            contextsByName.put(e.getKey().getName(), scopeContexts);
+        }
+    }
+
+    /**
+     * Finds the active context of the scope.
+     *
+     * @param scopeType The scope annotation
+     * @return The active context
+     * @throws ContextNotActiveException if there is no active context for the scope
+     * @throws IllegalArgumentException  if there is more than one active context for the scope
+     */
+    @NonNull
+    Context getActiveContext(@NonNull Class<? extends Annotation> scopeType) {
+        Context[] candidates = contexts.getOrDefault(scopeType, NO_CONTEXTS);
+        Context active = null;
+        for (Context candidate : candidates) {
+            if (candidate.isActive()) {
+                if (active != null) {
+                    throw new IllegalArgumentException("More than one active context for scope: " + scopeType.getSimpleName());
+                }
+                active = candidate;
+            }
+        }
+        if (active == null) {
+            throw new ContextNotActiveException("No context active for scope: " + scopeType.getSimpleName());
+        }
+        return active;
+    }
+
+    /**
+     * Finds the context of the scope, active or not.
+     *
+     * @param scopeName The name of the scope annotation
+     * @return The context or {@code null} if there is no context for the scope
+     * @throws IllegalStateException if there is more than one context for the scope
+     */
+    @Nullable
+    Context findContext(@NonNull String scopeName) {
+        Context[] candidates = contextsByName.getOrDefault(scopeName, NO_CONTEXTS);
+        if (candidates.length > 1) {
+            throw new IllegalStateException("More than one context for scope: " + scopeName);
+        }
+        return candidates.length == 0 ? null : candidates[0];
+    }
+}
@@ -17,8 +17,10 @@ package org.eclipse.odi.cdi;
 
 import io.micronaut.context.BeanContext;
 import io.micronaut.context.BeanRegistration;
+import io.micronaut.context.scope.BeanCreationContext;
 import io.micronaut.context.scope.CreatedBean;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import jakarta.enterprise.context.spi.Contextual;
 import jakarta.enterprise.context.spi.CreationalContext;
 
@@ -31,12 +33,26 @@ public final class OdiCreationalContext<T> implements CreationalContext<T> {
 
     private final BeanContext beanContext;
     private final Contextual<T> contextual;
+    private final BeanCreationContext<T> scopedCreationContext;
     private CreatedBean<T> createdBean;
     private T instance;
 
     OdiCreationalContext(BeanContext beanContext, Contextual<T> contextual) {
+        this(beanContext, contextual, null);
+    }
+
+    /**
+     * Creates the creational context of a bean created by a custom scope, the instance is created and destroyed
+     * by the scope's {@link BeanCreationContext} instead of the bean context.
+     *
+     * @param beanContext           The bean context
+     * @param contextual            The contextual
+     * @param scopedCreationContext The creation context of the custom scope
+     */
+    OdiCreationalContext(BeanContext beanContext, Contextual<T> contextual, @Nullable BeanCreationContext<T> scopedCreationContext) {
         this.beanContext = beanContext;
         this.contextual = contextual;
+        this.scopedCreationContext = scopedCreationContext;
     }
 
     @Override
@@ -46,7 +62,12 @@ public final class OdiCreationalContext<T> implements CreationalContext<T> {
 
     @Override
     public void release() {
-        if (contextual instanceof OdiBean) {
+        if (scopedCreationContext != null) {
+            if (createdBean != null) {
+                createdBean.close();
+                this.createdBean = null;
+            }
+        } else if (contextual instanceof OdiBean) {
             if (createdBean instanceof BeanRegistration) {
                 BeanRegistration<T> beanRegistration = (BeanRegistration<T>) createdBean;
                 beanContext.destroyBean(beanRegistration);
@@ -64,6 +85,11 @@ public final class OdiCreationalContext<T> implements CreationalContext<T> {
         return createdBean;
     }
 
+    @Nullable
+    BeanCreationContext<T> getScopedCreationContext() {
+        return scopedCreationContext;
+    }
+
     void setCreatedBean(CreatedBean<T> createdBean) {
         this.createdBean = createdBean;
     }
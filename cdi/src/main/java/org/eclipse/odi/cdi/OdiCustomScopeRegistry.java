@@ -17,9 +17,7 @@ package org.eclipse.odi.cdi;
 
 import io.micronaut.context.BeanContext;
 import io.micronaut.context.BeanRegistration;
-import io.micronaut.context.exceptions.BeanCreationException;
 import io.micronaut.context.scope.BeanCreationContext;
-import io.micronaut.context.scope.CreatedBean;
 import io.micronaut.context.scope.CustomScope;
 import io.micronaut.context.scope.CustomScopeRegistry;
 import io.micronaut.core.annotation.NonNull;
@@ -30,32 +28,28 @@ import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.context.spi.AlterableContext;
 import jakarta.enterprise.context.spi.Context;
 import jakarta.enterprise.context.spi.Contextual;
-import jakarta.enterprise.context.spi.CreationalContext;
-import jakarta.enterprise.inject.CreationException;
 
 import java.lang.annotation.Annotation;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * Overrides the default custom scope registry to support CDI {@link jakarta.enterprise.context.spi.Context} concept.
  */
 final class OdiCustomScopeRegistry implements CustomScopeRegistry {
     private final BeanContext beanContext;
-    private volatile Map<String, Context> contextMap = null;
     private volatile Map<Context, CustomScope<?>> scopesMap = new ConcurrentHashMap<>();
-    private OdiBeanContainer beanContainer;
+    private OdiBeanContainerImpl beanContainer;
 
     OdiCustomScopeRegistry(BeanContext beanContext) {
         this.beanContext = beanContext;
     }
 
-    private OdiBeanContainer getBeanContainer() {
+    private OdiBeanContainerImpl getBeanContainer() {
         if (beanContainer == null) {
-            beanContainer = beanContext.getBean(OdiBeanContainer.class);
+            beanContainer = (OdiBeanContainerImpl) beanContext.getBean(OdiBeanContainer.class);
         }
         return beanContainer;
     }
@@ -71,17 +65,7 @@ final class OdiCustomScopeRegistry implements CustomScopeRegistry {
 
     @Override
     public Optional<CustomScope<?>> findScope(String scopeAnnotation) {
-        if (this.contextMap == null) {
-            synchronized (this) {
-                if (this.contextMap == null) {
-                    this.contextMap = beanContext.streamOfType(Context.class).collect(Collectors.toMap(
-                            (context -> context.getScope().getName()),
-                            (context -> context)
-                    ));
-                }
-            }
-        }
-        return Optional.ofNullable(contextMap.get(scopeAnnotation))
+        return Optional.ofNullable(getBeanContainer().getContextRegistry().findContext(scopeAnnotation))
                 .map(context -> scopesMap.computeIfAbsent(context, OdiCustomScope::new));
     }
 
@@ -90,42 +74,6 @@ final class OdiCustomScopeRegistry implements CustomScopeRegistry {
         return findScope(Objects.requireNonNull(scopeAnnotation, "Scope annotation cannot be null").getName());
     }
 
-    private <T> Contextual<T> createContextual(BeanContext beanContext, BeanCreationContext<T> creationContext) {
-        return new OdiBeanImpl<>(beanContext, creationContext.definition()) {
-            @Override
-            public T create(CreationalContext<T> creationalContext) {
-                if (creationalContext instanceof OdiCreationalContext) {
-                    try {
-                        final CreatedBean<T> createdBean = creationContext.create();
-                        ((OdiCreationalContext<T>) creationalContext).setCreatedBean(createdBean);
-                        return createdBean.bean();
-                    } catch (BeanCreationException e) {
-                        throw new CreationException(e.getMessage(), e);
-                    }
-                } else {
-                    throw new CreationException("Not an ODI creational context");
-                }
-            }
-
-            @Override
-            public void destroy(T instance, CreationalContext<T> creationalContext) {
-                if (creationalContext instanceof OdiCreationalContext) {
-                    try {
-                        CreatedBean<T> cb =
-                                ((OdiCreationalContext<T>) creationalContext).getCreatedBean();
-                        if (cb != null) {
-                            cb.close();
-                        }
-                    } catch (BeanCreationException e) {
-                        throw new CreationException(e.getMessage(), e);
-                    }
-                } else {
-                    throw new CreationException("Not an ODI creational context");
-                }
-            }
-        };
-    }
-
     final class OdiCustomScope<A extends Annotation> implements CustomScope<A> {
         private final Context context;
         private final Map<BeanIdentifier, Contextual<?>> createdContextuals = new ConcurrentHashMap<>();
@@ -149,8 +97,8 @@ final class OdiCustomScopeRegistry implements CustomScopeRegistry {
             } else {
                 createdContextuals.put(creationContext.id(), contextual);
                 return context.get(
-                        createContextual(beanContext, creationContext),
-                        new OdiCreationalContext<>(beanContext, contextual)
+                        contextual,
+                        new OdiCreationalContext<>(beanContext, contextual, creationContext)
                 );
 
             }
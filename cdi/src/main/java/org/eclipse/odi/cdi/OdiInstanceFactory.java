@@ -67,7 +67,7 @@ public class OdiInstanceFactory {
             InjectionPoint<?> injectionPoint = resolveInjectionPoint(resolutionContext, argumentInjectionPoint);
             cdiInjectionPoint = new OdiInjectionPoint(
                     resolutionContext.getContext().getClassLoader(),
-                    new OdiBeanImpl<>(beanContainer.getBeanContext(), injectionPoint.getDeclaringBean()),
+                    beanContainer.getBean(injectionPoint.getDeclaringBean()),
                     injectionPoint,
                     injectionPoint instanceof ArgumentInjectionPoint ? ((ArgumentInjectionPoint<?, ?>) injectionPoint).asArgument() : injectArgument
             );
@@ -73,6 +73,19 @@ final class OdiSeContainer extends CDI<Object>
     private final OdiBeanContainerImpl beanContainer;
     private final Map<DisposerKey, DisposerDef> disposerMethods = new HashMap<>(20);
     private final Map<DisposerKey, DisposerDef> anyDisposerMethods = new HashMap<>(20);
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private final BeanDefinition<Object> seContainerDefinition = new BeanDefinition() {
+
+        @Override
+        public boolean isEnabled(BeanContext context, BeanResolutionContext resolutionContext) {
+            return true;
+        }
+
+        @Override
+        public Class getBeanType() {
+            return SeContainer.class;
+        }
+    };
 
     protected OdiSeContainer(ApplicationContext context) {
         this.applicationContext = context;
@@ -85,6 +98,7 @@ final class OdiSeContainer extends CDI<Object>
         try {
             applicationContext.close();
         } finally {
+            beanContainer.getResolutionCache().clear();
             RUNNING_CONTAINERS.remove(applicationContext);
         }
     }
@@ -169,18 +183,7 @@ final class OdiSeContainer extends CDI<Object>
 
             @Override
             public jakarta.enterprise.inject.spi.Bean<Object> getBean() {
-                return new OdiBeanImpl(OdiSeContainer.this.applicationContext, new BeanDefinition() {
-
-                    @Override
-                    public boolean isEnabled(BeanContext context, BeanResolutionContext resolutionContext) {
-                        return true;
-                    }
-
-                    @Override
-                    public Class getBeanType() {
-                        return SeContainer.class;
-                    }
-                });
+                return beanContainer.getBean(seContainerDefinition);
             }
 
             @Override
@@ -268,23 +271,35 @@ final class OdiSeContainer extends CDI<Object>
     @Override
     public void process(BeanDefinition<?> beanDefinition, ExecutableMethod<?, ?> method) {
         final Argument<?>[] arguments = method.getArguments();
-        for (Argument<?> argument : arguments) {
+        for (int i = 0; i < arguments.length; i++) {
+            Argument<?> argument = arguments[i];
             if (argument.getAnnotationMetadata().isAnnotationPresent(Disposes.class)) {
                 //noinspection unchecked
                 Qualifier<Object> qualifier = Qualifiers.forArgument(argument);
                 if (qualifier == null) {
                     qualifier = Qualifiers.byAnnotation(AnnotationMetadata.EMPTY_METADATA, Default.class);
                 }
+                DisposerDef<?> disposerDef = createDisposerDef(beanDefinition, method, i);
                 if (qualifier.contains(AnyQualifier.INSTANCE)) {
-                    anyDisposerMethods.put(new DisposerKey(argument, null), new DisposerDef(beanDefinition, method));
+                    anyDisposerMethods.put(new DisposerKey(argument, null), disposerDef);
                 } else {
-                    disposerMethods.put(new DisposerKey(argument, qualifier), new DisposerDef(beanDefinition, method));
+                    disposerMethods.put(new DisposerKey(argument, qualifier), disposerDef);
                 }
                 break;
             }
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private <B> DisposerDef<B> createDisposerDef(BeanDefinition<B> beanDefinition, ExecutableMethod<?, ?> method, int disposesIndex) {
+        MethodExecutionPlan<B, Object> executionPlan = beanContainer.createExecutionPlan(
+                beanDefinition,
+                (ExecutableMethod<B, Object>) method,
+                i -> i == disposesIndex
+        );
+        return new DisposerDef<>(beanDefinition, executionPlan, disposesIndex);
+    }
+
     /**
      * Handler for running disposer methods.
      *
@@ -308,12 +323,10 @@ final class OdiSeContainer extends CDI<Object>
                     if (disposeDeclaringType.isPresent() && producedDeclaringType.isPresent() && !producedDeclaringType.get().equals(disposeDeclaringType.get())) {
                         return bean;
                     }
-                    beanContainer.fulfillAndExecuteMethod(disposerDef.definition, disposerDef.executableMethod, argument -> {
-                        if (argument.getAnnotationMetadata().hasAnnotation(Disposes.class)) {
-                            return bean;
-                        }
-                        return null;
-                    });
+                    MethodExecutionPlan<Object, Object> executionPlan = disposerDef.executionPlan;
+                    Object[] values = new Object[executionPlan.getArgumentCount()];
+                    values[disposerDef.disposesIndex] = bean;
+                    executionPlan.execute(values);
                 }
             } catch (Throwable e) {
                 if (LOG.isErrorEnabled()) {
@@ -356,11 +369,13 @@ final class OdiSeContainer extends CDI<Object>
 
     static final class DisposerDef<B> {
         private final BeanDefinition<B> definition;
-        private final ExecutableMethod<B, Object> executableMethod;
+        private final MethodExecutionPlan<B, Object> executionPlan;
+        private final int disposesIndex;
 
-        DisposerDef(BeanDefinition<B> definition, ExecutableMethod<B, Object> executableMethod) {
+        DisposerDef(BeanDefinition<B> definition, MethodExecutionPlan<B, Object> executionPlan, int disposesIndex) {
             this.definition = definition;
-            this.executableMethod = executableMethod;
+            this.executionPlan = executionPlan;
+            this.disposesIndex = disposesIndex;
         }
     }
 }
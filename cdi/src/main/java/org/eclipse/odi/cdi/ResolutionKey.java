@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi;
+
+import io.micronaut.context.Qualifier;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.type.Argument;
+
+import java.util.Objects;
+
+/**
+ * The key of a cached typesafe resolution, the argument type (including the type parameters) and the qualifier.
+ */
+@Internal
+public final class ResolutionKey {
+
+    /**
+     * The maximum number of cached resolutions, protects against qualifiers not implementing equality.
+     */
+    public static final int MAX_CACHED_RESOLUTIONS = 4096;
+
+    private final Argument<?> argument;
+    private final Qualifier<?> qualifier;
+    private final int hashCode;
+
+    /**
+     * @param argument  The argument
+     * @param qualifier The qualifier
+     */
+    public ResolutionKey(@NonNull Argument<?> argument, @Nullable Qualifier<?> qualifier) {
+        this.argument = argument;
+        this.qualifier = qualifier;
+        this.hashCode = 31 * argument.typeHashCode() + Objects.hashCode(qualifier);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ResolutionKey that = (ResolutionKey) o;
+        return argument.equalsType(that.argument) && Objects.equals(qualifier, that.qualifier);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
@@ -22,40 +22,47 @@ import jakarta.enterprise.context.spi.AlterableContext;
 import jakarta.enterprise.context.spi.Contextual;
 import jakarta.enterprise.context.spi.CreationalContext;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
  * Simple {@link AlterableContext} context.
+ * The instances are kept in a {@link ContextStorage}, the subclasses can bind a different storage to the caller.
  */
 @Internal
 public abstract class AbstractContext implements AlterableContext {
 
-    private final Map<Contextual<?>, Entry> storage = new ConcurrentHashMap<>();
-    private boolean active = true;
+    private final ContextStorage storage = new ContextStorage();
+    private volatile boolean active = true;
 
     @Override
     public <T> T get(Contextual<T> contextual, CreationalContext<T> creationalContext) {
         chechIfActive();
-        contextual = unwrapProxy(contextual);
-        T instance = get(contextual);
-        if (instance == null) {
-            instance = contextual.create(creationalContext);
-            storage.put(contextual, new Entry<>(creationalContext, instance));
-        }
-        return instance;
+        return currentStorage().getOrCreate(unwrapProxy(contextual), creationalContext);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T get(Contextual<T> contextual) {
         chechIfActive();
-        contextual = unwrapProxy(contextual);
-        Entry<T> entry = storage.get(contextual);
-        if (entry != null) {
-            return entry.instance;
-        }
-        return null;
+        return currentStorage().get(unwrapProxy(contextual));
+    }
+
+    /**
+     * Checks if the instance of the contextual exists in the context of the caller, the instance is not created.
+     * The slot of the instance is set when it's created and cleared when it's destroyed, the check of
+     * an {@link OdiBean} is a read of the slot.
+     *
+     * @param contextual The contextual
+     * @return true if the context is active and contains the instance
+     */
+    public boolean contains(Contextual<?> contextual) {
+        return isActive() && currentStorage().get(unwrapProxy(contextual)) != null;
+    }
+
+    /**
+     * The storage used by the caller.
+     *
+     * @return The storage
+     */
+    ContextStorage currentStorage() {
+        return storage;
     }
 
     private <T> Contextual<T> unwrapProxy(Contextual<T> contextual) {
@@ -69,7 +76,7 @@ public abstract class AbstractContext implements AlterableContext {
     }
 
     private void chechIfActive() {
-        if (!active) {
+        if (!isActive()) {
             throw new ContextNotActiveException("Context not active!");
         }
     }
@@ -80,22 +87,15 @@ public abstract class AbstractContext implements AlterableContext {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void destroy(Contextual<?> contextual) {
-        Entry entry = storage.remove(contextual);
-        if (entry != null) {
-            @SuppressWarnings("rawtypes")
-            Contextual rawContextual = contextual;
-            rawContextual.destroy(entry.instance, entry.creationalContext);
-        }
+        currentStorage().destroy(unwrapProxy(contextual));
     }
 
     /**
      * Destroy the context.
      */
     public void destroy() {
-        storage.values().forEach(e -> e.creationalContext.release());
-        storage.clear();
+        storage.destroy();
         active = false;
     }
 
@@ -112,14 +112,4 @@ public abstract class AbstractContext implements AlterableContext {
     public void activate() {
         active = true;
     }
-
-    private static final class Entry<T> {
-        private final CreationalContext<T> creationalContext;
-        private final T instance;
-
-        private Entry(CreationalContext<T> creationalContext, T instance) {
-            this.creationalContext = creationalContext;
-            this.instance = instance;
-        }
-    }
 }
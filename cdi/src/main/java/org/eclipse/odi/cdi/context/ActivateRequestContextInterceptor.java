@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.context;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Activates the request context for the invocations of the methods annotated with {@link ActivateRequestContext}
+ * unless a request is already active for the current thread.
+ */
+@ActivateRequestContext
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+class ActivateRequestContextInterceptor {
+
+    private final RequestContext requestContext;
+
+    ActivateRequestContextInterceptor(RequestContext requestContext) {
+        this.requestContext = requestContext;
+    }
+
+    /**
+     * Invokes the method with the request context active.
+     *
+     * @param ctx The invocation context
+     * @return The result of the invocation
+     * @throws Exception The exception thrown by the invocation
+     */
+    @AroundInvoke
+    public Object activateRequestContext(InvocationContext ctx) throws Exception {
+        boolean activated = requestContext.activateRequest();
+        try {
+            return ctx.proceed();
+        } finally {
+            if (activated) {
+                requestContext.deactivateRequest();
+            }
+        }
+    }
+}
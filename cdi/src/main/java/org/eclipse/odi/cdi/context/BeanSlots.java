@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.context;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.inject.BeanDefinition;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.NormalScope;
+import jakarta.inject.Singleton;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Assigns a dense slot index to each bean definition of a normal scope, the slots of each scope start at zero.
+ * The slots are used by {@link AbstractContext} to store the contextual instances in an array, the array
+ * of a context grows only to the number of the beans of its scope.
+ * The slots of the bean definitions are assigned at the startup by {@link #assign(Collection, Function)},
+ * the definitions registered later get the next free slot of their scope on the first use.
+ * The instance of a running context is found by {@link #of(BeanContext)} without a bean lookup.
+ */
+@Internal
+@Singleton
+public final class BeanSlots {
+
+    private static final Map<BeanContext, BeanSlots> CONTEXT_SLOTS = new ConcurrentHashMap<>(5);
+
+    private final Map<BeanDefinition<?>, Integer> slots = new ConcurrentHashMap<>();
+    private final Map<Class<? extends Annotation>, AtomicInteger> nextSlots = new ConcurrentHashMap<>();
+    private final BeanContext beanContext;
+
+    BeanSlots(BeanContext beanContext) {
+        this.beanContext = beanContext;
+        CONTEXT_SLOTS.put(beanContext, this);
+    }
+
+    /**
+     * Finds the slots of the bean context.
+     *
+     * @param beanContext The bean context
+     * @return The slots
+     */
+    @NonNull
+    public static BeanSlots of(@NonNull BeanContext beanContext) {
+        BeanSlots beanSlots = CONTEXT_SLOTS.get(beanContext);
+        if (beanSlots == null) {
+            beanSlots = beanContext.getBean(BeanSlots.class);
+        }
+        return beanSlots;
+    }
+
+    /**
+     * Assigns the slots of the bean definitions of the normal scopes.
+     *
+     * @param beanDefinitions The bean definitions
+     * @param scopes          Resolves the scope of a bean definition
+     */
+    public void assign(@NonNull Collection<BeanDefinition<?>> beanDefinitions,
+                       @NonNull Function<BeanDefinition<?>, Class<? extends Annotation>> scopes) {
+        for (BeanDefinition<?> beanDefinition : beanDefinitions) {
+            getSlot(scopes.apply(beanDefinition), beanDefinition);
+        }
+    }
+
+    /**
+     * Gets the slot of the bean definition in its scope, assigning the next free one if the definition
+     * doesn't have one yet.
+     *
+     * @param scope          The scope of the bean definition
+     * @param beanDefinition The bean definition
+     * @return The slot or {@code -1} if the scope is not a normal scope
+     */
+    public int getSlot(@NonNull Class<? extends Annotation> scope, @NonNull BeanDefinition<?> beanDefinition) {
+        if (!scope.isAnnotationPresent(NormalScope.class)) {
+            return -1;
+        }
+        Integer slot = slots.get(beanDefinition);
+        if (slot == null) {
+            AtomicInteger nextSlot = nextSlots.computeIfAbsent(scope, s -> new AtomicInteger());
+            slot = slots.computeIfAbsent(beanDefinition, bd -> nextSlot.getAndIncrement());
+        }
+        return slot;
+    }
+
+    /**
+     * @param scope The scope
+     * @return The number of the assigned slots of the scope
+     */
+    public int size(@NonNull Class<? extends Annotation> scope) {
+        AtomicInteger nextSlot = nextSlots.get(scope);
+        return nextSlot == null ? 0 : nextSlot.get();
+    }
+
+    @PreDestroy
+    void close() {
+        CONTEXT_SLOTS.remove(beanContext, this);
+    }
+}
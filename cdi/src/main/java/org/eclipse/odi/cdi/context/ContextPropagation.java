@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.context;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Propagates the contexts bound to the current thread (the activated request) to the tasks executed by other threads.
+ * The state is captured when the task is wrapped (or submitted to a wrapped {@link Executor}) and restored
+ * for the execution of the task. The wrapped tasks can be executed by any thread, including virtual threads.
+ * The dependent stages of a {@link CompletionStage} are executed by the thread completing the previous stage,
+ * the stage needs to be wrapped by {@link #wrap(CompletionStage)} to capture the contexts when the dependent
+ * stages are created.
+ */
+@Internal
+@Singleton
+public final class ContextPropagation {
+
+    private final ThreadBoundContext[] contexts;
+
+    @Inject
+    ContextPropagation(BeanContext beanContext) {
+        this(beanContext.getBeansOfType(ThreadBoundContext.class).toArray(new ThreadBoundContext[0]));
+    }
+
+    ContextPropagation(ThreadBoundContext... contexts) {
+        this.contexts = contexts;
+    }
+
+    /**
+     * Captures the contexts bound to the current thread.
+     *
+     * @return The snapshot to be restored exactly once
+     */
+    @NonNull
+    public ContextSnapshot capture() {
+        List<ThreadBoundContext> captured = null;
+        List<Object> states = null;
+        for (ThreadBoundContext context : contexts) {
+            Object state = context.captureState();
+            if (state != null) {
+                if (captured == null) {
+                    captured = new ArrayList<>(contexts.length);
+                    states = new ArrayList<>(contexts.length);
+                }
+                captured.add(context);
+                states.add(state);
+            }
+        }
+        if (captured == null) {
+            return ContextSnapshot.EMPTY;
+        }
+        return new ContextSnapshot(captured.toArray(new ThreadBoundContext[0]), states.toArray());
+    }
+
+    /**
+     * Wraps the task to be executed with the contexts of the current thread.
+     *
+     * @param task The task
+     * @return The wrapped task
+     */
+    @NonNull
+    public Runnable wrap(@NonNull Runnable task) {
+        ContextSnapshot snapshot = capture();
+        if (snapshot.isEmpty()) {
+            return task;
+        }
+        return () -> snapshot.run(task);
+    }
+
+    /**
+     * Wraps the task to be executed with the contexts of the current thread.
+     *
+     * @param task The task
+     * @param <V>  The result type
+     * @return The wrapped task
+     */
+    @NonNull
+    public <V> Callable<V> wrapCallable(@NonNull Callable<V> task) {
+        ContextSnapshot snapshot = capture();
+        if (snapshot.isEmpty()) {
+            return task;
+        }
+        return () -> snapshot.call(task);
+    }
+
+    /**
+     * Wraps the supplier to be executed with the contexts of the current thread,
+     * to be used with {@link java.util.concurrent.CompletableFuture#supplyAsync(Supplier, Executor)}.
+     *
+     * @param supplier The supplier
+     * @param <V>      The result type
+     * @return The wrapped supplier
+     */
+    @NonNull
+    public <V> Supplier<V> wrapSupplier(@NonNull Supplier<V> supplier) {
+        ContextSnapshot snapshot = capture();
+        if (snapshot.isEmpty()) {
+            return supplier;
+        }
+        return () -> snapshot.get(supplier);
+    }
+
+    /**
+     * Wraps the executor, the tasks are executed with the contexts of the thread submitting them.
+     * The async stages of {@link java.util.concurrent.CompletableFuture} are submitted by the thread completing
+     * the previous stage, see {@link #wrap(CompletionStage)}.
+     *
+     * @param executor The executor
+     * @return The wrapped executor
+     */
+    @NonNull
+    public Executor wrap(@NonNull Executor executor) {
+        if (executor instanceof PropagatingExecutor) {
+            return executor;
+        }
+        return new PropagatingExecutor(executor);
+    }
+
+    /**
+     * Wraps the stage, the actions of the dependent stages are executed with the contexts of the thread creating
+     * the dependent stage, whichever thread completes the previous stage. The dependent stages are wrapped too.
+     *
+     * @param stage The stage
+     * @param <V>   The result type
+     * @return The wrapped stage
+     */
+    @NonNull
+    public <V> CompletionStage<V> wrap(@NonNull CompletionStage<V> stage) {
+        if (stage instanceof PropagatingCompletionStage) {
+            return stage;
+        }
+        return new PropagatingCompletionStage<>(stage, this);
+    }
+
+    private final class PropagatingExecutor implements Executor {
+
+        private final Executor delegate;
+
+        private PropagatingExecutor(Executor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            ContextSnapshot snapshot = capture();
+            if (snapshot.isEmpty()) {
+                delegate.execute(command);
+                return;
+            }
+            try {
+                delegate.execute(() -> snapshot.run(command));
+            } catch (RuntimeException e) {
+                snapshot.discard();
+                throw e;
+            }
+        }
+    }
+}
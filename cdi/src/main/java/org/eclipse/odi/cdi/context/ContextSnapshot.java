@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.context;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * The captured thread-bound state of the contexts, see {@link ContextPropagation#capture()}.
+ * The snapshot is restored for the execution of exactly one task, the captured state is released afterwards.
+ * A snapshot which is not restored needs to be discarded, e.g. when the task is rejected, the state is released
+ * by the thread discarding it.
+ * A snapshot which is never restored nor discarded, e.g. the task was silently dropped by an executor, is reported
+ * as leaked by a {@link Cleaner} once it is unreachable. The leaked state is not released, the instances
+ * of the captured contexts must not be destroyed by the thread of the cleaner.
+ */
+@Internal
+public final class ContextSnapshot {
+
+    static final ContextSnapshot EMPTY = new ContextSnapshot(new ThreadBoundContext[0], new Object[0]);
+
+    private static final Logger LOG = LoggerFactory.getLogger(ContextSnapshot.class);
+    private static final Object[] NO_STATES = new Object[0];
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final ThreadBoundContext[] contexts;
+    private final Object[] states;
+    private final AtomicBoolean used = new AtomicBoolean();
+    private final Cleaner.Cleanable cleanable;
+
+    ContextSnapshot(ThreadBoundContext[] contexts, Object[] states) {
+        this.contexts = contexts;
+        this.states = states;
+        this.cleanable = contexts.length == 0 ? null : CLEANER.register(this, new LeakReport(used));
+    }
+
+    /**
+     * @return true if there is no captured state
+     */
+    public boolean isEmpty() {
+        return contexts.length == 0;
+    }
+
+    /**
+     * Runs the task with the captured state bound to the current thread.
+     *
+     * @param task The task
+     */
+    public void run(@NonNull Runnable task) {
+        Object[] previous = restore();
+        try {
+            task.run();
+        } finally {
+            reset(previous);
+        }
+    }
+
+    /**
+     * Calls the task with the captured state bound to the current thread.
+     *
+     * @param task The task
+     * @param <V>  The result type
+     * @return The result
+     * @throws Exception The exception thrown by the task
+     */
+    public <V> V call(@NonNull Callable<V> task) throws Exception {
+        Object[] previous = restore();
+        try {
+            return task.call();
+        } finally {
+            reset(previous);
+        }
+    }
+
+    /**
+     * Gets the value with the captured state bound to the current thread.
+     *
+     * @param supplier The supplier
+     * @param <V>      The result type
+     * @return The result
+     */
+    public <V> V get(@NonNull Supplier<V> supplier) {
+        Object[] previous = restore();
+        try {
+            return supplier.get();
+        } finally {
+            reset(previous);
+        }
+    }
+
+    /**
+     * Releases the captured state without running a task, used when the task is rejected or will not be run.
+     */
+    public void discard() {
+        if (cleanable != null && used.compareAndSet(false, true)) {
+            for (int i = contexts.length - 1; i >= 0; i--) {
+                contexts[i].releaseState(states[i]);
+            }
+            cleanable.clean();
+        }
+    }
+
+    private Object[] restore() {
+        if (contexts.length == 0) {
+            return NO_STATES;
+        }
+        if (!used.compareAndSet(false, true)) {
+            throw new IllegalStateException("The context snapshot was already restored");
+        }
+        Object[] previous = new Object[contexts.length];
+        for (int i = 0; i < contexts.length; i++) {
+            previous[i] = contexts[i].bindState(states[i]);
+        }
+        return previous;
+    }
+
+    private void reset(Object[] previous) {
+        for (int i = contexts.length - 1; i >= 0; i--) {
+            contexts[i].unbindState(states[i], previous[i]);
+        }
+        if (cleanable != null) {
+            cleanable.clean();
+        }
+    }
+
+    /**
+     * Reports the snapshot which was neither restored nor discarded, must not reference the snapshot.
+     */
+    private static final class LeakReport implements Runnable {
+        private final AtomicBoolean used;
+
+        private LeakReport(AtomicBoolean used) {
+            this.used = used;
+        }
+
+        @Override
+        public void run() {
+            if (!used.get()) {
+                LOG.warn("A context snapshot was dropped without being restored or discarded, the state of the captured contexts is leaked");
+            }
+        }
+    }
+}
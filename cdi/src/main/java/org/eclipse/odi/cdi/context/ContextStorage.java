@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.context;
+
+import io.micronaut.core.annotation.Nullable;
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.CreationException;
+import org.eclipse.odi.cdi.OdiBean;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The storage of the contextual instances of a context.
+ * Instances of {@link OdiBean} contextuals are stored in an array indexed by {@link OdiBean#getSlot()},
+ * other contextuals are stored in a map.
+ */
+final class ContextStorage {
+
+    private static final int INITIAL_SLOTS = 64;
+    private static final Map<Thread, Creation> WAITING = new HashMap<>();
+
+    private final Map<Contextual<?>, Entry<?>> storage = new ConcurrentHashMap<>();
+    private final Map<Object, Creation> creations = new ConcurrentHashMap<>();
+    private final AtomicInteger references = new AtomicInteger();
+    private volatile AtomicReferenceArray<Entry<?>> slots = new AtomicReferenceArray<>(INITIAL_SLOTS);
+
+    /**
+     * Gets the existing instance.
+     *
+     * @param contextual The contextual
+     * @param <T>        The instance type
+     * @return The instance or null
+     */
+    @Nullable
+    <T> T get(Contextual<T> contextual) {
+        Entry<T> entry = getEntry(contextual);
+        if (entry != null) {
+            return entry.instance;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the existing instance or creates a new one.
+     * Only one thread creates the instance of the contextual, the other callers wait for it and the readers of
+     * the existing instances are not blocked. The guard of the creation is removed once the instance is published.
+     * The creating thread can re-enter the creation of the same contextual, which is how the custom scopes
+     * delegate the creation back to the context. Threads waiting for each other's creations in a cycle
+     * fail with a {@link CreationException} instead of deadlocking.
+     *
+     * @param contextual        The contextual
+     * @param creationalContext The creational context
+     * @param <T>               The instance type
+     * @return The instance
+     */
+    <T> T getOrCreate(Contextual<T> contextual, CreationalContext<T> creationalContext) {
+        Entry<T> entry = getEntry(contextual);
+        if (entry != null) {
+            return entry.instance;
+        }
+        Object key = creationKey(contextual);
+        while (true) {
+            Creation creation = new Creation();
+            Creation existing = creations.putIfAbsent(key, creation);
+            if (existing == null) {
+                try {
+                    entry = getEntry(contextual);
+                    if (entry != null) {
+                        return entry.instance;
+                    }
+                    return create(contextual, creationalContext);
+                } finally {
+                    creations.remove(key, creation);
+                    creation.complete();
+                }
+            }
+            if (existing.owner == Thread.currentThread()) {
+                return create(contextual, creationalContext);
+            }
+            existing.await(contextual);
+            entry = getEntry(contextual);
+            if (entry != null) {
+                return entry.instance;
+            }
+            // The creation failed, try to create the instance
+        }
+    }
+
+    private <T> T create(Contextual<T> contextual, CreationalContext<T> creationalContext) {
+        T instance = contextual.create(creationalContext);
+        put(contextual, new Entry<>(contextual, creationalContext, instance));
+        return instance;
+    }
+
+    /**
+     * Removes and destroys the instance of the contextual.
+     *
+     * @param contextual The contextual
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void destroy(Contextual<?> contextual) {
+        Entry entry = remove(contextual);
+        if (entry != null) {
+            Contextual rawContextual = contextual;
+            rawContextual.destroy(entry.instance, entry.creationalContext);
+        }
+    }
+
+    /**
+     * Releases all the instances and clears the storage, the storage can be reused afterwards.
+     */
+    void destroy() {
+        synchronized (this) {
+            AtomicReferenceArray<Entry<?>> slots = this.slots;
+            for (int i = 0; i < slots.length(); i++) {
+                Entry<?> entry = slots.getAndSet(i, null);
+                if (entry != null) {
+                    entry.creationalContext.release();
+                }
+            }
+        }
+        storage.values().forEach(e -> e.creationalContext.release());
+        storage.clear();
+    }
+
+    /**
+     * Acquires a reference to the storage.
+     */
+    void retain() {
+        references.incrementAndGet();
+    }
+
+    /**
+     * Releases a reference to the storage.
+     *
+     * @return true if the last reference was released
+     */
+    boolean release() {
+        return references.decrementAndGet() == 0;
+    }
+
+    /**
+     * @return The number of the creations in progress
+     */
+    int getPendingCreationCount() {
+        return creations.size();
+    }
+
+    /**
+     * @return The number of the references to the storage
+     */
+    int getReferenceCount() {
+        return references.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Entry<T> getEntry(Contextual<T> contextual) {
+        int slot = slotOf(contextual);
+        if (slot < 0) {
+            return (Entry<T>) storage.get(contextual);
+        }
+        AtomicReferenceArray<Entry<?>> slots = this.slots;
+        if (slot < slots.length()) {
+            return (Entry<T>) slots.get(slot);
+        }
+        return null;
+    }
+
+    private <T> void put(Contextual<T> contextual, Entry<T> entry) {
+        int slot = slotOf(contextual);
+        if (slot < 0) {
+            storage.put(contextual, entry);
+            return;
+        }
+        synchronized (this) {
+            AtomicReferenceArray<Entry<?>> slots = this.slots;
+            if (slot >= slots.length()) {
+                AtomicReferenceArray<Entry<?>> newSlots = new AtomicReferenceArray<>(Math.max(slots.length() * 2, slot + 1));
+                for (int i = 0; i < slots.length(); i++) {
+                    newSlots.set(i, slots.get(i));
+                }
+                slots = newSlots;
+                this.slots = newSlots;
+            }
+            slots.set(slot, entry);
+        }
+    }
+
+    private Entry<?> remove(Contextual<?> contextual) {
+        int slot = slotOf(contextual);
+        if (slot < 0) {
+            return storage.remove(contextual);
+        }
+        synchronized (this) {
+            AtomicReferenceArray<Entry<?>> slots = this.slots;
+            if (slot < slots.length()) {
+                return slots.getAndSet(slot, null);
+            }
+            return null;
+        }
+    }
+
+    private static Object creationKey(Contextual<?> contextual) {
+        int slot = slotOf(contextual);
+        if (slot < 0) {
+            return contextual;
+        }
+        return slot;
+    }
+
+    private static int slotOf(Contextual<?> contextual) {
+        if (contextual instanceof OdiBean) {
+            return ((OdiBean<?>) contextual).getSlot();
+        }
+        return -1;
+    }
+
+    /**
+     * Detaches the instances for the passivation. Only the storage of serializable instances
+     * of {@link OdiBean} contextuals can be detached.
+     *
+     * @return The detached instances or null if the storage cannot be passivated
+     */
+    @Nullable
+    synchronized Detached detach() {
+        if (!storage.isEmpty()) {
+            return null;
+        }
+        AtomicReferenceArray<Entry<?>> slots = this.slots;
+        int count = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            Entry<?> entry = slots.get(i);
+            if (entry != null) {
+                if (!(entry.instance instanceof Serializable)) {
+                    return null;
+                }
+                count++;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        Detached detached = new Detached(count);
+        int index = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            Entry<?> entry = slots.getAndSet(i, null);
+            if (entry != null) {
+                detached.contextuals[index] = entry.contextual;
+                detached.creationalContexts[index] = entry.creationalContext;
+                detached.instances[index] = entry.instance;
+                index++;
+            }
+        }
+        return detached;
+    }
+
+    /**
+     * Attaches the passivated or detached instances.
+     *
+     * @param detached The detached instances
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void attach(Detached detached) {
+        for (int i = 0; i < detached.contextuals.length; i++) {
+            Contextual contextual = detached.contextuals[i];
+            put(contextual, new Entry<>(contextual, detached.creationalContexts[i], detached.instances[i]));
+        }
+    }
+
+    /**
+     * The instances detached from the storage.
+     */
+    static final class Detached {
+        final Contextual<?>[] contextuals;
+        final CreationalContext<?>[] creationalContexts;
+        final Object[] instances;
+
+        Detached(int size) {
+            this.contextuals = new Contextual[size];
+            this.creationalContexts = new CreationalContext[size];
+            this.instances = new Object[size];
+        }
+    }
+
+    /**
+     * The creation of an instance in progress.
+     */
+    private static final class Creation {
+        private final Thread owner = Thread.currentThread();
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        void complete() {
+            done.countDown();
+        }
+
+        void await(Contextual<?> contextual) {
+            Thread current = Thread.currentThread();
+            synchronized (WAITING) {
+                for (Creation creation = this; creation != null; creation = WAITING.get(creation.owner)) {
+                    if (creation.owner == current) {
+                        throw new CreationException("Circular creation of the contextual instances between threads, contextual: " + contextual);
+                    }
+                }
+                WAITING.put(current, this);
+            }
+            try {
+                boolean interrupted = false;
+                while (true) {
+                    try {
+                        done.await();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    current.interrupt();
+                }
+            } finally {
+                synchronized (WAITING) {
+                    WAITING.remove(current);
+                }
+            }
+        }
+    }
+
+    private static final class Entry<T> {
+        private final Contextual<T> contextual;
+        private final CreationalContext<T> creationalContext;
+        private final T instance;
+
+        private Entry(Contextual<T> contextual, CreationalContext<T> creationalContext, T instance) {
+            this.contextual = contextual;
+            this.creationalContext = creationalContext;
+            this.instance = instance;
+        }
+    }
+}
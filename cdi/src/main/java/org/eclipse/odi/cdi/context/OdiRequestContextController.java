@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.context;
+
+import io.micronaut.core.annotation.Internal;
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.context.control.RequestContextController;
+
+/**
+ * Implementation of {@link RequestContextController} activating the request of the current thread.
+ * The controller only deactivates the request it has activated itself.
+ */
+@Internal
+@Dependent
+final class OdiRequestContextController implements RequestContextController {
+
+    private final RequestContext requestContext;
+    private boolean activated;
+
+    OdiRequestContextController(RequestContext requestContext) {
+        this.requestContext = requestContext;
+    }
+
+    @Override
+    public boolean activate() {
+        if (activated) {
+            return false;
+        }
+        activated = requestContext.activateRequest();
+        return activated;
+    }
+
+    @Override
+    public void deactivate() throws ContextNotActiveException {
+        if (!activated) {
+            throw new ContextNotActiveException("The request context was not activated by this controller");
+        }
+        activated = false;
+        requestContext.deactivateRequest();
+    }
+}
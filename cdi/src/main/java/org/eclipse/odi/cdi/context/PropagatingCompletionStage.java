@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.context;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The {@link CompletionStage} executing the actions of the dependent stages with the contexts captured
+ * when the dependent stage is created, see {@link ContextPropagation#wrap(CompletionStage)}.
+ * The thread completing the previous stage doesn't matter, the dependent stages are wrapped too.
+ * The captured contexts of a dependent stage completed without running its action are released on its completion.
+ *
+ * @param <T> The result type
+ */
+final class PropagatingCompletionStage<T> implements CompletionStage<T> {
+
+    private final CompletionStage<T> delegate;
+    private final ContextPropagation propagation;
+
+    PropagatingCompletionStage(CompletionStage<T> delegate, ContextPropagation propagation) {
+        this.delegate = delegate;
+        this.propagation = propagation;
+    }
+
+    @Override
+    public <U> CompletionStage<U> thenApply(Function<? super T, ? extends U> fn) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenApply(function(snapshot, fn)), snapshot);
+    }
+
+    @Override
+    public <U> CompletionStage<U> thenApplyAsync(Function<? super T, ? extends U> fn) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenApplyAsync(function(snapshot, fn)), snapshot);
+    }
+
+    @Override
+    public <U> CompletionStage<U> thenApplyAsync(Function<? super T, ? extends U> fn, Executor executor) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenApplyAsync(function(snapshot, fn), executor), snapshot);
+    }
+
+    @Override
+    public CompletionStage<Void> thenAccept(Consumer<? super T> action) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenAccept(consumer(snapshot, action)), snapshot);
+    }
+
+    @Override
+    public CompletionStage<Void> thenAcceptAsync(Consumer<? super T> action) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenAcceptAsync(consumer(snapshot, action)), snapshot);
+    }
+
+    @Override
+    public CompletionStage<Void> thenAcceptAsync(Consumer<? super T> action, Executor executor) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenAcceptAsync(consumer(snapshot, action), executor), snapshot);
+    }
+
+    @Override
+    public CompletionStage<Void> thenRun(Runnable action) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenRun(runnable(snapshot, action)), snapshot);
+    }
+
+    @Override
+    public CompletionStage<Void> thenRunAsync(Runnable action) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenRunAsync(runnable(snapshot, action)), snapshot);
+    }
+
+    @Override
+    public CompletionStage<Void> thenRunAsync(Runnable action, Executor executor) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenRunAsync(runnable(snapshot, action), executor), snapshot);
+    }
+
+    @Override
+    public <U, V> CompletionStage<V> thenCombine(CompletionStage<? extends U> other,
+                                                 BiFunction<? super T, ? super U, ? extends V> fn) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenCombine(other, biFunction(snapshot, fn)), snapshot);
+    }
+
+    @Override
+    public <U, V> CompletionStage<V> thenCombineAsync(CompletionStage<? extends U> other,
+                                                      BiFunction<? super T, ? super U, ? extends V> fn) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenCombineAsync(other, biFunction(snapshot, fn)), snapshot);
+    }
+
+    @Override
+    public <U, V> CompletionStage<V> thenCombineAsync(CompletionStage<? extends U> other,
+                                                      BiFunction<? super T, ? super U, ? extends V> fn,
+                                                      Executor executor) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenCombineAsync(other, biFunction(snapshot, fn), executor), snapshot);
+    }
+
+    @Override
+    public <U> CompletionStage<Void> thenAcceptBoth(CompletionStage<? extends U> other,
+                                                    BiConsumer<? super T, ? super U> action) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenAcceptBoth(other, biConsumer(snapshot, action)), snapshot);
+    }
+
+    @Override
+    public <U> CompletionStage<Void> thenAcceptBothAsync(CompletionStage<? extends U> other,
+                                                         BiConsumer<? super T, ? super U> action) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenAcceptBothAsync(other, biConsumer(snapshot, action)), snapshot);
+    }
+
+    @Override
+    public <U> CompletionStage<Void> thenAcceptBothAsync(CompletionStage<? extends U> other,
+                                                         BiConsumer<? super T, ? super U> action,
+                                                         Executor executor) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenAcceptBothAsync(other, biConsumer(snapshot, action), executor), snapshot);
+    }
+
+    @Override
+    public CompletionStage<Void> runAfterBoth(CompletionStage<?> other, Runnable action) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.runAfterBoth(other, runnable(snapshot, action)), snapshot);
+    }
+
+    @Override
+    public CompletionStage<Void> runAfterBothAsync(CompletionStage<?> other, Runnable action) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.runAfterBothAsync(other, runnable(snapshot, action)), snapshot);
+    }
+
+    @Override
+    public CompletionStage<Void> runAfterBothAsync(CompletionStage<?> other, Runnable action, Executor executor) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.runAfterBothAsync(other, runnable(snapshot, action), executor), snapshot);
+    }
+
+    @Override
+    public <U> CompletionStage<U> applyToEither(CompletionStage<? extends T> other, Function<? super T, U> fn) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.applyToEither(other, function(snapshot, fn)), snapshot);
+    }
+
+    @Override
+    public <U> CompletionStage<U> applyToEitherAsync(CompletionStage<? extends T> other, Function<? super T, U> fn) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.applyToEitherAsync(other, function(snapshot, fn)), snapshot);
+    }
+
+    @Override
+    public <U> CompletionStage<U> applyToEitherAsync(CompletionStage<? extends T> other,
+                                                     Function<? super T, U> fn,
+                                                     Executor executor) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.applyToEitherAsync(other, function(snapshot, fn), executor), snapshot);
+    }
+
+    @Override
+    public CompletionStage<Void> acceptEither(CompletionStage<? extends T> other, Consumer<? super T> action) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.acceptEither(other, consumer(snapshot, action)), snapshot);
+    }
+
+    @Override
+    public CompletionStage<Void> acceptEitherAsync(CompletionStage<? extends T> other, Consumer<? super T> action) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.acceptEitherAsync(other, consumer(snapshot, action)), snapshot);
+    }
+
+    @Override
+    public CompletionStage<Void> acceptEitherAsync(CompletionStage<? extends T> other,
+                                                   Consumer<? super T> action,
+                                                   Executor executor) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.acceptEitherAsync(other, consumer(snapshot, action), executor), snapshot);
+    }
+
+    @Override
+    public CompletionStage<Void> runAfterEither(CompletionStage<?> other, Runnable action) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.runAfterEither(other, runnable(snapshot, action)), snapshot);
+    }
+
+    @Override
+    public CompletionStage<Void> runAfterEitherAsync(CompletionStage<?> other, Runnable action) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.runAfterEitherAsync(other, runnable(snapshot, action)), snapshot);
+    }
+
+    @Override
+    public CompletionStage<Void> runAfterEitherAsync(CompletionStage<?> other, Runnable action, Executor executor) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.runAfterEitherAsync(other, runnable(snapshot, action), executor), snapshot);
+    }
+
+    @Override
+    public <U> CompletionStage<U> thenCompose(Function<? super T, ? extends CompletionStage<U>> fn) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenCompose(function(snapshot, fn)), snapshot);
+    }
+
+    @Override
+    public <U> CompletionStage<U> thenComposeAsync(Function<? super T, ? extends CompletionStage<U>> fn) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenComposeAsync(function(snapshot, fn)), snapshot);
+    }
+
+    @Override
+    public <U> CompletionStage<U> thenComposeAsync(Function<? super T, ? extends CompletionStage<U>> fn, Executor executor) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.thenComposeAsync(function(snapshot, fn), executor), snapshot);
+    }
+
+    @Override
+    public <U> CompletionStage<U> handle(BiFunction<? super T, Throwable, ? extends U> fn) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.handle(biFunction(snapshot, fn)), snapshot);
+    }
+
+    @Override
+    public <U> CompletionStage<U> handleAsync(BiFunction<? super T, Throwable, ? extends U> fn) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.handleAsync(biFunction(snapshot, fn)), snapshot);
+    }
+
+    @Override
+    public <U> CompletionStage<U> handleAsync(BiFunction<? super T, Throwable, ? extends U> fn, Executor executor) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.handleAsync(biFunction(snapshot, fn), executor), snapshot);
+    }
+
+    @Override
+    public CompletionStage<T> whenComplete(BiConsumer<? super T, ? super Throwable> action) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.whenComplete(biConsumer(snapshot, action)), snapshot);
+    }
+
+    @Override
+    public CompletionStage<T> whenCompleteAsync(BiConsumer<? super T, ? super Throwable> action) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.whenCompleteAsync(biConsumer(snapshot, action)), snapshot);
+    }
+
+    @Override
+    public CompletionStage<T> whenCompleteAsync(BiConsumer<? super T, ? super Throwable> action, Executor executor) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.whenCompleteAsync(biConsumer(snapshot, action), executor), snapshot);
+    }
+
+    @Override
+    public CompletionStage<T> exceptionally(Function<Throwable, ? extends T> fn) {
+        ContextSnapshot snapshot = propagation.capture();
+        return dependent(delegate.exceptionally(function(snapshot, fn)), snapshot);
+    }
+
+    /**
+     * The stages created from the returned future are not propagating the contexts.
+     *
+     * @return The future of the wrapped stage
+     */
+    @Override
+    public CompletableFuture<T> toCompletableFuture() {
+        return delegate.toCompletableFuture();
+    }
+
+    @Override
+    public String toString() {
+        return "PropagatingCompletionStage[" + delegate + "]";
+    }
+
+    private <U> CompletionStage<U> wrap(CompletionStage<U> stage) {
+        return new PropagatingCompletionStage<>(stage, propagation);
+    }
+
+    /**
+     * Wraps the dependent stage, the snapshot is discarded when the stage completes without running its action,
+     * e.g. the previous stage failed or the executor rejected the action.
+     */
+    private <U> CompletionStage<U> dependent(CompletionStage<U> stage, ContextSnapshot snapshot) {
+        if (!snapshot.isEmpty()) {
+            stage.whenComplete((result, throwable) -> snapshot.discard());
+        }
+        return wrap(stage);
+    }
+
+    private static Runnable runnable(ContextSnapshot snapshot, Runnable action) {
+        if (snapshot.isEmpty()) {
+            return action;
+        }
+        return () -> snapshot.run(action);
+    }
+
+    private static <A, R> Function<A, R> function(ContextSnapshot snapshot, Function<A, R> fn) {
+        if (snapshot.isEmpty()) {
+            return fn;
+        }
+        return value -> snapshot.get(() -> fn.apply(value));
+    }
+
+    private static <A> Consumer<A> consumer(ContextSnapshot snapshot, Consumer<A> action) {
+        if (snapshot.isEmpty()) {
+            return action;
+        }
+        return value -> snapshot.run(() -> action.accept(value));
+    }
+
+    private static <A, B, R> BiFunction<A, B, R> biFunction(ContextSnapshot snapshot, BiFunction<A, B, R> fn) {
+        if (snapshot.isEmpty()) {
+            return fn;
+        }
+        return (first, second) -> snapshot.get(() -> fn.apply(first, second));
+    }
+
+    private static <A, B> BiConsumer<A, B> biConsumer(ContextSnapshot snapshot, BiConsumer<A, B> action) {
+        if (snapshot.isEmpty()) {
+            return action;
+        }
+        return (first, second) -> snapshot.run(() -> action.accept(first, second));
+    }
+}
@@ -16,20 +16,133 @@
 package org.eclipse.odi.cdi.context;
 
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.enterprise.context.ContextNotActiveException;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Singleton;
 
 import java.lang.annotation.Annotation;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Simple {@link RequestScoped} Micronaut context.
+ * A request can be explicitly activated for the current thread with {@link #activateRequest()},
+ * the instances are then isolated from the other threads until {@link #deactivateRequest()} is called.
+ * Threads without an activated request share the storage of the context.
+ * The request of the current thread can be propagated to other threads by {@link ContextPropagation}.
  */
 @Internal
 @Singleton
-final class RequestContext extends AbstractContext {
+final class RequestContext extends AbstractContext implements ThreadBoundContext {
+
+    /**
+     * The maximum number of released request storages kept for reuse.
+     */
+    static final int MAX_POOLED_STORAGES = 64;
+
+    private final ThreadLocal<ContextStorage> requestStorage = new ThreadLocal<>();
+    private final Queue<ContextStorage> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
 
     @Override
     public Class<? extends Annotation> getScope() {
         return RequestScoped.class;
     }
+
+    @Override
+    public boolean isActive() {
+        return requestStorage.get() != null || super.isActive();
+    }
+
+    @Override
+    ContextStorage currentStorage() {
+        ContextStorage storage = requestStorage.get();
+        if (storage != null) {
+            return storage;
+        }
+        return super.currentStorage();
+    }
+
+    /**
+     * Activates a request for the current thread.
+     *
+     * @return false if a request is already active for the current thread
+     */
+    boolean activateRequest() {
+        if (requestStorage.get() != null) {
+            return false;
+        }
+        ContextStorage storage = pool.poll();
+        if (storage == null) {
+            storage = new ContextStorage();
+        } else {
+            pooled.decrementAndGet();
+        }
+        storage.retain();
+        requestStorage.set(storage);
+        return true;
+    }
+
+    /**
+     * Deactivates the request of the current thread and destroys its instances.
+     * The destruction is deferred until the tasks the request was propagated to are completed.
+     *
+     * @throws ContextNotActiveException if there is no request active for the current thread
+     */
+    void deactivateRequest() {
+        ContextStorage storage = requestStorage.get();
+        if (storage == null) {
+            throw new ContextNotActiveException("No request active for the current thread");
+        }
+        requestStorage.remove();
+        release(storage);
+    }
+
+    @Override
+    @Nullable
+    public Object captureState() {
+        ContextStorage storage = requestStorage.get();
+        if (storage != null) {
+            storage.retain();
+        }
+        return storage;
+    }
+
+    @Override
+    @Nullable
+    public Object bindState(Object state) {
+        ContextStorage previous = requestStorage.get();
+        requestStorage.set((ContextStorage) state);
+        return previous;
+    }
+
+    @Override
+    public void unbindState(Object state, @Nullable Object previous) {
+        if (previous == null) {
+            requestStorage.remove();
+        } else {
+            requestStorage.set((ContextStorage) previous);
+        }
+        release((ContextStorage) state);
+    }
+
+    @Override
+    public void releaseState(Object state) {
+        release((ContextStorage) state);
+    }
+
+    private void release(ContextStorage storage) {
+        // The request can still be used by the tasks it was propagated to
+        if (!storage.release()) {
+            return;
+        }
+        storage.destroy();
+        if (pooled.incrementAndGet() <= MAX_POOLED_STORAGES) {
+            pool.offer(storage);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
 }
@@ -15,21 +15,465 @@
  */
 package org.eclipse.odi.cdi.context;
 
+import io.micronaut.context.annotation.Value;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ContextNotActiveException;
 import jakarta.enterprise.context.SessionScoped;
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
 import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Simple {@link SessionScoped} Micronaut context.
+ * A session identified by an id can be activated for the current thread with {@link #activateSession(String)},
+ * the sessions are kept until they are invalidated, idle for longer than {@code odi.session.idle-timeout}
+ * or evicted as the least recently used session when there are more than {@code odi.session.max-sessions} sessions.
+ * The idle sessions are evicted by a background sweeper every {@code odi.session.sweep-interval}.
+ * When {@code odi.session.passivation-timeout} is set, the serializable instances of the sessions idle for longer
+ * than the timeout are passivated to a memory-mapped spill file and activated again on the next activation of the session.
+ * The passivation doesn't destroy anything: the creational contexts of the passivated instances are kept
+ * with the session and released when the session ends, the activated copies take over the creational contexts.
+ * Threads without an activated session share the storage of the context.
  */
 @Internal
 @Singleton
-final class SessionContext extends AbstractContext {
+final class SessionContext extends AbstractContext implements SessionContextManager, ThreadBoundContext {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionContext.class);
+
+    private final int maxSessions;
+    private final long idleTimeoutNanos;
+    private final long passivationTimeoutNanos;
+    private final Duration sweepInterval;
+    private final boolean sweeping;
+    // Guarded by itself, iterates from the least recently used session
+    private final Map<String, Session> sessions = new LinkedHashMap<>(16, 0.75f, true);
+    private final ThreadLocal<Session> currentSession = new ThreadLocal<>();
+    private final LongAdder evictions = new LongAdder();
+    @Nullable
+    private volatile ScheduledExecutorService sweeper;
+    @Nullable
+    private SessionSpillFile spillFile;
+
+    SessionContext(int maxSessions, Duration idleTimeout, Duration sweepInterval) {
+        this(maxSessions, idleTimeout, sweepInterval, Duration.ZERO);
+    }
+
+    @Inject
+    SessionContext(@Value("${odi.session.max-sessions:10000}") int maxSessions,
+                   @Value("${odi.session.idle-timeout:30m}") Duration idleTimeout,
+                   @Value("${odi.session.sweep-interval:1m}") Duration sweepInterval,
+                   @Value("${odi.session.passivation-timeout:0s}") Duration passivationTimeout) {
+        if (maxSessions < 1) {
+            throw new IllegalArgumentException("The maximum number of sessions needs to be positive: " + maxSessions);
+        }
+        this.maxSessions = maxSessions;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.passivationTimeoutNanos = passivationTimeout.toNanos();
+        this.sweepInterval = sweepInterval;
+        this.sweeping = (idleTimeoutNanos > 0 || passivationTimeoutNanos > 0)
+                && !sweepInterval.isZero() && !sweepInterval.isNegative();
+    }
 
     @Override
     public Class<? extends Annotation> getScope() {
         return SessionScoped.class;
     }
+
+    @Override
+    public boolean isActive() {
+        return currentSession.get() != null || super.isActive();
+    }
+
+    @Override
+    ContextStorage currentStorage() {
+        Session session = currentSession.get();
+        if (session != null) {
+            return session.storage;
+        }
+        return super.currentStorage();
+    }
+
+    @Override
+    public boolean activateSession(@NonNull String sessionId) {
+        if (currentSession.get() != null) {
+            return false;
+        }
+        List<Session> evicted = null;
+        Session session;
+        synchronized (sessions) {
+            session = sessions.get(sessionId);
+            if (session == null) {
+                session = new Session(sessionId);
+                sessions.put(sessionId, session);
+                // The least recently used sessions are evicted
+                Iterator<Session> iterator = sessions.values().iterator();
+                while (sessions.size() > maxSessions) {
+                    Session eldest = iterator.next();
+                    iterator.remove();
+                    if (evicted == null) {
+                        evicted = new ArrayList<>(1);
+                    }
+                    evicted.add(eldest);
+                }
+            }
+            session.storage.retain();
+            session.touch();
+        }
+        if (passivationTimeoutNanos > 0) {
+            // Waits for the passivation in progress
+            activate(session);
+        }
+        currentSession.set(session);
+        evict(evicted);
+        if (sweeping && sweeper == null) {
+            startSweeper();
+        }
+        return true;
+    }
+
+    @Override
+    public void deactivateSession() {
+        Session session = currentSession.get();
+        if (session == null) {
+            throw new ContextNotActiveException("No session active for the current thread");
+        }
+        currentSession.remove();
+        session.touch();
+        release(session);
+    }
+
+    @Override
+    public boolean invalidateSession(@NonNull String sessionId) {
+        Session session;
+        synchronized (sessions) {
+            session = sessions.remove(sessionId);
+        }
+        if (session == null) {
+            return false;
+        }
+        release(session);
+        return true;
+    }
+
+    @Override
+    public int getSessionCount() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public synchronized int getPassivatedSessionCount() {
+        return spillFile == null ? 0 : spillFile.size();
+    }
+
+    /**
+     * Evicts the sessions idle for longer than the idle timeout and passivates the sessions idle for longer
+     * than the passivation timeout, a non-positive timeout disables the eviction or the passivation.
+     */
+    void sweep() {
+        long now = System.nanoTime();
+        List<Session> evicted = null;
+        List<Session> idle = null;
+        synchronized (sessions) {
+            Iterator<Session> iterator = sessions.values().iterator();
+            while (iterator.hasNext()) {
+                Session session = iterator.next();
+                long idleNanos = now - session.lastAccess;
+                if (idleTimeoutNanos > 0 && idleNanos > idleTimeoutNanos) {
+                    iterator.remove();
+                    if (evicted == null) {
+                        evicted = new ArrayList<>();
+                    }
+                    evicted.add(session);
+                } else if (passivationTimeoutNanos > 0 && idleNanos > passivationTimeoutNanos && session.passivated == null) {
+                    if (idle == null) {
+                        idle = new ArrayList<>();
+                    }
+                    idle.add(session);
+                }
+            }
+        }
+        evict(evicted);
+        if (idle != null) {
+            idle.forEach(this::passivate);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        List<Session> destroyed;
+        synchronized (sessions) {
+            destroyed = new ArrayList<>(sessions.values());
+            sessions.clear();
+        }
+        destroyed.forEach(this::release);
+        close();
+    }
+
+    /**
+     * Stops the sweeper and deletes the spill file.
+     */
+    @PreDestroy
+    synchronized void close() {
+        stopSweeper();
+        if (spillFile != null) {
+            try {
+                spillFile.close();
+            } catch (IOException e) {
+                LOG.debug("Failed to close the session spill file", e);
+            }
+            spillFile = null;
+        }
+    }
+
+    @Override
+    @Nullable
+    public Object captureState() {
+        Session session = currentSession.get();
+        if (session != null) {
+            session.storage.retain();
+        }
+        return session;
+    }
+
+    @Override
+    @Nullable
+    public Object bindState(Object state) {
+        Session previous = currentSession.get();
+        currentSession.set((Session) state);
+        return previous;
+    }
+
+    @Override
+    public void unbindState(Object state, @Nullable Object previous) {
+        if (previous == null) {
+            currentSession.remove();
+        } else {
+            currentSession.set((Session) previous);
+        }
+        release((Session) state);
+    }
+
+    @Override
+    public void releaseState(Object state) {
+        release((Session) state);
+    }
+
+    private void evict(@Nullable List<Session> evicted) {
+        if (evicted != null) {
+            evictions.add(evicted.size());
+            evicted.forEach(this::release);
+        }
+    }
+
+    private void release(Session session) {
+        // The session can still be active in other threads
+        if (session.storage.release()) {
+            if (passivationTimeoutNanos > 0) {
+                // The passivated instances are destroyed by their creational contexts
+                dropPassivated(session);
+            }
+            session.storage.destroy();
+        }
+    }
+
+    private void passivate(Session session) {
+        synchronized (session) {
+            // Only the sessions not active in any thread are passivated
+            if (session.passivated != null || session.storage.getReferenceCount() != 1) {
+                return;
+            }
+            ContextStorage.Detached detached = session.storage.detach();
+            if (detached == null) {
+                return;
+            }
+            try {
+                if (getSpillFile().write(session.id, serialize(detached.instances))) {
+                    // The passivated instances are still alive, they are destroyed when the session ends
+                    session.passivated = detached.contextuals;
+                    session.passivatedCreationalContexts = detached.creationalContexts;
+                    return;
+                }
+            } catch (IOException e) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Failed to passivate the session: " + session.id, e);
+                }
+            }
+            session.storage.attach(detached);
+        }
+    }
+
+    private void activate(Session session) {
+        synchronized (session) {
+            Contextual<?>[] contextuals = session.passivated;
+            if (contextuals == null) {
+                return;
+            }
+            CreationalContext<?>[] creationalContexts = session.passivatedCreationalContexts;
+            session.passivated = null;
+            session.passivatedCreationalContexts = null;
+            byte[] bytes;
+            synchronized (this) {
+                bytes = spillFile == null ? null : spillFile.take(session.id);
+            }
+            if (bytes == null) {
+                LOG.warn("The passivated state of the session [{}] is lost", session.id);
+                releaseAll(creationalContexts);
+                return;
+            }
+            try {
+                Object[] instances = deserialize(bytes);
+                ContextStorage.Detached detached = new ContextStorage.Detached(contextuals.length);
+                for (int i = 0; i < contextuals.length; i++) {
+                    // The activated copy keeps the creational context of the passivated instance
+                    detached.contextuals[i] = contextuals[i];
+                    detached.creationalContexts[i] = creationalContexts[i];
+                    detached.instances[i] = instances[i];
+                }
+                session.storage.attach(detached);
+            } catch (IOException | ClassNotFoundException e) {
+                LOG.warn("Failed to activate the passivated session: " + session.id, e);
+                releaseAll(creationalContexts);
+            }
+        }
+    }
+
+    private void dropPassivated(Session session) {
+        synchronized (session) {
+            if (session.passivated == null) {
+                return;
+            }
+            CreationalContext<?>[] creationalContexts = session.passivatedCreationalContexts;
+            session.passivated = null;
+            session.passivatedCreationalContexts = null;
+            synchronized (this) {
+                if (spillFile != null) {
+                    spillFile.remove(session.id);
+                }
+            }
+            releaseAll(creationalContexts);
+        }
+    }
+
+    private static void releaseAll(CreationalContext<?>[] creationalContexts) {
+        for (CreationalContext<?> creationalContext : creationalContexts) {
+            creationalContext.release();
+        }
+    }
+
+    private synchronized SessionSpillFile getSpillFile() throws IOException {
+        if (spillFile == null) {
+            spillFile = SessionSpillFile.createTemporary();
+        }
+        return spillFile;
+    }
+
+    private static byte[] serialize(Object[] instances) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(instances);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object[] deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ContextClassLoaderObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (Object[]) in.readObject();
+        }
+    }
+
+    private synchronized void startSweeper() {
+        if (sweeper == null) {
+            sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "odi-session-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = sweepInterval.toMillis();
+            sweeper.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void stopSweeper() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            sweeper = null;
+        }
+    }
+
+    private static final class Session {
+        private final String id;
+        private final ContextStorage storage = new ContextStorage();
+        private volatile long lastAccess;
+        // The contextuals of the passivated instances, guarded by the session
+        @Nullable
+        private volatile Contextual<?>[] passivated;
+        // The creational contexts of the passivated instances, guarded by the session
+        @Nullable
+        private CreationalContext<?>[] passivatedCreationalContexts;
+
+        private Session(String id) {
+            this.id = id;
+            // The reference of the sessions map
+            storage.retain();
+            touch();
+        }
+
+        private void touch() {
+            lastAccess = System.nanoTime();
+        }
+    }
+
+    private static final class ContextClassLoaderObjectInputStream extends ObjectInputStream {
+
+        private ContextClassLoaderObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // Fallback to the default resolution
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
 }
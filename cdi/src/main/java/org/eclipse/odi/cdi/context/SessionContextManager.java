@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.context;
+
+import io.micronaut.core.annotation.NonNull;
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.context.SessionScoped;
+
+/**
+ * Manages the sessions of the {@link SessionScoped} context.
+ * The context is configured by {@code odi.session.max-sessions}, {@code odi.session.idle-timeout},
+ * {@code odi.session.sweep-interval} and {@code odi.session.passivation-timeout}.
+ */
+public interface SessionContextManager {
+
+    /**
+     * Activates the session for the current thread, the session is created if it doesn't exist.
+     *
+     * @param sessionId The session id
+     * @return false if a session is already active for the current thread
+     */
+    boolean activateSession(@NonNull String sessionId);
+
+    /**
+     * Deactivates the session of the current thread, the session is kept.
+     *
+     * @throws ContextNotActiveException if there is no session active for the current thread
+     */
+    void deactivateSession();
+
+    /**
+     * Invalidates the session, the instances are destroyed once the session is not active in any thread.
+     *
+     * @param sessionId The session id
+     * @return true if the session existed
+     */
+    boolean invalidateSession(@NonNull String sessionId);
+
+    /**
+     * @return The number of live sessions
+     */
+    int getSessionCount();
+
+    /**
+     * @return The number of sessions evicted because of the size limit or the idle timeout
+     */
+    long getEvictionCount();
+
+    /**
+     * @return The number of sessions passivated to the spill file
+     */
+    int getPassivatedSessionCount();
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.context;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The memory-mapped file storing the serialized state of the passivated sessions.
+ * The records are appended to the file, the index maps the session id to the offset and the length
+ * of the record packed into one long. The file is compacted in place when more than half of it is garbage.
+ */
+final class SessionSpillFile implements Closeable {
+
+    /**
+     * The maximum size of the file, limited by the capacity of the mapped buffer.
+     */
+    static final int MAX_SIZE = Integer.MAX_VALUE;
+
+    private static final int INITIAL_CAPACITY = 1024 * 1024;
+    private static final int COMPACTION_THRESHOLD = 16 * 1024 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Map<String, Long> index = new HashMap<>();
+    @Nullable
+    private MappedByteBuffer region;
+    private int end;
+    private long liveBytes;
+
+    SessionSpillFile(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Creates the spill file in the temporary directory.
+     *
+     * @return The spill file
+     * @throws IOException If the file cannot be created
+     */
+    static SessionSpillFile createTemporary() throws IOException {
+        Path path = Files.createTempFile("odi-sessions", ".spill");
+        path.toFile().deleteOnExit();
+        return new SessionSpillFile(path);
+    }
+
+    /**
+     * Writes the record of the session, replacing the previous one.
+     *
+     * @param sessionId The session id
+     * @param bytes     The record
+     * @return false if there is no space left in the file
+     * @throws IOException If the file cannot be mapped
+     */
+    synchronized boolean write(String sessionId, byte[] bytes) throws IOException {
+        if ((long) end + bytes.length > MAX_SIZE) {
+            compact();
+            if ((long) end + bytes.length > MAX_SIZE) {
+                return false;
+            }
+        }
+        MappedByteBuffer region = ensureCapacity(end + bytes.length);
+        ByteBuffer target = region.duplicate();
+        target.position(end);
+        target.put(bytes);
+        Long previous = index.put(sessionId, pack(end, bytes.length));
+        if (previous != null) {
+            liveBytes -= length(previous);
+        }
+        end += bytes.length;
+        liveBytes += bytes.length;
+        return true;
+    }
+
+    /**
+     * Reads and removes the record of the session.
+     *
+     * @param sessionId The session id
+     * @return The record or null
+     */
+    @Nullable
+    synchronized byte[] take(String sessionId) {
+        Long entry = index.remove(sessionId);
+        if (entry == null) {
+            return null;
+        }
+        byte[] bytes = new byte[length(entry)];
+        ByteBuffer source = region.duplicate();
+        source.position(offset(entry));
+        source.get(bytes);
+        released(entry);
+        return bytes;
+    }
+
+    /**
+     * Removes the record of the session.
+     *
+     * @param sessionId The session id
+     */
+    synchronized void remove(String sessionId) {
+        Long entry = index.remove(sessionId);
+        if (entry != null) {
+            released(entry);
+        }
+    }
+
+    /**
+     * @return The number of the stored records
+     */
+    synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * @return The size of the used part of the file
+     */
+    synchronized int getUsedBytes() {
+        return end;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        index.clear();
+        region = null;
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    private void released(long entry) {
+        liveBytes -= length(entry);
+        if (index.isEmpty()) {
+            // Start from the beginning when there are no records
+            end = 0;
+            liveBytes = 0;
+        } else if (end > COMPACTION_THRESHOLD && liveBytes < end / 2) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        if (region == null) {
+            return;
+        }
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(index.entrySet());
+        entries.sort(Comparator.comparingInt(e -> offset(e.getValue())));
+        int position = 0;
+        for (Map.Entry<String, Long> e : entries) {
+            long entry = e.getValue();
+            int offset = offset(entry);
+            int length = length(entry);
+            if (offset != position) {
+                // The records are moved towards the beginning in the order of the offsets, the unmoved ones are not overwritten
+                byte[] bytes = new byte[length];
+                ByteBuffer source = region.duplicate();
+                source.position(offset);
+                source.get(bytes);
+                ByteBuffer target = region.duplicate();
+                target.position(position);
+                target.put(bytes);
+                e.setValue(pack(position, length));
+            }
+            position += length;
+        }
+        end = position;
+        liveBytes = position;
+    }
+
+    private MappedByteBuffer ensureCapacity(int required) throws IOException {
+        MappedByteBuffer region = this.region;
+        if (region == null || region.capacity() < required) {
+            long capacity = region == null ? INITIAL_CAPACITY : region.capacity();
+            while (capacity < required) {
+                capacity = Math.min(capacity * 2, MAX_SIZE);
+            }
+            region = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            this.region = region;
+        }
+        return region;
+    }
+
+    private static long pack(int offset, int length) {
+        return ((long) offset << 32) | (length & 0xFFFFFFFFL);
+    }
+
+    private static int offset(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    private static int length(long entry) {
+        return (int) entry;
+    }
+}
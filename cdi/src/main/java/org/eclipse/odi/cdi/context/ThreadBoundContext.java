@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.context;
+
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * A context with a state bound to the current thread which can be propagated to other threads.
+ * The state is captured by the caller, bound while a task is executed by another thread and released afterwards.
+ */
+interface ThreadBoundContext {
+
+    /**
+     * Captures the state bound to the current thread, the state is retained until it's unbound.
+     *
+     * @return The state or null if there is no state bound to the current thread
+     */
+    @Nullable
+    Object captureState();
+
+    /**
+     * Binds the captured state to the current thread.
+     *
+     * @param state The captured state
+     * @return The previously bound state
+     */
+    @Nullable
+    Object bindState(Object state);
+
+    /**
+     * Unbinds the state from the current thread, binds the previous state back and releases the captured state.
+     *
+     * @param state    The captured state
+     * @param previous The previously bound state
+     */
+    void unbindState(Object state, @Nullable Object previous);
+
+    /**
+     * Releases the captured state which was never bound, e.g. the task it was captured for was dropped.
+     *
+     * @param state The captured state
+     */
+    void releaseState(Object state);
+}
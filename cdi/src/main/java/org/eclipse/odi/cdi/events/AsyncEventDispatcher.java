@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Dispatches an event to the asynchronous observers.
+ * All the tasks are submitted at once, the tasks complete one aggregate future by counting down
+ * and the failures of the observers are collected as suppressed exceptions of one {@link CompletionException}.
+ * The observers of the same bean class are notified by one task unless a task per observer is requested.
+ * A rejected or dropped task fails the aggregate future. The batches of events are split into chunks,
+ * a task notifies the group of the observers of all the events of the chunk.
+ */
+@Internal
+final class AsyncEventDispatcher {
+
+    private AsyncEventDispatcher() {
+    }
+
+    /**
+     * Notifies the observer methods using the executor.
+     *
+     * @param event           The event
+     * @param observerMethods The observer methods
+     * @param executor        The executor
+     * @param taskPerObserver Whether each observer method is notified by its own task
+     * @param notifier        Notifies one observer method
+     * @param <T>             The observed type
+     * @param <U>             The event type
+     * @return The future completed with the event after all the observer methods have been notified,
+     * also when there is no observer method accepting the event
+     */
+    @NonNull
+    static <T, U extends T> CompletableFuture<U> dispatch(@NonNull U event,
+                                                          @NonNull ResolvedObserverMethods<T> observerMethods,
+                                                          @NonNull Executor executor,
+                                                          boolean taskPerObserver,
+                                                          @NonNull BiConsumer<U, ObserverMethod<T>> notifier) {
+        int[][] groups = observerMethods.getGroups(!taskPerObserver);
+        int tasks = 0;
+        for (int[] group : groups) {
+            if (accepts(observerMethods, group, event)) {
+                tasks++;
+            }
+        }
+        if (tasks == 0) {
+            return CompletableFuture.completedFuture(event);
+        }
+        Aggregate<U> aggregate = new Aggregate<>(event, tasks);
+        for (int[] group : groups) {
+            if (!accepts(observerMethods, group, event)) {
+                continue;
+            }
+            GroupTask<T, U> task = new GroupTask<>(event, observerMethods, group, notifier, aggregate);
+            try {
+                executor.execute(task);
+            } catch (RuntimeException e) {
+                // The task has been rejected
+                task.fail(e);
+            }
+        }
+        return aggregate.future;
+    }
+
+    /**
+     * Notifies the observer methods of a batch of events using the executor. A task notifies a group
+     * of the observer methods of a chunk of the events.
+     *
+     * @param events          The events
+     * @param observerMethods The observer methods
+     * @param executor        The executor
+     * @param taskPerObserver Whether each observer method is notified by its own tasks
+     * @param chunkSize       The maximum number of the events notified by one task
+     * @param notifier        Notifies one observer method
+     * @param <T>             The observed type
+     * @param <U>             The event type
+     * @return The future completed with the events after all the observer methods have been notified
+     */
+    @NonNull
+    static <T, U extends T> CompletableFuture<List<U>> dispatchAll(@NonNull List<U> events,
+                                                                   @NonNull ResolvedObserverMethods<T> observerMethods,
+                                                                   @NonNull Executor executor,
+                                                                   boolean taskPerObserver,
+                                                                   int chunkSize,
+                                                                   @NonNull BiConsumer<U, ObserverMethod<T>> notifier) {
+        if (events.isEmpty() || observerMethods.isEmpty()) {
+            return CompletableFuture.completedFuture(events);
+        }
+        int[][] groups = observerMethods.getGroups(!taskPerObserver);
+        int chunks = (events.size() + chunkSize - 1) / chunkSize;
+        Aggregate<List<U>> aggregate = new Aggregate<>(events, groups.length * chunks);
+        for (int[] group : groups) {
+            for (int from = 0; from < events.size(); from += chunkSize) {
+                BatchTask<T, U> task = new BatchTask<>(events, from, Math.min(from + chunkSize, events.size()), observerMethods, group, notifier, aggregate);
+                try {
+                    executor.execute(task);
+                } catch (RuntimeException e) {
+                    // The task has been rejected
+                    task.fail(e);
+                }
+            }
+        }
+        return aggregate.future;
+    }
+
+    private static boolean accepts(ResolvedObserverMethods<?> observerMethods, int[] group, Object event) {
+        for (int index : group) {
+            if (observerMethods.accepts(index, event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Notifies a group of the observer methods.
+     *
+     * @param <T> The observed type
+     * @param <U> The event type
+     */
+    private static final class GroupTask<T, U extends T> implements RejectableTask {
+        private final U event;
+        private final ResolvedObserverMethods<T> observerMethods;
+        private final int[] group;
+        private final BiConsumer<U, ObserverMethod<T>> notifier;
+        private final Aggregate<U> aggregate;
+
+        GroupTask(U event,
+                  ResolvedObserverMethods<T> observerMethods,
+                  int[] group,
+                  BiConsumer<U, ObserverMethod<T>> notifier,
+                  Aggregate<U> aggregate) {
+            this.event = event;
+            this.observerMethods = observerMethods;
+            this.group = group;
+            this.notifier = notifier;
+            this.aggregate = aggregate;
+        }
+
+        @Override
+        public void run() {
+            for (int index : group) {
+                if (observerMethods.accepts(index, event)) {
+                    try {
+                        notifier.accept(event, observerMethods.get(index));
+                    } catch (Throwable e) {
+                        aggregate.failed(e);
+                    }
+                }
+            }
+            aggregate.taskCompleted();
+        }
+
+        @Override
+        public void reject(RejectedExecutionException e) {
+            fail(e);
+        }
+
+        void fail(Throwable e) {
+            aggregate.failed(e);
+            aggregate.taskCompleted();
+        }
+    }
+
+    /**
+     * Notifies a group of the observer methods of a chunk of the events.
+     *
+     * @param <T> The observed type
+     * @param <U> The event type
+     */
+    private static final class BatchTask<T, U extends T> implements RejectableTask {
+        private final List<U> events;
+        private final int from;
+        private final int to;
+        private final ResolvedObserverMethods<T> observerMethods;
+        private final int[] group;
+        private final BiConsumer<U, ObserverMethod<T>> notifier;
+        private final Aggregate<List<U>> aggregate;
+
+        BatchTask(List<U> events,
+                  int from,
+                  int to,
+                  ResolvedObserverMethods<T> observerMethods,
+                  int[] group,
+                  BiConsumer<U, ObserverMethod<T>> notifier,
+                  Aggregate<List<U>> aggregate) {
+            this.events = events;
+            this.from = from;
+            this.to = to;
+            this.observerMethods = observerMethods;
+            this.group = group;
+            this.notifier = notifier;
+            this.aggregate = aggregate;
+        }
+
+        @Override
+        public void run() {
+            for (int index : group) {
+                ObserverMethod<T> observerMethod = observerMethods.get(index);
+                for (int i = from; i < to; i++) {
+                    U event = events.get(i);
+                    if (observerMethods.accepts(index, event)) {
+                        try {
+                            notifier.accept(event, observerMethod);
+                        } catch (Throwable e) {
+                            aggregate.failed(e);
+                        }
+                    }
+                }
+            }
+            aggregate.taskCompleted();
+        }
+
+        @Override
+        public void reject(RejectedExecutionException e) {
+            fail(e);
+        }
+
+        void fail(Throwable e) {
+            aggregate.failed(e);
+            aggregate.taskCompleted();
+        }
+    }
+
+    /**
+     * The aggregate completion of the tasks.
+     *
+     * @param <R> The result type
+     */
+    private static final class Aggregate<R> {
+        private final R result;
+        private final AtomicInteger remaining;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+        private CompletionException failure;
+
+        Aggregate(R result, int tasks) {
+            this.result = result;
+            this.remaining = new AtomicInteger(tasks);
+        }
+
+        synchronized void failed(Throwable e) {
+            if (failure == null) {
+                failure = new CompletionException(new IllegalStateException("Failed to invoke async event handler"));
+            }
+            failure.addSuppressed(e);
+        }
+
+        void taskCompleted() {
+            if (remaining.decrementAndGet() == 0) {
+                CompletionException failure;
+                synchronized (this) {
+                    failure = this.failure;
+                }
+                if (failure == null) {
+                    future.complete(result);
+                } else {
+                    future.completeExceptionally(failure);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,461 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.SupplierUtil;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.event.ObserverException;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.eclipse.odi.cdi.context.ContextPropagation;
+import org.eclipse.odi.cdi.context.ContextSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * The executor of the asynchronous observers, configured by {@code odi.events.async.executor}.
+ * <ul>
+ *     <li>{@code bean:<name>} - the executor bean with the name, {@link ForkJoinPool#commonPool()} if there is none
+ *     (the default is {@code bean:scheduled})</li>
+ *     <li>{@code fork-join} - {@link ForkJoinPool#commonPool()}</li>
+ *     <li>{@code virtual} - a virtual thread per observer, a cached pool of daemon threads on runtimes
+ *     without virtual threads</li>
+ * </ul>
+ * The concurrent notifications of one observer are limited by {@code odi.events.async.max-concurrency-per-observer}
+ * when it is positive. The tasks are counted to report the utilisation of the executor.
+ * <p>
+ * When {@code odi.events.async.queue-capacity} is positive, the tasks are queued in a bounded queue executed by at most
+ * {@code odi.events.async.queue-consumers} tasks of the executor (the number of the processors by default).
+ * {@code odi.events.async.queue-policy} decides what happens when the queue is full: {@code block} the firing thread,
+ * {@code caller-runs} the observers in the firing thread, {@code drop-oldest} queued task or {@code fail} the fired event.
+ * The dropped and the failed events complete exceptionally. The blocking policy must not be used when the async
+ * observers fire async events.
+ * <p>
+ * The events fired with the {@link #PARTITION_KEY_OPTION} notification option are delivered in order per key:
+ * the key extracted from the event selects one of {@code odi.events.async.partitions} lanes (the number of
+ * the processors by default), each lane executes its tasks one by one on the executor. The lanes bypass the queue.
+ * <p>
+ * The tasks are executed with the contexts of the thread firing the event.
+ */
+@Internal
+@Singleton
+public final class AsyncEventExecutor {
+
+    /**
+     * The executor bean mode prefix.
+     */
+    public static final String BEAN_MODE_PREFIX = "bean:";
+    /**
+     * The common fork-join pool mode.
+     */
+    public static final String FORK_JOIN_MODE = "fork-join";
+    /**
+     * The virtual thread per observer mode.
+     */
+    public static final String VIRTUAL_MODE = "virtual";
+    /**
+     * The option of {@link jakarta.enterprise.event.NotificationOptions} with the {@link java.util.function.Function}
+     * extracting the partition key from the event.
+     */
+    public static final String PARTITION_KEY_OPTION = "odi.events.partition-key";
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncEventExecutor.class);
+
+    private final BeanContext beanContext;
+    private final ContextPropagation contextPropagation;
+    private final String mode;
+    private final int maxConcurrencyPerObserver;
+    private final int queueCapacity;
+    private final AsyncEventQueue.OverflowPolicy queuePolicy;
+    private final int queueConsumers;
+    private final int partitions;
+    private final int batchChunkSize;
+    private final Supplier<Executor> executorSupplier = SupplierUtil.memoized(this::createExecutor);
+    private final Map<ObserverMethod<?>, Semaphore> observerPermits = new ConcurrentHashMap<>();
+    private final LongAdder submittedTasks = new LongAdder();
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder rejectedTasks = new LongAdder();
+    private final LongAdder throttledNotifications = new LongAdder();
+    private final AtomicInteger activeTasks = new AtomicInteger();
+    @Nullable
+    private volatile Executor delegate;
+    @Nullable
+    private volatile ExecutorService ownedExecutor;
+    @Nullable
+    private volatile AsyncEventQueue queue;
+    @Nullable
+    private volatile Lane[] lanes;
+
+    @Inject
+    AsyncEventExecutor(BeanContext beanContext,
+                       ContextPropagation contextPropagation,
+                       @Value("${odi.events.async.executor:`bean:scheduled`}") String mode,
+                       @Value("${odi.events.async.max-concurrency-per-observer:0}") int maxConcurrencyPerObserver,
+                       @Value("${odi.events.async.queue-capacity:0}") int queueCapacity,
+                       @Value("${odi.events.async.queue-policy:block}") String queuePolicy,
+                       @Value("${odi.events.async.queue-consumers:0}") int queueConsumers,
+                       @Value("${odi.events.async.partitions:0}") int partitions,
+                       @Value("${odi.events.async.batch-chunk-size:256}") int batchChunkSize) {
+        if (!mode.equals(FORK_JOIN_MODE) && !mode.equals(VIRTUAL_MODE) && !mode.startsWith(BEAN_MODE_PREFIX)) {
+            throw new IllegalArgumentException("Unknown async event executor: " + mode
+                    + ", expected " + VIRTUAL_MODE + ", " + FORK_JOIN_MODE + " or " + BEAN_MODE_PREFIX + "<name>");
+        }
+        this.beanContext = beanContext;
+        this.contextPropagation = contextPropagation;
+        this.mode = mode;
+        this.maxConcurrencyPerObserver = maxConcurrencyPerObserver;
+        this.queueCapacity = queueCapacity;
+        this.queuePolicy = AsyncEventQueue.OverflowPolicy.parse(queuePolicy);
+        this.queueConsumers = queueConsumers > 0 ? queueConsumers : Runtime.getRuntime().availableProcessors();
+        this.partitions = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        if (batchChunkSize < 1) {
+            throw new IllegalArgumentException("The batch chunk size needs to be positive: " + batchChunkSize);
+        }
+        this.batchChunkSize = batchChunkSize;
+    }
+
+    /**
+     * @return The configured mode
+     */
+    @NonNull
+    public String getMode() {
+        return mode;
+    }
+
+    /**
+     * @return Whether each observer is notified by its own task
+     */
+    public boolean isTaskPerObserver() {
+        return mode.equals(VIRTUAL_MODE);
+    }
+
+    /**
+     * @return The maximum number of the events of a batch notified by one task
+     */
+    public int getBatchChunkSize() {
+        return batchChunkSize;
+    }
+
+    /**
+     * @return The executor of the asynchronous observers, propagates the contexts of the submitting thread
+     */
+    @NonNull
+    public Executor getExecutor() {
+        return executorSupplier.get();
+    }
+
+    /**
+     * The executor of the lane of the partition key, the tasks of the lane are executed in order.
+     *
+     * @param key The partition key
+     * @return The executor of the lane, propagates the contexts of the submitting thread
+     */
+    @NonNull
+    public Executor getPartitionExecutor(@Nullable Object key) {
+        Lane[] lanes = this.lanes;
+        if (lanes == null) {
+            synchronized (this) {
+                lanes = this.lanes;
+                if (lanes == null) {
+                    // The lanes are executed by the configured executor
+                    getExecutor();
+                    lanes = new Lane[partitions];
+                    for (int i = 0; i < lanes.length; i++) {
+                        lanes[i] = new Lane();
+                    }
+                    this.lanes = lanes;
+                }
+            }
+        }
+        int hash = Objects.hashCode(key);
+        return lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)];
+    }
+
+    /**
+     * @return The number of the tasks waiting in the lanes, including the running tasks
+     */
+    public int getPartitionedTaskCount() {
+        Lane[] lanes = this.lanes;
+        int count = 0;
+        if (lanes != null) {
+            for (Lane lane : lanes) {
+                count += lane.pending.get();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Notifies the observer method, waits for a permit of the observer method if the concurrency is limited.
+     *
+     * @param event          The event
+     * @param observerMethod The observer method
+     * @param notifier       Notifies the observer method
+     * @param <T>            The observed type
+     * @param <U>            The event type
+     */
+    <T, U extends T> void notify(U event, ObserverMethod<T> observerMethod, BiConsumer<U, ObserverMethod<T>> notifier) {
+        if (maxConcurrencyPerObserver <= 0) {
+            notifier.accept(event, observerMethod);
+            return;
+        }
+        Semaphore permits = observerPermits.computeIfAbsent(observerMethod, o -> new Semaphore(maxConcurrencyPerObserver));
+        if (!permits.tryAcquire()) {
+            throttledNotifications.increment();
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ObserverException("Interrupted waiting for the observer method: " + observerMethod, e);
+            }
+        }
+        try {
+            notifier.accept(event, observerMethod);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return The number of the submitted tasks
+     */
+    public long getSubmittedTaskCount() {
+        return submittedTasks.sum();
+    }
+
+    /**
+     * @return The number of the completed tasks
+     */
+    public long getCompletedTaskCount() {
+        return completedTasks.sum();
+    }
+
+    /**
+     * @return The number of the tasks rejected by the executor
+     */
+    public long getRejectedTaskCount() {
+        return rejectedTasks.sum();
+    }
+
+    /**
+     * @return The number of the running tasks
+     */
+    public int getActiveTaskCount() {
+        return activeTasks.get();
+    }
+
+    /**
+     * @return The number of the notifications that waited for the concurrency limit of the observer
+     */
+    public long getThrottledNotificationCount() {
+        return throttledNotifications.sum();
+    }
+
+    /**
+     * @return The number of the tasks waiting in the queue, 0 without the queue
+     */
+    public int getQueueDepth() {
+        AsyncEventQueue queue = this.queue;
+        return queue == null ? 0 : queue.getDepth();
+    }
+
+    /**
+     * @return The number of the tasks rejected by the full queue (the failed events)
+     */
+    public long getQueueRejectedCount() {
+        AsyncEventQueue queue = this.queue;
+        return queue == null ? 0 : queue.getRejectedCount();
+    }
+
+    /**
+     * @return The number of the tasks dropped from the full queue
+     */
+    public long getQueueDroppedCount() {
+        AsyncEventQueue queue = this.queue;
+        return queue == null ? 0 : queue.getDroppedCount();
+    }
+
+    /**
+     * @return The number of the tasks executed by the firing thread because the queue was full
+     */
+    public long getQueueCallerRunsCount() {
+        AsyncEventQueue queue = this.queue;
+        return queue == null ? 0 : queue.getCallerRunsCount();
+    }
+
+    /**
+     * The ratio of the busy threads of a thread pool, {@link Double#NaN} if the executor isn't a known pool.
+     *
+     * @return The utilisation of the executor
+     */
+    public double getUtilization() {
+        Executor executor = delegate;
+        if (executor instanceof ForkJoinPool) {
+            ForkJoinPool pool = (ForkJoinPool) executor;
+            return (double) pool.getActiveThreadCount() / pool.getParallelism();
+        }
+        if (executor instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+            return (double) pool.getActiveCount() / pool.getMaximumPoolSize();
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Shuts down the executor created for the virtual mode.
+     */
+    @PreDestroy
+    void close() {
+        ExecutorService executorService = ownedExecutor;
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
+
+    private Executor createExecutor() {
+        Executor executor;
+        if (mode.equals(VIRTUAL_MODE)) {
+            ExecutorService executorService = newVirtualThreadPerTaskExecutor();
+            ownedExecutor = executorService;
+            executor = executorService;
+        } else if (mode.equals(FORK_JOIN_MODE)) {
+            executor = ForkJoinPool.commonPool();
+        } else {
+            String name = mode.substring(BEAN_MODE_PREFIX.length());
+            executor = beanContext.findBean(Executor.class, Qualifiers.byName(name)).orElseGet(ForkJoinPool::commonPool);
+        }
+        delegate = executor;
+        if (queueCapacity > 0) {
+            queue = new AsyncEventQueue(queueCapacity, queuePolicy, queueConsumers, this::executeDelegate, this::runTask);
+        }
+        return this::execute;
+    }
+
+    private void execute(Runnable task) {
+        submittedTasks.increment();
+        ContextSnapshot snapshot = contextPropagation.capture();
+        AsyncEventQueue queue = this.queue;
+        if (queue != null) {
+            queue.submit(task, snapshot);
+            return;
+        }
+        try {
+            executeDelegate(snapshot.isEmpty() ? () -> runTask(task) : () -> runTask(() -> snapshot.run(task)));
+        } catch (RuntimeException e) {
+            snapshot.discard();
+            throw e;
+        }
+    }
+
+    private void executeDelegate(Runnable task) {
+        try {
+            delegate.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejectedTasks.increment();
+            throw e;
+        }
+    }
+
+    private void runTask(Runnable task) {
+        activeTasks.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            activeTasks.decrementAndGet();
+            completedTasks.increment();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOG.debug("Virtual threads are not available, the async observers will use a cached thread pool");
+            AtomicInteger threads = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "odi-async-event-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Executes the tasks one by one in the order of the submission, there is at most one task of the lane
+     * submitted to the executor.
+     */
+    private final class Lane implements Executor {
+        private final Queue<PropagatedTask> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+
+        @Override
+        public void execute(Runnable task) {
+            submittedTasks.increment();
+            tasks.add(new PropagatedTask(task, contextPropagation.capture()));
+            if (pending.getAndIncrement() == 0) {
+                try {
+                    executeDelegate(this::drain);
+                } catch (RuntimeException e) {
+                    rejectPending(e instanceof RejectedExecutionException
+                            ? (RejectedExecutionException) e : new RejectedExecutionException(e));
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                try {
+                    runTask(tasks.poll());
+                } catch (RuntimeException e) {
+                    LOG.error("Failed to execute the async event task", e);
+                }
+            } while (pending.decrementAndGet() != 0);
+        }
+
+        private void rejectPending(RejectedExecutionException e) {
+            do {
+                PropagatedTask task = tasks.poll();
+                if (task != null) {
+                    task.reject(e);
+                }
+            } while (pending.decrementAndGet() != 0);
+        }
+    }
+}
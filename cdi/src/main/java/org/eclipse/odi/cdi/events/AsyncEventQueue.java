@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.core.annotation.Internal;
+import org.eclipse.odi.cdi.context.ContextSnapshot;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * The bounded queue of the asynchronous notification tasks in front of the executor.
+ * The queued tasks are executed by a limited number of consumer tasks submitted to the executor,
+ * the consumers exit when the queue is empty. The policy decides what happens when the queue is full.
+ */
+@Internal
+final class AsyncEventQueue {
+
+    private final BlockingQueue<PropagatedTask> queue;
+    private final OverflowPolicy policy;
+    private final Executor executor;
+    private final Consumer<Runnable> runner;
+    private final int maxConsumers;
+    private final AtomicInteger consumers = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+
+    /**
+     * @param capacity     The capacity
+     * @param policy       The policy applied when the queue is full
+     * @param maxConsumers The maximum number of the consumers executed concurrently
+     * @param executor     The executor of the consumers
+     * @param runner       Runs a dequeued task
+     */
+    AsyncEventQueue(int capacity, OverflowPolicy policy, int maxConsumers, Executor executor, Consumer<Runnable> runner) {
+        if (maxConsumers < 1) {
+            throw new IllegalArgumentException("The number of the async event queue consumers needs to be positive: " + maxConsumers);
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.policy = policy;
+        this.maxConsumers = maxConsumers;
+        this.executor = executor;
+        this.runner = runner;
+    }
+
+    /**
+     * Enqueues the task according to the policy.
+     *
+     * @param task     The task
+     * @param snapshot The snapshot of the contexts of the submitting thread, released if the task is rejected
+     * @throws RejectedExecutionException if the task is rejected
+     */
+    void submit(Runnable task, ContextSnapshot snapshot) {
+        PropagatedTask entry = new PropagatedTask(task, snapshot);
+        switch (policy) {
+            case BLOCK:
+                try {
+                    queue.put(entry);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    rejected.increment();
+                    snapshot.discard();
+                    throw new RejectedExecutionException("Interrupted waiting for the async event queue", e);
+                }
+                break;
+            case CALLER_RUNS:
+                if (!queue.offer(entry)) {
+                    callerRuns.increment();
+                    runner.accept(entry);
+                    return;
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(entry)) {
+                    PropagatedTask oldest = queue.poll();
+                    if (oldest != null) {
+                        dropped.increment();
+                        oldest.reject(new RejectedExecutionException("The task was dropped from the full async event queue"));
+                    }
+                }
+                break;
+            case FAIL:
+            default:
+                if (!queue.offer(entry)) {
+                    rejected.increment();
+                    snapshot.discard();
+                    throw new RejectedExecutionException("The async event queue is full");
+                }
+                break;
+        }
+        startConsumer();
+    }
+
+    /**
+     * @return The number of the queued tasks
+     */
+    int getDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return The number of the tasks rejected because the queue was full
+     */
+    long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return The number of the queued tasks dropped to make room for the newer ones
+     */
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return The number of the tasks executed by the submitting thread because the queue was full
+     */
+    long getCallerRunsCount() {
+        return callerRuns.sum();
+    }
+
+    private void startConsumer() {
+        while (!queue.isEmpty()) {
+            int running = consumers.get();
+            if (running >= maxConsumers) {
+                // A running consumer will take the task
+                return;
+            }
+            if (consumers.compareAndSet(running, running + 1)) {
+                try {
+                    executor.execute(this::consume);
+                } catch (RuntimeException e) {
+                    consumers.decrementAndGet();
+                    rejectQueued(e instanceof RejectedExecutionException
+                            ? (RejectedExecutionException) e : new RejectedExecutionException(e));
+                }
+                return;
+            }
+        }
+    }
+
+    private void consume() {
+        try {
+            PropagatedTask entry;
+            while ((entry = queue.poll()) != null) {
+                runner.accept(entry);
+            }
+        } finally {
+            consumers.decrementAndGet();
+        }
+        // The tasks queued while the consumer was exiting
+        startConsumer();
+    }
+
+    private void rejectQueued(RejectedExecutionException e) {
+        PropagatedTask entry;
+        while ((entry = queue.poll()) != null) {
+            rejected.increment();
+            entry.reject(e);
+        }
+    }
+
+    /**
+     * The policy applied when the queue is full.
+     */
+    enum OverflowPolicy {
+        /**
+         * The submitting thread waits for a free slot.
+         */
+        BLOCK,
+        /**
+         * The submitting thread runs the task.
+         */
+        CALLER_RUNS,
+        /**
+         * The oldest queued task is dropped and rejected.
+         */
+        DROP_OLDEST,
+        /**
+         * The task is rejected.
+         */
+        FAIL;
+
+        /**
+         * Parses the policy name, for example {@code caller-runs}.
+         *
+         * @param name The name
+         * @return The policy
+         */
+        static OverflowPolicy parse(String name) {
+            try {
+                return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown async event queue policy: " + name
+                        + ", expected block, caller-runs, drop-oldest or fail", e);
+            }
+        }
+    }
+}
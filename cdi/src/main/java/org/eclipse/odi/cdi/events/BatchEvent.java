@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.core.annotation.NonNull;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.NotificationOptions;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * The ODI extension of {@link Event} firing a batch of events, implemented by the injected events.
+ * The observers are resolved once for the batch and each observer is notified of all the events
+ * of the batch before the next observer. The {@code null} events are ignored.
+ *
+ * <pre>{@code
+ * ((BatchEvent<Order>) orderEvent).fireAll(orders);
+ * }</pre>
+ *
+ * @param <T> The event type
+ */
+public interface BatchEvent<T> extends Event<T> {
+
+    /**
+     * Fires the events to the synchronous observers.
+     *
+     * @param events The events
+     */
+    void fireAll(@NonNull Collection<? extends T> events);
+
+    /**
+     * Fires the events to the asynchronous observers, the batch is notified in chunks of events
+     * configured by {@code odi.events.async.batch-chunk-size}.
+     *
+     * @param events The events
+     * @param <U>    The event type
+     * @return The stage completed with the events after all the observers have been notified
+     */
+    @NonNull
+    <U extends T> CompletionStage<List<U>> fireAllAsync(@NonNull Collection<U> events);
+
+    /**
+     * Fires the events to the asynchronous observers with the notification options.
+     *
+     * @param events  The events
+     * @param options The notification options
+     * @param <U>     The event type
+     * @return The stage completed with the events after all the observers have been notified
+     */
+    @NonNull
+    <U extends T> CompletionStage<List<U>> fireAllAsync(@NonNull Collection<U> events, @NonNull NotificationOptions options);
+}
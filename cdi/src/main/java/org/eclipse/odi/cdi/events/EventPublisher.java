@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.context.Qualifier;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.type.Argument;
+import jakarta.enterprise.event.Reception;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.enterprise.inject.spi.EventContext;
+import jakarta.enterprise.inject.spi.EventMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * The {@link Flow.Publisher} of the events observed by a synthetic observer method.
+ * The observer method is registered while the publisher has subscriptions, it is registered by the first
+ * subscription and removed when the last subscription is cancelled.
+ * Each subscription buffers the events until they are requested, the events are delivered by the thread
+ * firing the event or the thread requesting them. The overflow strategy decides what happens
+ * when the buffer of a subscription is full.
+ *
+ * @param <T> The event type
+ * @param <E> The element type, the event or its {@link EventContext}
+ */
+@Internal
+final class EventPublisher<T, E> implements Flow.Publisher<E> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventPublisher.class);
+
+    private final OdiObserverMethodRegistry observerMethodRegistry;
+    private final PublishingObserverMethod observerMethod;
+    private final Function<EventContext<T>, E> mapper;
+    private final int bufferSize;
+    private final EventPublishers.Overflow overflow;
+    // The changes are guarded by itself, together with the registration of the observer method
+    private final List<PublisherSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final LongAdder dropped = new LongAdder();
+
+    EventPublisher(OdiObserverMethodRegistry observerMethodRegistry,
+                   Argument<T> eventType,
+                   @Nullable Qualifier<T> qualifier,
+                   Set<Annotation> qualifiers,
+                   boolean async,
+                   Function<EventContext<T>, E> mapper,
+                   int bufferSize,
+                   EventPublishers.Overflow overflow) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("The buffer size needs to be positive: " + bufferSize);
+        }
+        this.observerMethodRegistry = observerMethodRegistry;
+        this.observerMethod = new PublishingObserverMethod(eventType, qualifier, qualifiers, async);
+        this.mapper = mapper;
+        this.bufferSize = bufferSize;
+        this.overflow = Objects.requireNonNull(overflow, "Overflow cannot be null");
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super E> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber cannot be null");
+        PublisherSubscription subscription = new PublisherSubscription(subscriber);
+        synchronized (subscriptions) {
+            subscriptions.add(subscription);
+            if (subscriptions.size() == 1) {
+                observerMethodRegistry.register(observerMethod);
+            }
+        }
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * @return The synthetic observer method, registered while there are subscriptions
+     */
+    OdiObserverMethod<T> getObserverMethod() {
+        return observerMethod;
+    }
+
+    /**
+     * @return The number of the active subscriptions
+     */
+    int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * @return The number of the events dropped by the full buffers
+     */
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void publish(EventContext<T> eventContext) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        E element = mapper.apply(eventContext);
+        for (PublisherSubscription subscription : subscriptions) {
+            subscription.offer(element);
+        }
+    }
+
+    /**
+     * The synthetic observer method publishing the events.
+     */
+    private final class PublishingObserverMethod implements OdiObserverMethod<T> {
+        private final Argument<T> eventType;
+        @Nullable
+        private final Qualifier<T> qualifier;
+        private final Set<Annotation> qualifiers;
+        private final boolean async;
+        private final EventMetadata emptyMetadata;
+
+        PublishingObserverMethod(Argument<T> eventType, @Nullable Qualifier<T> qualifier, Set<Annotation> qualifiers, boolean async) {
+            this.eventType = eventType;
+            this.qualifier = qualifier;
+            this.qualifiers = qualifiers;
+            this.async = async;
+            this.emptyMetadata = OdiEventContext.emptyMetadata(eventType.asType());
+        }
+
+        @Override
+        public Argument<T> getObservedArgument() {
+            return eventType;
+        }
+
+        @Override
+        @Nullable
+        public Qualifier<T> getObservedQualifier() {
+            return qualifier;
+        }
+
+        @Override
+        public Class<?> getBeanClass() {
+            return EventPublisher.class;
+        }
+
+        @Override
+        public Type getObservedType() {
+            return eventType.asType();
+        }
+
+        @Override
+        public Set<Annotation> getObservedQualifiers() {
+            return qualifiers;
+        }
+
+        @Override
+        public Reception getReception() {
+            return Reception.ALWAYS;
+        }
+
+        @Override
+        public TransactionPhase getTransactionPhase() {
+            return TransactionPhase.IN_PROGRESS;
+        }
+
+        @Override
+        public boolean isAsync() {
+            return async;
+        }
+
+        @Override
+        public void notify(T event) {
+            publish(new OdiEventContext<>(event, emptyMetadata));
+        }
+
+        @Override
+        public void notify(T event, EventMetadata metadata) {
+            publish(new OdiEventContext<>(event, metadata));
+        }
+
+        @Override
+        public void notify(EventContext<T> eventContext) {
+            publish(eventContext);
+        }
+
+        @Override
+        public String toString() {
+            return "EventPublisher: " + eventType.getTypeName() + " " + qualifiers;
+        }
+    }
+
+    /**
+     * The subscription buffering the events until they are requested.
+     * The buffer is guarded by itself, the signals to the subscriber are serialized by the work counter.
+     */
+    private final class PublisherSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super E> subscriber;
+        private final ArrayDeque<E> buffer = new ArrayDeque<>();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger work = new AtomicInteger();
+        private volatile boolean cancelled;
+        @Nullable
+        private volatile Throwable failure;
+
+        PublisherSubscription(Flow.Subscriber<? super E> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                failure = new IllegalArgumentException("The request needs to be positive: " + n);
+            } else {
+                demand.accumulateAndGet(n, (current, requested) -> {
+                    long sum = current + requested;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            synchronized (subscriptions) {
+                if (subscriptions.remove(this) && subscriptions.isEmpty()) {
+                    observerMethodRegistry.unregister(observerMethod);
+                }
+            }
+            synchronized (buffer) {
+                buffer.clear();
+            }
+        }
+
+        void offer(E element) {
+            if (cancelled) {
+                return;
+            }
+            synchronized (buffer) {
+                if (buffer.size() >= bufferSize) {
+                    switch (overflow) {
+                        case DROP_OLDEST:
+                            buffer.poll();
+                            dropped.increment();
+                            break;
+                        case DROP_LATEST:
+                            dropped.increment();
+                            return;
+                        case ERROR:
+                        default:
+                            failure = new IllegalStateException("The buffer of the event subscription is full: " + bufferSize);
+                            buffer.clear();
+                            break;
+                    }
+                }
+                if (failure == null) {
+                    buffer.add(element);
+                }
+            }
+            drain();
+        }
+
+        private void drain() {
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (!cancelled) {
+                    Throwable failure = this.failure;
+                    if (failure != null) {
+                        cancel();
+                        subscriber.onError(failure);
+                        break;
+                    }
+                    if (demand.get() == 0) {
+                        break;
+                    }
+                    E element;
+                    synchronized (buffer) {
+                        element = buffer.poll();
+                    }
+                    if (element == null) {
+                        break;
+                    }
+                    demand.decrementAndGet();
+                    try {
+                        subscriber.onNext(element);
+                    } catch (RuntimeException e) {
+                        // The subscriber violated the specification
+                        LOG.warn("The subscriber [{}] of the events [{}] failed, the subscription is cancelled",
+                                subscriber, observerMethod.getObservedType(), e);
+                        cancel();
+                        break;
+                    }
+                }
+            } while (work.decrementAndGet() != 0);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.context.Qualifier;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.type.Argument;
+import jakarta.enterprise.inject.spi.EventContext;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.eclipse.odi.cdi.AnnotationUtils;
+
+import java.lang.annotation.Annotation;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+/**
+ * Creates the {@link Flow.Publisher} views of the events, an alternative to the observer methods
+ * for consuming the events with backpressure.
+ * Each publisher registers a synthetic observer method of the event type and the qualifiers while it has
+ * subscriptions, the publishers are meant to be created once and subscribed to many times.
+ * The events are buffered per subscription, by default the {@code odi.events.publisher.buffer-size}
+ * events and {@code odi.events.publisher.overflow} strategy ({@code drop-oldest}, {@code drop-latest} or {@code error}).
+ *
+ * <pre>{@code
+ * Flow.Publisher<Order> orders = eventPublishers.publisher(Order.class);
+ * }</pre>
+ */
+@Singleton
+public final class EventPublishers {
+
+    private final OdiObserverMethodRegistry observerMethodRegistry;
+    private final int bufferSize;
+    private final Overflow overflow;
+
+    @Inject
+    EventPublishers(OdiObserverMethodRegistry observerMethodRegistry,
+                    @Value("${odi.events.publisher.buffer-size:256}") int bufferSize,
+                    @Value("${odi.events.publisher.overflow:drop-oldest}") String overflow) {
+        this.observerMethodRegistry = observerMethodRegistry;
+        this.bufferSize = bufferSize;
+        this.overflow = Overflow.parse(overflow);
+    }
+
+    /**
+     * Creates the publisher of the events fired synchronously.
+     *
+     * @param eventType  The event type
+     * @param qualifiers The qualifiers
+     * @param <T>        The event type
+     * @return The publisher
+     */
+    @NonNull
+    public <T> Flow.Publisher<T> publisher(@NonNull Class<T> eventType, Annotation... qualifiers) {
+        return publisher(Argument.of(eventType), false, bufferSize, overflow, qualifiers);
+    }
+
+    /**
+     * Creates the publisher of the events.
+     *
+     * @param eventType  The event type
+     * @param async      Whether to publish the events fired asynchronously instead of the synchronous ones
+     * @param bufferSize The size of the buffer of a subscription
+     * @param overflow   The strategy applied when the buffer of a subscription is full
+     * @param qualifiers The qualifiers
+     * @param <T>        The event type
+     * @return The publisher
+     */
+    @NonNull
+    public <T> Flow.Publisher<T> publisher(@NonNull Argument<T> eventType,
+                                           boolean async,
+                                           int bufferSize,
+                                           @NonNull Overflow overflow,
+                                           Annotation... qualifiers) {
+        return create(eventType, async, EventContext::getEvent, bufferSize, overflow, qualifiers);
+    }
+
+    /**
+     * Creates the publisher of the events fired synchronously together with their metadata.
+     *
+     * @param eventType  The event type
+     * @param qualifiers The qualifiers
+     * @param <T>        The event type
+     * @return The publisher
+     */
+    @NonNull
+    public <T> Flow.Publisher<EventContext<T>> contextPublisher(@NonNull Class<T> eventType, Annotation... qualifiers) {
+        return contextPublisher(Argument.of(eventType), false, bufferSize, overflow, qualifiers);
+    }
+
+    /**
+     * Creates the publisher of the events together with their metadata.
+     *
+     * @param eventType  The event type
+     * @param async      Whether to publish the events fired asynchronously instead of the synchronous ones
+     * @param bufferSize The size of the buffer of a subscription
+     * @param overflow   The strategy applied when the buffer of a subscription is full
+     * @param qualifiers The qualifiers
+     * @param <T>        The event type
+     * @return The publisher
+     */
+    @NonNull
+    public <T> Flow.Publisher<EventContext<T>> contextPublisher(@NonNull Argument<T> eventType,
+                                                                boolean async,
+                                                                int bufferSize,
+                                                                @NonNull Overflow overflow,
+                                                                Annotation... qualifiers) {
+        return create(eventType, async, Function.identity(), bufferSize, overflow, qualifiers);
+    }
+
+    private <T, E> EventPublisher<T, E> create(Argument<T> eventType,
+                                               boolean async,
+                                               Function<EventContext<T>, E> mapper,
+                                               int bufferSize,
+                                               Overflow overflow,
+                                               Annotation[] qualifiers) {
+        Qualifier<T> qualifier = AnnotationUtils.qualifierFromQualifierAnnotations(
+                AnnotationUtils.annotationMetadataFromQualifierAnnotations(qualifiers),
+                qualifiers
+        );
+        return new EventPublisher<>(
+                observerMethodRegistry,
+                eventType,
+                qualifier,
+                Set.of(qualifiers),
+                async,
+                mapper,
+                bufferSize,
+                overflow
+        );
+    }
+
+    /**
+     * The strategy applied when the buffer of a subscription is full.
+     */
+    public enum Overflow {
+        /**
+         * The oldest buffered event is dropped.
+         */
+        DROP_OLDEST,
+        /**
+         * The new event is dropped.
+         */
+        DROP_LATEST,
+        /**
+         * The subscription is cancelled and the subscriber receives an error.
+         */
+        ERROR;
+
+        /**
+         * Parses the strategy name, for example {@code drop-oldest}.
+         *
+         * @param name The name
+         * @return The strategy
+         */
+        static Overflow parse(String name) {
+            try {
+                return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown event publisher overflow: " + name
+                        + ", expected drop-oldest, drop-latest or error", e);
+            }
+        }
+    }
+}
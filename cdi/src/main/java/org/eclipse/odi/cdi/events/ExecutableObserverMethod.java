@@ -16,27 +16,36 @@
 package org.eclipse.odi.cdi.events;
 
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.type.Argument;
+import io.micronaut.core.util.SupplierUtil;
 import io.micronaut.inject.BeanDefinition;
 import io.micronaut.inject.ExecutableMethod;
 import io.micronaut.inject.qualifiers.Qualifiers;
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.context.spi.Context;
 import jakarta.enterprise.event.ObserverException;
 import jakarta.enterprise.event.Reception;
 import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.EventContext;
 import jakarta.enterprise.inject.spi.EventMetadata;
-import jakarta.enterprise.inject.spi.InjectionPoint;
 import jakarta.inject.Qualifier;
+import org.eclipse.odi.cdi.MethodExecutionPlan;
+import org.eclipse.odi.cdi.MethodInvoker;
+import org.eclipse.odi.cdi.OdiBean;
 import org.eclipse.odi.cdi.OdiBeanContainer;
 import org.eclipse.odi.cdi.annotation.ObservesMethod;
+import org.eclipse.odi.cdi.context.AbstractContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Type;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Implementation of {@link OdiObserverMethod} that is using {@link ExecutableMethod} to trigger the method.
@@ -47,12 +56,29 @@ import java.util.stream.Collectors;
 @Internal
 final class ExecutableObserverMethod<B, E> extends AbstractOdiObserverMethod<E> {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ExecutableObserverMethod.class);
+
     private final OdiBeanContainer beanContainer;
     private final BeanDefinition<B> originalBeanDefinition;
     private final BeanDefinition<B> beanDefinition;
     private final ExecutableMethod<B, Object> executableMethod;
+    private final int eventArgumentIndex;
+    private final int[] eventMetadataIndexes;
     private final Argument<E> eventArgument;
     private final io.micronaut.context.Qualifier<E> eventQualifier;
+    private final Supplier<MethodExecutionPlan<B, Object>> executionPlanSupplier;
+    private final EventMetadata emptyMetadata;
+    private final boolean ifExists;
+    // The arguments array of the notification in progress in the thread is taken, a nested notification creates its own
+    private final ThreadLocal<Object[]> argumentValues = new ThreadLocal<>();
+    @Nullable
+    private final String dispatcherClassName;
+    @Nullable
+    private volatile MethodInvoker<B, Object> dispatcher;
+    @Nullable
+    private volatile OdiBean<B> instanceBean;
+    @Nullable
+    private volatile AbstractContext instanceContext;
     private Set<Annotation> observedQualifiers;
 
     ExecutableObserverMethod(OdiBeanContainer beanContainer,
@@ -64,9 +90,32 @@ final class ExecutableObserverMethod<B, E> extends AbstractOdiObserverMethod<E>
         this.originalBeanDefinition = originalBeanDefinition;
         this.beanDefinition = beanDefinition;
         this.executableMethod = executableMethod;
-        int eventArgumentsIndex = observesMethodAnnotationValue.intValue("eventArgumentIndex").getAsInt();
-        this.eventArgument = Objects.requireNonNull((Argument<E>) executableMethod.getArguments()[eventArgumentsIndex]);
+        int eventArgumentIndex = observesMethodAnnotationValue.intValue("eventArgumentIndex").getAsInt();
+        Argument<?>[] arguments = executableMethod.getArguments();
+        this.eventArgumentIndex = eventArgumentIndex;
+        this.eventMetadataIndexes = IntStream.range(0, arguments.length)
+                .filter(i -> i != eventArgumentIndex && arguments[i].getType() == EventMetadata.class)
+                .toArray();
+        this.eventArgument = Objects.requireNonNull((Argument<E>) arguments[eventArgumentIndex]);
         this.eventQualifier = Qualifiers.forArgument(eventArgument);
+        this.emptyMetadata = OdiEventContext.emptyMetadata(eventArgument.asType());
+        this.ifExists = getReception() == Reception.IF_EXISTS;
+        this.dispatcherClassName = observesMethodAnnotationValue.stringValue("dispatcher")
+                .filter(name -> !name.isEmpty())
+                .orElse(null);
+        this.executionPlanSupplier = SupplierUtil.memoized(() -> beanContainer.createExecutionPlan(
+                beanDefinition,
+                executableMethod,
+                i -> i == eventArgumentIndex || arguments[i].getType() == EventMetadata.class,
+                loadDispatcher()
+        ));
+    }
+
+    /**
+     * @return true if the method is invoked by the dispatcher generated by the processor
+     */
+    boolean isDispatched() {
+        return dispatcher != null;
     }
 
     @Override
@@ -100,49 +149,81 @@ final class ExecutableObserverMethod<B, E> extends AbstractOdiObserverMethod<E>
 
     @Override
     public void notify(E event) {
-        notify(event, null);
+        notify(event, emptyMetadata);
     }
 
     @Override
     public void notify(EventContext<E> eventContext) {
-        notify(eventContext.getEvent(), eventContext);
+        notify(eventContext.getEvent(), eventContext.getMetadata());
     }
 
-    private void notify(E event, EventContext eventContext) {
-        if (getReception() == Reception.IF_EXISTS && !beanContainer.getBeanContext().containsBean(beanDefinition.asArgument())) {
+    @Override
+    public void notify(E event, EventMetadata metadata) {
+        if (ifExists && !instanceExists()) {
             return;
         }
+        MethodExecutionPlan<B, Object> executionPlan = executionPlanSupplier.get();
+        Object[] values = argumentValues.get();
+        if (values == null) {
+            values = new Object[executionPlan.getArgumentCount()];
+        } else {
+            argumentValues.set(null);
+        }
         try {
-            beanContainer.fulfillAndExecuteMethod(beanDefinition, executableMethod, argument -> {
-                if (Objects.equals(argument, eventArgument)) {
-                    return event;
-                } else if (argument.getType() == EventMetadata.class) {
-                    if (eventContext == null) {
-                        return new EventMetadata() {
-                            @Override
-                            public Set<Annotation> getQualifiers() {
-                                return Collections.emptySet();
-                            }
-
-                            @Override
-                            public InjectionPoint getInjectionPoint() {
-                                return null;
-                            }
-
-                            @Override
-                            public Type getType() {
-                                return getObservedType();
-                            }
-                        };
-                    }
-                    return eventContext.getMetadata();
-                }
-                return null;
-            });
+            values[eventArgumentIndex] = event;
+            for (int eventMetadataIndex : eventMetadataIndexes) {
+                values[eventMetadataIndex] = metadata;
+            }
+            executionPlan.execute(values);
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
             throw new ObserverException(e);
+        } finally {
+            // The event and the injected arguments are not retained by the reused array
+            Arrays.fill(values, null);
+            argumentValues.set(values);
+        }
+    }
+
+    private boolean instanceExists() {
+        AbstractContext context = instanceContext;
+        if (context != null) {
+            return context.contains(instanceBean);
+        }
+        OdiBean<B> bean = beanContainer.getBean(beanDefinition);
+        Context scopeContext;
+        try {
+            scopeContext = beanContainer.getContext(bean.getScope());
+        } catch (ContextNotActiveException e) {
+            return false;
+        }
+        if (scopeContext instanceof AbstractContext) {
+            // The context of the scope is a singleton, the instance is looked up in its storage afterwards
+            context = (AbstractContext) scopeContext;
+            instanceBean = bean;
+            instanceContext = context;
+            return context.contains(bean);
+        }
+        return beanContainer.getBeanContext().containsBean(beanDefinition.asArgument());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private MethodInvoker<B, Object> loadDispatcher() {
+        if (dispatcherClassName == null) {
+            return null;
+        }
+        try {
+            Class<?> dispatcherClass = Class.forName(dispatcherClassName, true, beanContainer.getBeanContext().getClassLoader());
+            dispatcher = (MethodInvoker<B, Object>) dispatcherClass.getDeclaredConstructor().newInstance();
+            return dispatcher;
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            // The dispatcher is an optimization, the executable method invokes the same method
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Failed to load the observer method dispatcher [{}], the method is invoked as executable method", dispatcherClassName, e);
+            }
+            return null;
         }
     }
 
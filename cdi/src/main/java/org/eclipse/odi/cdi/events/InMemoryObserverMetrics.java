@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import jakarta.inject.Singleton;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link ObserverMetrics} keeping the statistics of each observer method in memory, enabled by
+ * {@code odi.events.metrics.enabled}. The statistics can be exported to a metrics library by reading them
+ * periodically.
+ */
+@Singleton
+@Requires(property = "odi.events.metrics.enabled", value = "true")
+public final class InMemoryObserverMetrics implements ObserverMetrics {
+
+    /**
+     * The inclusive upper bounds of the latency histogram buckets in microseconds, the last bucket counts
+     * the slower invocations.
+     */
+    private static final long[] LATENCY_BUCKET_BOUNDS = {10, 100, 1_000, 10_000, 100_000, 1_000_000};
+
+    private final Map<ObserverMethod<?>, ObserverStatistics> statistics = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordInvocation(@NonNull ObserverMethod<?> observerMethod, long durationNanos, @Nullable Throwable failure) {
+        ObserverStatistics s = getOrCreateStatistics(observerMethod);
+        s.invocations.increment();
+        if (failure != null) {
+            s.errors.increment();
+        }
+        s.totalNanos.add(durationNanos);
+        s.maxNanos.accumulate(durationNanos);
+        long micros = TimeUnit.NANOSECONDS.toMicros(durationNanos);
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKET_BOUNDS.length && micros > LATENCY_BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        s.latencyHistogram[bucket].increment();
+    }
+
+    @Override
+    public void recordQueueWait(@NonNull ObserverMethod<?> observerMethod, long waitNanos) {
+        ObserverStatistics s = getOrCreateStatistics(observerMethod);
+        s.queueWaits.increment();
+        s.queueWaitNanos.add(waitNanos);
+        s.maxQueueWaitNanos.accumulate(waitNanos);
+    }
+
+    /**
+     * @return The statistics of the notified observer methods
+     */
+    @NonNull
+    public Map<ObserverMethod<?>, ObserverStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * @param observerMethod The observer method
+     * @return The statistics of the observer method or null if it wasn't notified
+     */
+    @Nullable
+    public ObserverStatistics getStatistics(@NonNull ObserverMethod<?> observerMethod) {
+        return statistics.get(observerMethod);
+    }
+
+    /**
+     * @return The inclusive upper bounds of the latency histogram buckets in microseconds
+     */
+    @NonNull
+    public static long[] getLatencyBucketBounds() {
+        return LATENCY_BUCKET_BOUNDS.clone();
+    }
+
+    /**
+     * Clears the statistics.
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    private ObserverStatistics getOrCreateStatistics(ObserverMethod<?> observerMethod) {
+        ObserverStatistics s = statistics.get(observerMethod);
+        if (s == null) {
+            s = statistics.computeIfAbsent(observerMethod, o -> new ObserverStatistics());
+        }
+        return s;
+    }
+
+    /**
+     * The statistics of one observer method.
+     */
+    public static final class ObserverStatistics {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] latencyHistogram = new LongAdder[LATENCY_BUCKET_BOUNDS.length + 1];
+        private final LongAdder queueWaits = new LongAdder();
+        private final LongAdder queueWaitNanos = new LongAdder();
+        private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+
+        ObserverStatistics() {
+            for (int i = 0; i < latencyHistogram.length; i++) {
+                latencyHistogram[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * @return The number of the invocations
+         */
+        public long getInvocationCount() {
+            return invocations.sum();
+        }
+
+        /**
+         * @return The number of the invocations that threw an exception
+         */
+        public long getErrorCount() {
+            return errors.sum();
+        }
+
+        /**
+         * @return The total duration of the invocations in nanoseconds
+         */
+        public long getTotalTime() {
+            return totalNanos.sum();
+        }
+
+        /**
+         * @return The longest duration of an invocation in nanoseconds
+         */
+        public long getMaxTime() {
+            return maxNanos.get();
+        }
+
+        /**
+         * @return The number of the invocations per bucket of {@link #getLatencyBucketBounds()}, the last bucket
+         * counts the slower invocations
+         */
+        public long[] getLatencyHistogram() {
+            long[] counts = new long[latencyHistogram.length];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = latencyHistogram[i].sum();
+            }
+            return counts;
+        }
+
+        /**
+         * @return The number of the recorded async waits
+         */
+        public long getQueueWaitCount() {
+            return queueWaits.sum();
+        }
+
+        /**
+         * @return The total waiting time of the async notifications in nanoseconds
+         */
+        public long getQueueWaitTime() {
+            return queueWaitNanos.sum();
+        }
+
+        /**
+         * @return The longest waiting time of an async notification in nanoseconds
+         */
+        public long getMaxQueueWaitTime() {
+            return maxQueueWaitNanos.get();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The in-memory {@link TransactionSynchronizer} of local transactions bound to the current thread, enabled by
+ * {@code odi.events.transactions=local}. It's a stand-in for a transaction manager in tests and in applications
+ * demarcating their units of work programmatically.
+ *
+ * <pre>{@code
+ * transactions.begin();
+ * try {
+ *     event.fire(new OrderPlaced(order));
+ *     transactions.commit();
+ * } catch (RuntimeException e) {
+ *     transactions.rollback();
+ *     throw e;
+ * }
+ * }</pre>
+ */
+@Singleton
+@Requires(property = "odi.events.transactions", value = "local")
+public final class LocalTransactionSynchronizer implements TransactionSynchronizer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalTransactionSynchronizer.class);
+
+    private final ThreadLocal<LocalTransaction> current = new ThreadLocal<>();
+
+    /**
+     * Begins the transaction of the current thread.
+     *
+     * @throws IllegalStateException if a transaction is already active
+     */
+    public void begin() {
+        if (current.get() != null) {
+            throw new IllegalStateException("A transaction is already active on the current thread");
+        }
+        current.set(new LocalTransaction());
+    }
+
+    /**
+     * Commits the transaction of the current thread. The transaction is rolled back and the exception rethrown
+     * if a synchronization fails before the completion.
+     *
+     * @throws IllegalStateException if there is no active transaction
+     */
+    public void commit() {
+        LocalTransaction transaction = getActiveTransaction();
+        try {
+            // The synchronizations registered by the others are called as well
+            for (int i = 0; i < transaction.synchronizations.size(); i++) {
+                transaction.synchronizations.get(i).beforeCompletion();
+            }
+        } catch (RuntimeException e) {
+            complete(transaction, false);
+            throw e;
+        }
+        complete(transaction, true);
+    }
+
+    /**
+     * Rolls the transaction of the current thread back.
+     *
+     * @throws IllegalStateException if there is no active transaction
+     */
+    public void rollback() {
+        complete(getActiveTransaction(), false);
+    }
+
+    /**
+     * @return true if a transaction is active on the current thread
+     */
+    public boolean isActive() {
+        return current.get() != null;
+    }
+
+    @Override
+    @Nullable
+    public Object getTransactionKey() {
+        return current.get();
+    }
+
+    @Override
+    public void registerSynchronization(@NonNull Synchronization synchronization) {
+        Objects.requireNonNull(synchronization, "Synchronization cannot be null");
+        getActiveTransaction().synchronizations.add(synchronization);
+    }
+
+    private LocalTransaction getActiveTransaction() {
+        LocalTransaction transaction = current.get();
+        if (transaction == null) {
+            throw new IllegalStateException("No transaction is active on the current thread");
+        }
+        return transaction;
+    }
+
+    private void complete(LocalTransaction transaction, boolean committed) {
+        current.remove();
+        for (Synchronization synchronization : transaction.synchronizations) {
+            try {
+                synchronization.afterCompletion(committed);
+            } catch (RuntimeException e) {
+                LOG.error("Failed to complete the synchronization [{}] of the transaction", synchronization, e);
+            }
+        }
+    }
+
+    /**
+     * The local transaction, its identity is the transaction key.
+     */
+    private static final class LocalTransaction {
+        private final List<Synchronization> synchronizations = new ArrayList<>();
+    }
+}
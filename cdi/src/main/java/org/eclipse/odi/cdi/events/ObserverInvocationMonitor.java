@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the invocations of the observer methods for the {@link ObserverMetrics} beans and logs the observers
+ * slower than {@code odi.events.slow-observer-threshold} milliseconds.
+ * The events skip the timing when the monitor is disabled, there is no metrics bean and no threshold.
+ */
+@Internal
+@Singleton
+public final class ObserverInvocationMonitor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ObserverInvocationMonitor.class);
+
+    private final ObserverMetrics[] metrics;
+    private final long slowThresholdNanos;
+    private final boolean enabled;
+
+    @Inject
+    ObserverInvocationMonitor(List<ObserverMetrics> metrics,
+                              @Value("${odi.events.slow-observer-threshold:0}") long slowThresholdMillis) {
+        if (slowThresholdMillis < 0) {
+            throw new IllegalArgumentException("The slow observer threshold cannot be negative: " + slowThresholdMillis);
+        }
+        this.metrics = metrics.toArray(new ObserverMetrics[0]);
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.enabled = this.metrics.length > 0 || slowThresholdNanos > 0;
+    }
+
+    /**
+     * @return true if the invocations need to be timed
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return The slow observer threshold in milliseconds, 0 if the slow observers are not logged
+     */
+    public long getSlowThreshold() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    /**
+     * Records the invocation of the observer method.
+     *
+     * @param observerMethod The observer method
+     * @param event          The event
+     * @param startNanos     The {@link System#nanoTime()} before the invocation
+     * @param failure        The exception thrown by the observer method or null
+     */
+    void invoked(ObserverMethod<?> observerMethod, Object event, long startNanos, @Nullable Throwable failure) {
+        long duration = System.nanoTime() - startNanos;
+        for (ObserverMetrics m : metrics) {
+            try {
+                m.recordInvocation(observerMethod, duration, failure);
+            } catch (RuntimeException e) {
+                LOG.error("Failed to record the invocation of the observer method [{}]", observerMethod, e);
+            }
+        }
+        if (slowThresholdNanos > 0 && duration >= slowThresholdNanos && LOG.isWarnEnabled()) {
+            LOG.warn("Slow observer method [{}] took {} ms to handle the event: {}",
+                    observerMethod, TimeUnit.NANOSECONDS.toMillis(duration), event);
+        }
+    }
+
+    /**
+     * Records the waiting time of the async notification.
+     *
+     * @param observerMethod The observer method
+     * @param firedNanos     The {@link System#nanoTime()} when the event was fired
+     */
+    void dequeued(ObserverMethod<?> observerMethod, long firedNanos) {
+        long wait = System.nanoTime() - firedNanos;
+        for (ObserverMetrics m : metrics) {
+            try {
+                m.recordQueueWait(observerMethod, wait);
+            } catch (RuntimeException e) {
+                LOG.error("Failed to record the waiting time of the observer method [{}]", observerMethod, e);
+            }
+        }
+    }
+}
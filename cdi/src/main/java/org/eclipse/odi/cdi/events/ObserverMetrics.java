@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+
+/**
+ * The SPI recording the notifications of the observer methods, the beans implementing it are notified
+ * of every invocation of an observer method by the events.
+ * The recording happens in the thread of the observer and needs to be cheap and thread-safe.
+ * When there is no bean and no slow observer threshold, the observers are not timed at all.
+ *
+ * @see InMemoryObserverMetrics
+ */
+public interface ObserverMetrics {
+
+    /**
+     * Records the invocation of the observer method.
+     *
+     * @param observerMethod The observer method
+     * @param durationNanos  The duration of the invocation in nanoseconds
+     * @param failure        The exception thrown by the observer method or null
+     */
+    void recordInvocation(@NonNull ObserverMethod<?> observerMethod, long durationNanos, @Nullable Throwable failure);
+
+    /**
+     * Records the time the async notification waited for the observer method, from firing the event
+     * until the invocation.
+     *
+     * @param observerMethod The observer method
+     * @param waitNanos      The waiting time in nanoseconds
+     */
+    default void recordQueueWait(@NonNull ObserverMethod<?> observerMethod, long waitNanos) {
+    }
+}
@@ -17,6 +17,8 @@ package org.eclipse.odi.cdi.events;
 
 import org.eclipse.odi.cdi.OdiBeanContainer;
 import org.eclipse.odi.cdi.annotation.ObservesMethod;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
 import io.micronaut.context.processor.ExecutableMethodProcessor;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.type.Argument;
@@ -27,17 +29,22 @@ import jakarta.enterprise.inject.build.compatible.spi.SyntheticObserver;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Implementation of {@link ExecutableMethodProcessor} that collects {@link ObservesMethod} and register them.
+ * The observers processed on the startup are registered together once the context is started.
  */
 @Singleton
 @Internal
-final class ObservesMethodProcessor implements ExecutableMethodProcessor<ObservesMethod> {
+final class ObservesMethodProcessor implements ExecutableMethodProcessor<ObservesMethod>, ApplicationEventListener<StartupEvent> {
 
     private final OdiBeanContainer beanContainer;
     private final OdiObserverMethodRegistry observerMethodRegistry;
+    private final List<OdiObserverMethod<?>> pending = new ArrayList<>();
+    private boolean started;
 
     /**
      * Default constructor.
@@ -57,11 +64,30 @@ final class ObservesMethodProcessor implements ExecutableMethodProcessor<Observe
         if (targetBeanDefinition == null) {
             return;
         }
+        OdiObserverMethod<?> observerMethod;
         if (SyntheticObserver.class.isAssignableFrom(targetBeanDefinition.getBeanType())) {
-            observerMethodRegistry.register(new SyntheticObserverMethod(beanContainer, targetBeanDefinition, method));
+            observerMethod = new SyntheticObserverMethod(beanContainer, targetBeanDefinition, method);
         } else {
-            observerMethodRegistry.register(new ExecutableObserverMethod(beanContainer, beanDefinition, targetBeanDefinition, method));
+            observerMethod = new ExecutableObserverMethod(beanContainer, beanDefinition, targetBeanDefinition, method);
         }
+        synchronized (pending) {
+            if (!started) {
+                pending.add(observerMethod);
+                return;
+            }
+        }
+        observerMethodRegistry.register(observerMethod);
+    }
+
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        List<OdiObserverMethod<?>> observerMethods;
+        synchronized (pending) {
+            started = true;
+            observerMethods = new ArrayList<>(pending);
+            pending.clear();
+        }
+        observerMethodRegistry.registerAll(observerMethods);
     }
 
     public BeanDefinition<?> findTargetBeanDefinitions(BeanDefinition<?> originalBeanDefinition) {
@@ -22,36 +22,37 @@ import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.type.Argument;
-import io.micronaut.core.util.SupplierUtil;
 import io.micronaut.inject.InjectionPoint;
 import io.micronaut.inject.annotation.AnnotationMetadataHierarchy;
 import io.micronaut.inject.qualifiers.AnyQualifier;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import jakarta.enterprise.event.Event;
 import jakarta.enterprise.event.NotificationOptions;
+import jakarta.enterprise.event.TransactionPhase;
 import jakarta.enterprise.inject.Any;
-import jakarta.enterprise.inject.spi.EventContext;
-import jakarta.enterprise.inject.spi.EventMetadata;
 import jakarta.enterprise.inject.spi.ObserverMethod;
 import jakarta.enterprise.util.TypeLiteral;
 import org.eclipse.odi.cdi.AnnotationUtils;
 import org.eclipse.odi.cdi.OdiBeanContainer;
 import org.eclipse.odi.cdi.OdiUtils;
+import org.eclipse.odi.cdi.context.ContextPropagation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
-import java.util.function.Supplier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -60,7 +61,7 @@ import java.util.stream.Collectors;
  * @param <T> The event type
  */
 @Internal
-final class OdiEvent<T> implements Event<T>, OdiEventMetadata {
+final class OdiEvent<T> implements BatchEvent<T>, OdiEventMetadata {
 
     private static final Logger EVENT_LOGGER = LoggerFactory.getLogger(ApplicationEventPublisher.class);
 
@@ -71,11 +72,16 @@ final class OdiEvent<T> implements Event<T>, OdiEventMetadata {
     private final Qualifier<T> qualifier;
     @Nullable
     private final InjectionPoint<?> injectionPoint;
-    private final Supplier<Collection<ObserverMethod<T>>> observerMethodsSyncSupplier;
-    private final Supplier<Collection<ObserverMethod<T>>> observerMethodsAsyncSupplier;
     private final OdiObserverMethodRegistry observerMethodRegistry;
-    private final Supplier<Executor> executorSupplier;
+    private final ContextPropagation contextPropagation;
+    private final AsyncEventExecutor asyncEventExecutor;
+    private final ObserverInvocationMonitor invocationMonitor;
+    private final TransactionalEventDispatcher transactionalEventDispatcher;
 
+    @Nullable
+    private volatile ResolvedObserverMethods<T> syncObserverMethods;
+    @Nullable
+    private volatile ResolvedObserverMethods<T> asyncObserverMethods;
     @Nullable
     private jakarta.enterprise.inject.spi.InjectionPoint cdiInjectionPoint;
     @Nullable
@@ -87,18 +93,20 @@ final class OdiEvent<T> implements Event<T>, OdiEventMetadata {
              @Nullable Qualifier<T> qualifier,
              @Nullable InjectionPoint<?> injectionPoint,
              OdiObserverMethodRegistry observerMethodRegistry,
-             Supplier<Executor> executorSupplier) {
+             ContextPropagation contextPropagation,
+             AsyncEventExecutor asyncEventExecutor,
+             ObserverInvocationMonitor invocationMonitor,
+             TransactionalEventDispatcher transactionalEventDispatcher) {
         this.beanContainer = beanContainer;
         this.annotationMetadata = annotationMetadata;
         this.eventType = eventType;
         this.qualifier = qualifier;
         this.injectionPoint = injectionPoint;
-        this.observerMethodsSyncSupplier = SupplierUtil.memoizedNonEmpty(() ->
-                observerMethodRegistry.findListOfObserverMethods(eventType, qualifier).stream().filter(m -> !m.isAsync()).collect(Collectors.toList()));
-        this.observerMethodsAsyncSupplier = SupplierUtil.memoizedNonEmpty(() ->
-                observerMethodRegistry.findListOfObserverMethods(eventType, qualifier).stream().filter(ObserverMethod::isAsync).collect(Collectors.toList()));
-        this.executorSupplier = executorSupplier;
+        this.asyncEventExecutor = asyncEventExecutor;
         this.observerMethodRegistry = observerMethodRegistry;
+        this.contextPropagation = contextPropagation;
+        this.invocationMonitor = invocationMonitor;
+        this.transactionalEventDispatcher = transactionalEventDispatcher;
     }
 
     @Override
@@ -107,17 +115,65 @@ final class OdiEvent<T> implements Event<T>, OdiEventMetadata {
             if (EVENT_LOGGER.isDebugEnabled()) {
                 EVENT_LOGGER.debug("Firing event: {}", event);
             }
-            notifyObserverMethods(event, observerMethodsSyncSupplier.get());
+            notifyObserverMethods(event, getSyncObserverMethods());
         }
     }
 
     public <U extends T> CompletionStage<U> fireAsync(U event) {
-        return fireAsync(event, executorSupplier.get());
+        return fireAsync(event, asyncEventExecutor.getExecutor());
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public <U extends T> CompletionStage<U> fireAsync(U event, NotificationOptions options) {
-        return fireAsync(event, options.getExecutor());
+        Object partitionKeyExtractor = options.get(AsyncEventExecutor.PARTITION_KEY_OPTION);
+        if (partitionKeyExtractor != null) {
+            // The events of the same key are delivered in order by one lane
+            Object key = ((Function<? super U, ?>) partitionKeyExtractor).apply(event);
+            return fireAsync(event, asyncEventExecutor.getPartitionExecutor(key));
+        }
+        Executor executor = options.getExecutor();
+        return fireAsync(event, executor == null ? asyncEventExecutor.getExecutor() : contextPropagation.wrap(executor));
+    }
+
+    @Override
+    public void fireAll(Collection<? extends T> events) {
+        Objects.requireNonNull(events, "Events cannot be null");
+        if (events.isEmpty()) {
+            return;
+        }
+        if (EVENT_LOGGER.isDebugEnabled()) {
+            EVENT_LOGGER.debug("Firing {} events", events.size());
+        }
+        ResolvedObserverMethods<T> observerMethods = getSyncObserverMethods();
+        for (int i = 0; i < observerMethods.size(); i++) {
+            ObserverMethod<T> observerMethod = observerMethods.get(i);
+            for (T event : events) {
+                if (event != null && observerMethods.accepts(i, event)) {
+                    notifyObserverMethod(event, observerMethod);
+                }
+            }
+        }
+    }
+
+    @Override
+    public <U extends T> CompletionStage<List<U>> fireAllAsync(Collection<U> events) {
+        return fireAllAsync(nonNullEvents(events), asyncEventExecutor.getExecutor());
+    }
+
+    @Override
+    public <U extends T> CompletionStage<List<U>> fireAllAsync(Collection<U> events, NotificationOptions options) {
+        List<U> batch = nonNullEvents(events);
+        if (options.get(AsyncEventExecutor.PARTITION_KEY_OPTION) != null) {
+            // The events of the batch can belong to different lanes
+            CompletableFuture<?>[] futures = new CompletableFuture[batch.size()];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = fireAsync(batch.get(i), options).toCompletableFuture();
+            }
+            return CompletableFuture.allOf(futures).thenApply(ignore -> batch);
+        }
+        Executor executor = options.getExecutor();
+        return fireAllAsync(batch, executor == null ? asyncEventExecutor.getExecutor() : contextPropagation.wrap(executor));
     }
 
     @Override
@@ -158,85 +214,138 @@ final class OdiEvent<T> implements Event<T>, OdiEventMetadata {
                 qualifier,
                 injectionPoint,
                 observerMethodRegistry,
-                executorSupplier
+                contextPropagation,
+                asyncEventExecutor,
+                invocationMonitor,
+                transactionalEventDispatcher
         );
     }
 
     private <U extends T> CompletableFuture<U> fireAsync(U event, Executor executor) {
         Objects.requireNonNull(event, "Event cannot be null");
-        return notifyObserverMethodsAsync(event, observerMethodsAsyncSupplier.get(), executor);
+        // The observers are notified with the request context of the caller, propagated by the executor
+        return AsyncEventDispatcher.dispatch(
+                event,
+                getAsyncObserverMethods(),
+                executor,
+                asyncEventExecutor.isTaskPerObserver(),
+                asyncNotifier()
+        );
+    }
+
+    private <U extends T> CompletableFuture<List<U>> fireAllAsync(List<U> events, Executor executor) {
+        return AsyncEventDispatcher.dispatchAll(
+                events,
+                getAsyncObserverMethods(),
+                executor,
+                asyncEventExecutor.isTaskPerObserver(),
+                asyncEventExecutor.getBatchChunkSize(),
+                asyncNotifier()
+        );
+    }
+
+    private ResolvedObserverMethods<T> getSyncObserverMethods() {
+        ResolvedObserverMethods<T> observerMethods = syncObserverMethods;
+        if (observerMethods == null || observerMethods.getVersion() != observerMethodRegistry.getVersion()) {
+            observerMethods = resolveObserverMethods(false);
+            syncObserverMethods = observerMethods;
+        }
+        return observerMethods;
+    }
+
+    private ResolvedObserverMethods<T> getAsyncObserverMethods() {
+        ResolvedObserverMethods<T> observerMethods = asyncObserverMethods;
+        if (observerMethods == null || observerMethods.getVersion() != observerMethodRegistry.getVersion()) {
+            observerMethods = resolveObserverMethods(true);
+            asyncObserverMethods = observerMethods;
+        }
+        return observerMethods;
     }
 
-    private void notifyObserverMethods(@NonNull T event, Collection<ObserverMethod<T>> observerMethods) {
-        if (!observerMethods.isEmpty()) {
-            for (ObserverMethod<T> observerMethod : observerMethods) {
-                notifyObserverMethod(event, observerMethod);
+    private ResolvedObserverMethods<T> resolveObserverMethods(boolean async) {
+        // The version is read first, a concurrent registration makes the resolution stale
+        long version = observerMethodRegistry.getVersion();
+        List<ObserverMethod<T>> observerMethods = observerMethodRegistry.findListOfGuardedObserverMethods(eventType, qualifier)
+                .stream()
+                .filter(observerMethod -> observerMethod.isAsync() == async)
+                .collect(Collectors.toList());
+        return ResolvedObserverMethods.of(version, eventType, observerMethods);
+    }
+
+    private static <U> List<U> nonNullEvents(Collection<U> events) {
+        Objects.requireNonNull(events, "Events cannot be null");
+        List<U> list = new ArrayList<>(events.size());
+        for (U event : events) {
+            if (event != null) {
+                list.add(event);
             }
         }
+        return list;
     }
 
-    private <U extends T> CompletableFuture<U> notifyObserverMethodsAsync(@NonNull U event, Collection<ObserverMethod<T>> observerMethods, Executor executor) {
-        if (!observerMethods.isEmpty()) {
-            CompletableFuture<Throwable> cf = CompletableFuture.completedFuture(null);
-            for (ObserverMethod<T> observerMethod : observerMethods) {
-                CompletableFuture<Throwable> nextNotify = CompletableFuture.supplyAsync(() -> {
-                    try {
-                        notifyObserverMethod(event, observerMethod);
-                    } catch (Throwable e) {
-                        return e;
-                    }
-                    return null;
-                }, executor);
-                cf = cf.thenCombine(nextNotify, (t1, t2) -> {
-                    if (t2 != null) {
-                        if (t1 == null) {
-                            t1 = new CompletionException(new IllegalStateException("Failed to invoke async event handler"));
-                        }
-                        t1.addSuppressed(t2);
-                    }
-                    return t1;
-                });
+    private void notifyObserverMethods(@NonNull T event, ResolvedObserverMethods<T> observerMethods) {
+        for (int i = 0; i < observerMethods.size(); i++) {
+            if (observerMethods.accepts(i, event)) {
+                notifyObserverMethod(event, observerMethods.get(i));
             }
-            return cf.thenApply(throwable -> {
-                if (throwable != null) {
-                    throw (CompletionException) throwable;
-                }
-                return event;
-            });
         }
-        return CompletableFuture.completedFuture(null);
+    }
+
+    private <U extends T> BiConsumer<U, ObserverMethod<T>> asyncNotifier() {
+        if (!invocationMonitor.isEnabled()) {
+            return this::notifyObserverMethodAsync;
+        }
+        long firedNanos = System.nanoTime();
+        return (event, observerMethod) -> asyncEventExecutor.notify(event, observerMethod, (e, o) -> {
+            invocationMonitor.dequeued(o, firedNanos);
+            notifyObserverMethod(e, o);
+        });
+    }
+
+    private <U extends T> void notifyObserverMethodAsync(U event, ObserverMethod<T> observerMethod) {
+        asyncEventExecutor.notify(event, observerMethod, this::notifyObserverMethod);
     }
 
     private <U extends T> void notifyObserverMethod(U event, ObserverMethod<T> observerMethod) {
-        try {
+        if (transactionalEventDispatcher.isEnabled()
+                && observerMethod.getTransactionPhase() != TransactionPhase.IN_PROGRESS
+                && transactionalEventDispatcher.defer(observerMethod.getTransactionPhase(), () -> deliverObserverMethod(event, observerMethod))) {
             if (EVENT_LOGGER.isTraceEnabled()) {
-                EVENT_LOGGER.trace("Invoking observer method [{}] for event: {}", observerMethod, event);
-            }
-            observerMethod.notify(createContext(event));
-        } catch (ClassCastException ex) {
-            String msg = ex.getMessage();
-            if (msg == null || msg.startsWith(event.getClass().getName())) {
-                if (EVENT_LOGGER.isDebugEnabled()) {
-                    EVENT_LOGGER.debug("Incompatible observerMethod for event: " + observerMethod, ex);
-                }
-            } else {
-                throw ex;
+                EVENT_LOGGER.trace("Deferred observer method [{}] to the transaction for event: {}", observerMethod, event);
             }
+            return;
         }
+        deliverObserverMethod(event, observerMethod);
     }
 
-    private <K> EventContext<K> createContext(K event) {
-        return new EventContext<K>() {
-            @Override
-            public K getEvent() {
-                return event;
-            }
+    private <U extends T> void deliverObserverMethod(U event, ObserverMethod<T> observerMethod) {
+        if (EVENT_LOGGER.isTraceEnabled()) {
+            EVENT_LOGGER.trace("Invoking observer method [{}] for event: {}", observerMethod, event);
+        }
+        if (!invocationMonitor.isEnabled()) {
+            invokeObserverMethod(event, observerMethod);
+            return;
+        }
+        long startNanos = System.nanoTime();
+        Throwable failure = null;
+        try {
+            invokeObserverMethod(event, observerMethod);
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            invocationMonitor.invoked(observerMethod, event, startNanos, failure);
+        }
+    }
 
-            @Override
-            public EventMetadata getMetadata() {
-                return OdiEvent.this;
-            }
-        };
+    @SuppressWarnings("unchecked")
+    private <U extends T> void invokeObserverMethod(U event, ObserverMethod<T> observerMethod) {
+        if (observerMethod instanceof OdiObserverMethod) {
+            // This event is the metadata, no context needs to be allocated
+            ((OdiObserverMethod<T>) observerMethod).notify(event, this);
+        } else {
+            OdiEventContext.notify(observerMethod, event, this);
+        }
     }
 
     @Override
@@ -249,11 +358,15 @@ final class OdiEvent<T> implements Event<T>, OdiEventMetadata {
         if (qualifier == null) {
             return Collections.emptySet();
         }
+        Set<Annotation> qualifierAnnotations = this.qualifierAnnotations;
         if (qualifierAnnotations == null) {
-            qualifierAnnotations = AnnotationUtils.synthesizeQualifierAnnotations(annotationMetadata, beanContainer.getBeanContext().getClassLoader());
+            Set<Annotation> annotations = new HashSet<>(
+                    AnnotationUtils.synthesizeQualifierAnnotations(annotationMetadata, beanContainer.getBeanContext().getClassLoader())
+            );
+            annotations.add(Any.Literal.INSTANCE);
+            qualifierAnnotations = Collections.unmodifiableSet(annotations);
+            this.qualifierAnnotations = qualifierAnnotations;
         }
-        qualifierAnnotations = new HashSet<>(qualifierAnnotations);
-        qualifierAnnotations.add(Any.Literal.INSTANCE);
         return qualifierAnnotations;
     }
 
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.core.annotation.Internal;
+import jakarta.enterprise.inject.spi.EventContext;
+import jakarta.enterprise.inject.spi.EventMetadata;
+import jakarta.enterprise.inject.spi.InjectionPoint;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Immutable implementation of {@link EventContext}, the notifications of the observer methods not implemented
+ * by ODI reuse a context per thread.
+ *
+ * @param <T> The event type
+ */
+@Internal
+final class OdiEventContext<T> implements EventContext<T> {
+
+    // The context of the notification in progress in the thread is taken, a nested notification creates its own
+    private static final ThreadLocal<NotificationContext> NOTIFICATION_CONTEXT = new ThreadLocal<>();
+
+    private final T event;
+    private final EventMetadata metadata;
+
+    OdiEventContext(T event, EventMetadata metadata) {
+        this.event = event;
+        this.metadata = metadata;
+    }
+
+    /**
+     * Creates the metadata of the events fired without an {@link jakarta.enterprise.event.Event}.
+     *
+     * @param type The event type
+     * @return The metadata without qualifiers and the injection point
+     */
+    static EventMetadata emptyMetadata(Type type) {
+        return new EventMetadata() {
+            @Override
+            public Set<Annotation> getQualifiers() {
+                return Collections.emptySet();
+            }
+
+            @Override
+            public InjectionPoint getInjectionPoint() {
+                return null;
+            }
+
+            @Override
+            public Type getType() {
+                return type;
+            }
+        };
+    }
+
+    /**
+     * Notifies the observer method with a context reused by the notifications of the thread.
+     * The context is only valid during the notification.
+     *
+     * @param observerMethod The observer method
+     * @param event          The event
+     * @param metadata       The event metadata
+     * @param <T>            The event type
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void notify(ObserverMethod<T> observerMethod, T event, EventMetadata metadata) {
+        NotificationContext context = NOTIFICATION_CONTEXT.get();
+        if (context == null) {
+            context = new NotificationContext();
+        } else {
+            NOTIFICATION_CONTEXT.set(null);
+        }
+        context.event = event;
+        context.metadata = metadata;
+        try {
+            observerMethod.notify((EventContext<T>) context);
+        } finally {
+            context.event = null;
+            context.metadata = null;
+            NOTIFICATION_CONTEXT.set(context);
+        }
+    }
+
+    @Override
+    public T getEvent() {
+        return event;
+    }
+
+    @Override
+    public EventMetadata getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * The mutable context of one notification at a time.
+     */
+    private static final class NotificationContext implements EventContext<Object> {
+        private Object event;
+        private EventMetadata metadata;
+
+        @Override
+        public Object getEvent() {
+            return event;
+        }
+
+        @Override
+        public EventMetadata getMetadata() {
+            return metadata;
+        }
+    }
+}
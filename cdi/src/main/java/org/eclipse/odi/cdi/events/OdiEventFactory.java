@@ -19,6 +19,8 @@ import io.micronaut.inject.qualifiers.AnyQualifier;
 import org.eclipse.odi.cdi.AnnotationUtils;
 import org.eclipse.odi.cdi.DefaultQualifier;
 import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.eclipse.odi.cdi.context.ContextPropagation;
+import io.micronaut.context.AbstractBeanResolutionContext;
 import io.micronaut.context.Qualifier;
 import io.micronaut.context.annotation.Any;
 import io.micronaut.context.annotation.Factory;
@@ -26,20 +28,30 @@ import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.type.Argument;
-import io.micronaut.core.util.SupplierUtil;
+import io.micronaut.core.type.TypeInformation;
 import io.micronaut.inject.ArgumentInjectionPoint;
+import io.micronaut.inject.ConstructorInjectionPoint;
+import io.micronaut.inject.FieldInjectionPoint;
 import io.micronaut.inject.InjectionPoint;
 import io.micronaut.inject.qualifiers.Qualifiers;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.event.Event;
 import jakarta.enterprise.event.NotificationOptions;
 import jakarta.enterprise.util.TypeLiteral;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.Executor;
-import java.util.concurrent.ForkJoinPool;
-import java.util.function.Supplier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 
 /**
  * The factory of {@link jakarta.enterprise.event.Event}.
@@ -49,18 +61,52 @@ import java.util.function.Supplier;
 @Factory
 final class OdiEventFactory {
 
+    /**
+     * The maximum number of the cached events of one runtime type.
+     */
+    private static final int MAX_RUNTIME_TYPED_EVENTS = 64;
+
     private final OdiBeanContainer beanContainer;
     private final OdiObserverMethodRegistry observerMethodRegistry;
-    private final Supplier<Executor> executorSupplier = SupplierUtil.memoized(new Supplier<>() {
-        @Override
-        public Executor get() {
-            return beanContainer.getBeanContext().findBean(Executor.class, Qualifiers.byName("scheduled")).orElseGet(ForkJoinPool::commonPool);
-        }
-    });
+    private final ContextPropagation contextPropagation;
+    private final AsyncEventExecutor asyncEventExecutor;
+    private final ObserverInvocationMonitor invocationMonitor;
+    private final TransactionalEventDispatcher transactionalEventDispatcher;
+    // The events by the runtime type, held by the factory and cleared with it
+    private final Map<Class<?>, Map<RuntimeEventKey, OdiEvent<?>>> runtimeTypedEvents = new ConcurrentHashMap<>();
 
-    OdiEventFactory(OdiBeanContainer beanContainer, OdiObserverMethodRegistry observerMethodRegistry) {
+    OdiEventFactory(OdiBeanContainer beanContainer,
+                    OdiObserverMethodRegistry observerMethodRegistry,
+                    ContextPropagation contextPropagation,
+                    AsyncEventExecutor asyncEventExecutor,
+                    ObserverInvocationMonitor invocationMonitor,
+                    TransactionalEventDispatcher transactionalEventDispatcher) {
         this.beanContainer = beanContainer;
         this.observerMethodRegistry = observerMethodRegistry;
+        this.contextPropagation = contextPropagation;
+        this.asyncEventExecutor = asyncEventExecutor;
+        this.invocationMonitor = invocationMonitor;
+        this.transactionalEventDispatcher = transactionalEventDispatcher;
+    }
+
+    /**
+     * Clears the cached events of the runtime types, the cache doesn't keep the event classes reachable
+     * after the container is closed.
+     */
+    @PreDestroy
+    void close() {
+        runtimeTypedEvents.clear();
+    }
+
+    /**
+     * @return The number of the cached events of the runtime types
+     */
+    int getRuntimeTypedEventCount() {
+        int count = 0;
+        for (Map<RuntimeEventKey, OdiEvent<?>> events : runtimeTypedEvents.values()) {
+            count += events.size();
+        }
+        return count;
     }
 
     @SuppressWarnings("unused")
@@ -99,65 +145,34 @@ final class OdiEventFactory {
             AnnotationMetadata annotationMetadata,
             @Nullable Qualifier qualifier,
             @Nullable InjectionPoint<?> injectionPoint) {
-        return new Event<>() {
-            @SuppressWarnings("unchecked")
-            @Override
-            public void fire(Object event) {
-                getTypedEvent(
-                        annotationMetadata,
-                        Argument.of(event.getClass()),
-                        qualifier,
-                        injectionPoint)
-                .fire(event);
-            }
-
-            @SuppressWarnings("unchecked")
-            @Override
-            public <U> CompletionStage<U> fireAsync(U event) {
-                return getTypedEvent(
-                        annotationMetadata,
-                        Argument.of(event.getClass()),
-                        qualifier,
-                        injectionPoint)
-                .fireAsync(event);
-            }
-
-            @SuppressWarnings("unchecked")
-            @Override
-            public <U> CompletionStage<U> fireAsync(U event, NotificationOptions options) {
-                return getTypedEvent(
-                        annotationMetadata,
-                        Argument.of(event.getClass()),
-                        qualifier,
-                        injectionPoint)
-                .fireAsync(event, options);
-            }
-
-            @Override
-            public Event<Object> select(Annotation... qualifiers) {
-                AnnotationMetadata annotationMetadata = AnnotationUtils.annotationMetadataFromQualifierAnnotations(qualifiers);
-                Qualifier<Object> qualifier = AnnotationUtils.qualifierFromQualifierAnnotations(annotationMetadata, qualifiers);
-                return createObjectEvent(annotationMetadata, qualifier, injectionPoint);
-            }
-
-            @Override
-            public <U> Event<U> select(Class<U> subtype, Annotation... qualifiers) {
-                return getTypedEvent(Argument.of(subtype), qualifiers, injectionPoint);
-            }
+        return new ObjectEvent(annotationMetadata, qualifier, injectionPoint);
+    }
 
-            @SuppressWarnings("unchecked")
-            @Override
-            public <U> Event<U> select(TypeLiteral<U> subtype, Annotation... qualifiers) {
-                return (Event<U>) getTypedEvent(
-                        Argument.of(subtype.getType()),
-                        qualifiers,
-                        injectionPoint
-                );
+    /**
+     * Finds the cached event of the runtime type of the fired event.
+     */
+    @SuppressWarnings("unchecked")
+    private <K> OdiEvent<K> getRuntimeTypedEvent(Class<K> eventType, ObjectEvent objectEvent) {
+        Map<RuntimeEventKey, OdiEvent<?>> events = runtimeTypedEvents.computeIfAbsent(eventType, type -> new ConcurrentHashMap<>());
+        OdiEvent<?> event = events.get(objectEvent.key);
+        if (event == null) {
+            event = getTypedEvent(
+                    objectEvent.annotationMetadata,
+                    Argument.of(eventType),
+                    objectEvent.qualifier,
+                    objectEvent.injectionPoint
+            );
+            if (events.size() < MAX_RUNTIME_TYPED_EVENTS) {
+                OdiEvent<?> existing = events.putIfAbsent(objectEvent.key, event);
+                if (existing != null) {
+                    event = existing;
+                }
             }
-        };
+        }
+        return (OdiEvent<K>) event;
     }
 
-    private <K> Event<K> getTypedEvent(
+    private <K> OdiEvent<K> getTypedEvent(
             AnnotationMetadata annotationMetadata,
             Argument<K> eventType,
             Qualifier<K> eventQualifier,
@@ -169,7 +184,10 @@ final class OdiEventFactory {
                 eventQualifier,
                 injectionPoint,
                 observerMethodRegistry,
-                executorSupplier
+                contextPropagation,
+                asyncEventExecutor,
+                invocationMonitor,
+                transactionalEventDispatcher
         );
     }
 
@@ -183,8 +201,206 @@ final class OdiEventFactory {
                 qualifier,
                 injectionPoint,
                 observerMethodRegistry,
-                executorSupplier
+                contextPropagation,
+                asyncEventExecutor,
+                invocationMonitor,
+                transactionalEventDispatcher
         );
     }
 
+    /**
+     * Groups the events by the runtime type, keeps the order of the events of each type.
+     */
+    private static Map<Class<?>, List<Object>> byRuntimeType(Collection<?> events) {
+        Objects.requireNonNull(events, "Events cannot be null");
+        Map<Class<?>, List<Object>> batches = new LinkedHashMap<>();
+        for (Object event : events) {
+            if (event != null) {
+                batches.computeIfAbsent(event.getClass(), type -> new ArrayList<>()).add(event);
+            }
+        }
+        return batches;
+    }
+
+    /**
+     * The {@link Event} of {@link Object} type, the events are fired as the runtime type of the event.
+     */
+    private final class ObjectEvent implements BatchEvent<Object> {
+        private final AnnotationMetadata annotationMetadata;
+        @Nullable
+        private final Qualifier qualifier;
+        @Nullable
+        private final InjectionPoint<?> injectionPoint;
+        private final RuntimeEventKey key;
+
+        private ObjectEvent(AnnotationMetadata annotationMetadata,
+                            @Nullable Qualifier qualifier,
+                            @Nullable InjectionPoint<?> injectionPoint) {
+            this.annotationMetadata = annotationMetadata;
+            this.qualifier = qualifier;
+            this.injectionPoint = injectionPoint;
+            this.key = new RuntimeEventKey(qualifier, injectionPoint);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void fire(Object event) {
+            getRuntimeTypedEvent((Class<Object>) event.getClass(), this).fire(event);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> CompletionStage<U> fireAsync(U event) {
+            return getRuntimeTypedEvent((Class<U>) event.getClass(), this).fireAsync(event);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> CompletionStage<U> fireAsync(U event, NotificationOptions options) {
+            return getRuntimeTypedEvent((Class<U>) event.getClass(), this).fireAsync(event, options);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void fireAll(Collection<?> events) {
+            for (Map.Entry<Class<?>, List<Object>> batch : byRuntimeType(events).entrySet()) {
+                getRuntimeTypedEvent((Class<Object>) batch.getKey(), this).fireAll(batch.getValue());
+            }
+        }
+
+        @Override
+        public <U> CompletionStage<List<U>> fireAllAsync(Collection<U> events) {
+            return fireAllAsync(events, OdiEvent::fireAllAsync);
+        }
+
+        @Override
+        public <U> CompletionStage<List<U>> fireAllAsync(Collection<U> events, NotificationOptions options) {
+            return fireAllAsync(events, (event, batch) -> event.fireAllAsync(batch, options));
+        }
+
+        @SuppressWarnings("unchecked")
+        private <U> CompletionStage<List<U>> fireAllAsync(Collection<U> events,
+                                                         BiFunction<OdiEvent<Object>, List<Object>, CompletionStage<?>> firing) {
+            Map<Class<?>, List<Object>> batches = byRuntimeType(events);
+            CompletableFuture<?>[] futures = new CompletableFuture[batches.size()];
+            int i = 0;
+            for (Map.Entry<Class<?>, List<Object>> batch : batches.entrySet()) {
+                OdiEvent<Object> event = getRuntimeTypedEvent((Class<Object>) batch.getKey(), this);
+                futures[i++] = firing.apply(event, batch.getValue()).toCompletableFuture();
+            }
+            List<U> fired = new ArrayList<>(events.size());
+            for (U event : events) {
+                if (event != null) {
+                    fired.add(event);
+                }
+            }
+            return CompletableFuture.allOf(futures).thenApply(ignore -> fired);
+        }
+
+        @Override
+        public Event<Object> select(Annotation... qualifiers) {
+            AnnotationMetadata annotationMetadata = AnnotationUtils.annotationMetadataFromQualifierAnnotations(qualifiers);
+            Qualifier<Object> qualifier = AnnotationUtils.qualifierFromQualifierAnnotations(annotationMetadata, qualifiers);
+            return createObjectEvent(annotationMetadata, qualifier, injectionPoint);
+        }
+
+        @Override
+        public <U> Event<U> select(Class<U> subtype, Annotation... qualifiers) {
+            return getTypedEvent(Argument.of(subtype), qualifiers, injectionPoint);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> Event<U> select(TypeLiteral<U> subtype, Annotation... qualifiers) {
+            return (Event<U>) getTypedEvent(
+                    Argument.of(subtype.getType()),
+                    qualifiers,
+                    injectionPoint
+            );
+        }
+    }
+
+    /**
+     * The key of the events of the same runtime type, the injection points are compared by their identity
+     * in the declaring bean: the injected field, or the injected method or constructor and the parameter index.
+     */
+    private static final class RuntimeEventKey {
+        private static final Class<?>[] NO_PARAMETERS = new Class<?>[0];
+
+        @Nullable
+        private final Qualifier<?> qualifier;
+        @Nullable
+        private final Class<?> declaringType;
+        @Nullable
+        private final Object member;
+        private final Class<?>[] parameterTypes;
+        private final int parameterIndex;
+        private final int hashCode;
+
+        private RuntimeEventKey(@Nullable Qualifier<?> qualifier, @Nullable InjectionPoint<?> injectionPoint) {
+            this.qualifier = qualifier;
+            Argument<?>[] arguments = null;
+            if (injectionPoint == null) {
+                this.declaringType = null;
+                this.member = null;
+            } else {
+                this.declaringType = injectionPoint.getDeclaringBean().getBeanType();
+                if (injectionPoint instanceof AbstractBeanResolutionContext.MethodSegment) {
+                    AbstractBeanResolutionContext.MethodSegment methodSegment = (AbstractBeanResolutionContext.MethodSegment) injectionPoint;
+                    this.member = methodSegment.getName();
+                    arguments = methodSegment.getArguments();
+                } else if (injectionPoint instanceof ArgumentInjectionPoint
+                        && ((ArgumentInjectionPoint<?, ?>) injectionPoint).getOuterInjectionPoint() instanceof ConstructorInjectionPoint) {
+                    this.member = ConstructorInjectionPoint.class;
+                    arguments = ((ArgumentInjectionPoint<?, ?>) injectionPoint).getOuterInjectionPoint().getArguments();
+                } else if (injectionPoint instanceof AbstractBeanResolutionContext.FieldSegment) {
+                    this.member = ((AbstractBeanResolutionContext.FieldSegment) injectionPoint).getName();
+                } else if (injectionPoint instanceof FieldInjectionPoint) {
+                    this.member = ((FieldInjectionPoint<?, ?>) injectionPoint).getName();
+                } else {
+                    // An unknown injection point is only equal to itself
+                    this.member = injectionPoint;
+                }
+            }
+            if (arguments == null) {
+                this.parameterTypes = NO_PARAMETERS;
+                this.parameterIndex = -1;
+            } else {
+                this.parameterTypes = Arrays.stream(arguments).map(TypeInformation::getType).toArray(Class<?>[]::new);
+                this.parameterIndex = indexOf(arguments, ((ArgumentInjectionPoint<?, ?>) injectionPoint).getArgument());
+            }
+            this.hashCode = Objects.hash(qualifier, declaringType, member, parameterIndex) * 31 + Arrays.hashCode(parameterTypes);
+        }
+
+        private static int indexOf(Argument<?>[] arguments, Argument<?> argument) {
+            for (int i = 0; i < arguments.length; i++) {
+                // The arguments of one method or constructor have distinct names
+                if (arguments[i].equals(argument)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            RuntimeEventKey that = (RuntimeEventKey) o;
+            return parameterIndex == that.parameterIndex
+                    && declaringType == that.declaringType
+                    && Objects.equals(qualifier, that.qualifier)
+                    && Objects.equals(member, that.member)
+                    && Arrays.equals(parameterTypes, that.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -19,6 +19,7 @@ import io.micronaut.context.Qualifier;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.type.Argument;
+import jakarta.enterprise.inject.spi.EventMetadata;
 import jakarta.enterprise.inject.spi.ObserverMethod;
 
 /**
@@ -42,4 +43,14 @@ public interface OdiObserverMethod<T> extends ObserverMethod<T> {
     @Nullable
     Qualifier<T> getObservedQualifier();
 
+    /**
+     * Notifies the observer without wrapping the event into {@link jakarta.enterprise.inject.spi.EventContext}.
+     *
+     * @param event    The event
+     * @param metadata The metadata of the event
+     */
+    default void notify(T event, EventMetadata metadata) {
+        notify(new OdiEventContext<>(event, metadata));
+    }
+
 }
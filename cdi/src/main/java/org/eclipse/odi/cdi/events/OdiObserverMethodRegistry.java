@@ -16,10 +16,12 @@
 package org.eclipse.odi.cdi.events;
 
 import org.eclipse.odi.cdi.DefaultQualifier;
+import org.eclipse.odi.cdi.ResolutionKey;
 import io.micronaut.context.Qualifier;
 import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.reflect.ReflectionUtils;
 import io.micronaut.core.type.Argument;
 import io.micronaut.inject.qualifiers.AnyQualifier;
 import io.micronaut.inject.qualifiers.Qualifiers;
@@ -27,23 +29,47 @@ import jakarta.enterprise.inject.Default;
 import jakarta.enterprise.inject.spi.ObserverMethod;
 import jakarta.inject.Singleton;
 
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * The registry of all observed methods in the context.
+ * The registered observers are kept in an immutable snapshot sorted by the priority, a registration swaps
+ * the snapshot atomically and the readers never see a partially registered observer. The observers can be
+ * registered and removed at any time, also after the startup.
+ * The observers of the snapshot are indexed by the observed type, the resolution of the event type only visits
+ * the observers of the event type and its supertypes. The resolved observers are cached by the event type and
+ * the qualifier in the snapshot, the cache of the older snapshot is dropped with it.
+ * The events also resolve the guarded observers of the subtypes of the event type, they are filtered by the runtime
+ * type of each event.
  */
 @Singleton
 @Internal
 public final class OdiObserverMethodRegistry {
 
     private static final io.micronaut.context.Qualifier DEFAULT_QUALIFIER = Qualifiers.byAnnotation(AnnotationMetadata.EMPTY_METADATA, Default.class);
+    private static final Comparator<ObserverMethod<?>> PRIORITY_COMPARATOR = Comparator.comparing(ObserverMethod::getPriority);
 
-    private final List<OdiObserverMethod<?>> observerMethods = new ArrayList<>();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(0, new OdiObserverMethod[0]));
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
     /**
      * Registers an observed ODI method.
@@ -51,14 +77,67 @@ public final class OdiObserverMethodRegistry {
      * @param observerMethod The observer method.
      */
     public void register(OdiObserverMethod<?> observerMethod) {
-        observerMethods.add(observerMethod);
+        registerAll(Collections.singletonList(observerMethod));
     }
 
     /**
-     * @return A list of observed ODI methods.
+     * Registers the observed ODI methods with one swap of the snapshot.
+     *
+     * @param observerMethods The observer methods.
+     */
+    public void registerAll(Collection<? extends OdiObserverMethod<?>> observerMethods) {
+        OdiObserverMethod<?>[] added = observerMethods.toArray(new OdiObserverMethod[0]);
+        for (OdiObserverMethod<?> observerMethod : added) {
+            Objects.requireNonNull(observerMethod, "Observer method cannot be null");
+        }
+        if (added.length == 0) {
+            return;
+        }
+        // The sort is stable, the observers of the same priority stay in the order of the registration
+        Arrays.sort(added, PRIORITY_COMPARATOR);
+        Snapshot current;
+        Snapshot next;
+        do {
+            current = snapshot.get();
+            next = new Snapshot(current.version + 1, merge(current.observerMethods, added));
+        } while (!snapshot.compareAndSet(current, next));
+    }
+
+    /**
+     * Removes a registered ODI observer method, the observer methods are compared by the identity.
+     *
+     * @param observerMethod The observer method.
+     * @return Whether the observer method was registered
+     */
+    public boolean unregister(OdiObserverMethod<?> observerMethod) {
+        Objects.requireNonNull(observerMethod, "Observer method cannot be null");
+        Snapshot current;
+        Snapshot next;
+        do {
+            current = snapshot.get();
+            OdiObserverMethod<?>[] remaining = remove(current.observerMethods, observerMethod);
+            if (remaining == null) {
+                return false;
+            }
+            next = new Snapshot(current.version + 1, remaining);
+        } while (!snapshot.compareAndSet(current, next));
+        return true;
+    }
+
+    /**
+     * The version is incremented by each registration and removal, the resolutions of an older version are stale.
+     *
+     * @return The version of the registered observer methods
+     */
+    public long getVersion() {
+        return snapshot.get().version;
+    }
+
+    /**
+     * @return An unmodifiable list of observed ODI methods sorted by the priority.
      */
     public List<OdiObserverMethod<?>> getObserverMethods() {
-        return observerMethods;
+        return snapshot.get().list;
     }
 
     /**
@@ -68,13 +147,44 @@ public final class OdiObserverMethodRegistry {
      * @param qualifier The qualifier
      * @param <K>       The observer method generic type
      * @param <T>       The argument generic type
-     * @return A list of observer methods
+     * @return An unmodifiable list of observer methods sorted by the priority
      */
     public <K extends T, T> List<ObserverMethod<K>> findListOfObserverMethods(Argument<T> argument, @Nullable Qualifier<T> qualifier) {
-        // TODO: caching
-        List<ObserverMethod<?>> list = new ArrayList<>();
-        collectMethods(argument, qualifier, list);
-        list.sort(Comparator.comparing(ObserverMethod::getPriority));
+        Snapshot snapshot = this.snapshot.get();
+        ResolutionKey key = new ResolutionKey(argument, qualifier);
+        List<ObserverMethod<?>> list = snapshot.resolutions.get(key);
+        if (list != null) {
+            hits.increment();
+            return (List) list;
+        }
+        misses.increment();
+        list = snapshot.resolve(argument, qualifier);
+        if (snapshot.resolutions.size() < ResolutionKey.MAX_CACHED_RESOLUTIONS) {
+            snapshot.resolutions.putIfAbsent(key, list);
+        }
+        return (List) list;
+    }
+
+    /**
+     * Finds the observer methods that can be notified of the events fired with the argument type. Next to the observer
+     * methods of the argument type, the observer methods of its subtypes and the generic observer methods of a raw
+     * argument type are included, they are guarded by the runtime type of the event, see {@link ResolvedObserverMethods}.
+     *
+     * @param argument  The argument
+     * @param qualifier The qualifier
+     * @param <T>       The argument generic type
+     * @return An unmodifiable list of observer methods sorted by the priority
+     */
+    <T> List<ObserverMethod<T>> findListOfGuardedObserverMethods(Argument<T> argument, @Nullable Qualifier<T> qualifier) {
+        Snapshot snapshot = this.snapshot.get();
+        ResolutionKey key = new ResolutionKey(argument, qualifier);
+        List<ObserverMethod<?>> list = snapshot.guardedResolutions.get(key);
+        if (list == null) {
+            list = snapshot.resolveGuarded(argument, qualifier);
+            if (snapshot.guardedResolutions.size() < ResolutionKey.MAX_CACHED_RESOLUTIONS) {
+                snapshot.guardedResolutions.putIfAbsent(key, list);
+            }
+        }
         return (List) list;
     }
 
@@ -91,26 +201,189 @@ public final class OdiObserverMethodRegistry {
         return new LinkedHashSet<>(findListOfObserverMethods(argument, qualifier));
     }
 
-    private <T> void collectMethods(Argument<T> argument, Qualifier<T> qualifier, Collection<ObserverMethod<?>> method) {
-        for (OdiObserverMethod<?> observer : observerMethods) {
-            if (!observer.getObservedArgument().isAssignableFrom(argument)) {
-                continue;
+    /**
+     * @return The number of cached resolutions
+     */
+    public int getResolutionCacheSize() {
+        return snapshot.get().resolutions.size();
+    }
+
+    /**
+     * @return The number of resolutions served from the cache
+     */
+    public long getResolutionCacheHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of resolutions that needed to query the index
+     */
+    public long getResolutionCacheMissCount() {
+        return misses.sum();
+    }
+
+    @Nullable
+    private static OdiObserverMethod<?>[] remove(OdiObserverMethod<?>[] sorted, OdiObserverMethod<?> removed) {
+        for (int i = 0; i < sorted.length; i++) {
+            if (sorted[i] == removed) {
+                OdiObserverMethod<?>[] remaining = new OdiObserverMethod[sorted.length - 1];
+                System.arraycopy(sorted, 0, remaining, 0, i);
+                System.arraycopy(sorted, i + 1, remaining, i, sorted.length - i - 1);
+                return remaining;
+            }
+        }
+        return null;
+    }
+
+    private static OdiObserverMethod<?>[] merge(OdiObserverMethod<?>[] sorted, OdiObserverMethod<?>[] added) {
+        OdiObserverMethod<?>[] merged = new OdiObserverMethod[sorted.length + added.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < sorted.length && j < added.length) {
+            // The registered observers go first when the priority is the same
+            if (PRIORITY_COMPARATOR.compare(added[j], sorted[i]) < 0) {
+                merged[k++] = added[j++];
+            } else {
+                merged[k++] = sorted[i++];
+            }
+        }
+        while (i < sorted.length) {
+            merged[k++] = sorted[i++];
+        }
+        while (j < added.length) {
+            merged[k++] = added[j++];
+        }
+        return merged;
+    }
+
+    private static Set<Class<?>> typeClosure(Class<?> type) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Class<?> componentType = type.getComponentType();
+        if (componentType != null && !componentType.isPrimitive()) {
+            // The arrays are covariant, the arrays of the supertypes of the component type are supertypes too
+            for (Class<?> componentSupertype : typeClosure(componentType)) {
+                types.add(Array.newInstance(componentSupertype, 0).getClass());
             }
-            Qualifier observedQualifier = observer.getObservedQualifier();
-            if (observedQualifier != null) {
-                if (observedQualifier == DefaultQualifier.INSTANCE) {
-                    method.add(observer);
+            Collections.addAll(types, Cloneable.class, Serializable.class, Object.class);
+            return types;
+        }
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(type);
+        while (!queue.isEmpty()) {
+            Class<?> next = queue.poll();
+            if (types.add(next)) {
+                Class<?> superclass = next.getSuperclass();
+                if (superclass != null) {
+                    queue.add(superclass);
+                }
+                Collections.addAll(queue, next.getInterfaces());
+            }
+        }
+        types.add(Object.class);
+        return types;
+    }
+
+    private static <T> boolean matches(OdiObserverMethod<?> observer, Argument<T> argument, @Nullable Qualifier<T> qualifier) {
+        return observer.getObservedArgument().isAssignableFrom(argument) && matchesQualifier(observer, qualifier);
+    }
+
+    private static <T> boolean matchesGuarded(OdiObserverMethod<?> observer, Argument<T> argument, @Nullable Qualifier<T> qualifier) {
+        if (matches(observer, argument, qualifier)) {
+            return true;
+        }
+        Class<?> eventType = ReflectionUtils.getWrapperType(argument.getType());
+        Class<?> observedType = ReflectionUtils.getWrapperType(observer.getObservedArgument().getType());
+        boolean subtype = observedType != eventType && eventType.isAssignableFrom(observedType);
+        // The type arguments of a raw event type are resolved from the runtime type of the event
+        boolean raw = argument.getTypeParameters().length == 0 && observedType.isAssignableFrom(eventType);
+        return (subtype || raw) && matchesQualifier(observer, qualifier);
+    }
+
+    private static <T> boolean matchesQualifier(OdiObserverMethod<?> observer, @Nullable Qualifier<T> qualifier) {
+        Qualifier observedQualifier = observer.getObservedQualifier();
+        if (observedQualifier != null) {
+            if (observedQualifier == DefaultQualifier.INSTANCE) {
+                return true;
+            }
+            if (qualifier == null) {
+                return observedQualifier.contains(DEFAULT_QUALIFIER) || observedQualifier.contains(AnyQualifier.INSTANCE);
+            }
+            return qualifier.contains(observedQualifier) || observedQualifier.contains(AnyQualifier.INSTANCE);
+        }
+        return true;
+    }
+
+    /**
+     * The immutable registered observers sorted by the priority, with the index and the resolutions derived from them.
+     */
+    private static final class Snapshot {
+        private final long version;
+        private final OdiObserverMethod<?>[] observerMethods;
+        private final List<OdiObserverMethod<?>> list;
+        private final Map<ResolutionKey, List<ObserverMethod<?>>> resolutions = new ConcurrentHashMap<>();
+        private final Map<ResolutionKey, List<ObserverMethod<?>>> guardedResolutions = new ConcurrentHashMap<>();
+        @Nullable
+        private volatile Map<Class<?>, int[]> index;
+
+        Snapshot(long version, OdiObserverMethod<?>[] observerMethods) {
+            this.version = version;
+            this.observerMethods = observerMethods;
+            this.list = Collections.unmodifiableList(Arrays.asList(observerMethods));
+        }
+
+        <T> List<ObserverMethod<?>> resolve(Argument<T> argument, @Nullable Qualifier<T> qualifier) {
+            Map<Class<?>, int[]> index = getIndex();
+            // The positions of the matched observers, in the order of the priority
+            BitSet matched = new BitSet(observerMethods.length);
+            for (Class<?> type : typeClosure(ReflectionUtils.getWrapperType(argument.getType()))) {
+                int[] candidates = index.get(type);
+                if (candidates == null) {
                     continue;
                 }
-                if (qualifier == null) {
-                    if (!observedQualifier.contains(DEFAULT_QUALIFIER) && !observedQualifier.contains(AnyQualifier.INSTANCE)) {
-                        continue;
+                for (int candidate : candidates) {
+                    if (matches(observerMethods[candidate], argument, qualifier)) {
+                        matched.set(candidate);
                     }
-                } else if (!qualifier.contains(observedQualifier) && !observedQualifier.contains(AnyQualifier.INSTANCE)) {
-                    continue;
                 }
             }
-            method.add(observer);
+            List<ObserverMethod<?>> list = new ArrayList<>(matched.cardinality());
+            for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+                list.add(observerMethods[i]);
+            }
+            return Collections.unmodifiableList(list);
+        }
+
+        <T> List<ObserverMethod<?>> resolveGuarded(Argument<T> argument, @Nullable Qualifier<T> qualifier) {
+            // The subtypes aren't indexed, the guarded resolutions are cached by the events
+            List<ObserverMethod<?>> list = new ArrayList<>();
+            for (OdiObserverMethod<?> observerMethod : observerMethods) {
+                if (matchesGuarded(observerMethod, argument, qualifier)) {
+                    list.add(observerMethod);
+                }
+            }
+            return Collections.unmodifiableList(list);
+        }
+
+        /**
+         * The positions of the observers by the observed type, built on the first resolution.
+         * The concurrent resolutions can build the same index more than once.
+         */
+        private Map<Class<?>, int[]> getIndex() {
+            Map<Class<?>, int[]> index = this.index;
+            if (index == null) {
+                Map<Class<?>, List<Integer>> byType = new HashMap<>();
+                for (int i = 0; i < observerMethods.length; i++) {
+                    Class<?> observedType = ReflectionUtils.getWrapperType(observerMethods[i].getObservedArgument().getType());
+                    byType.computeIfAbsent(observedType, type -> new ArrayList<>()).add(i);
+                }
+                index = new HashMap<>(byType.size());
+                for (Map.Entry<Class<?>, List<Integer>> e : byType.entrySet()) {
+                    index.put(e.getKey(), e.getValue().stream().mapToInt(Integer::intValue).toArray());
+                }
+                this.index = index;
+            }
+            return index;
         }
     }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.core.annotation.Internal;
+import org.eclipse.odi.cdi.context.ContextSnapshot;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The task held by a queue together with the contexts of the submitting thread.
+ */
+@Internal
+final class PropagatedTask implements Runnable {
+
+    private final Runnable task;
+    private final ContextSnapshot snapshot;
+
+    PropagatedTask(Runnable task, ContextSnapshot snapshot) {
+        this.task = task;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public void run() {
+        if (snapshot.isEmpty()) {
+            task.run();
+        } else {
+            snapshot.run(task);
+        }
+    }
+
+    /**
+     * Releases the contexts and rejects the task instead of running it.
+     *
+     * @param e The rejection
+     */
+    void reject(RejectedExecutionException e) {
+        snapshot.discard();
+        if (task instanceof RejectableTask) {
+            ((RejectableTask) task).reject(e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The task that needs to be notified when it will not be executed.
+ */
+@Internal
+interface RejectableTask extends Runnable {
+
+    /**
+     * Called instead of {@link #run()} when the task is rejected or dropped.
+     *
+     * @param e The rejection
+     */
+    void reject(RejectedExecutionException e);
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.reflect.ReflectionUtils;
+import io.micronaut.core.type.Argument;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The observer methods resolved for an event type together with their type guards.
+ * The type parameters of a parameterized event type are verified by the resolution. The guard of an observer
+ * checks the runtime type of the event when the event type isn't a subtype of the observed type, and the type
+ * arguments of the observed type resolved from the runtime type when the event type is raw.
+ * Incompatible observers are skipped without being invoked.
+ *
+ * @param <T> The event type
+ */
+@Internal
+final class ResolvedObserverMethods<T> {
+
+    private final long version;
+    private final ObserverMethod<T>[] observerMethods;
+    private final TypeGuard[] guards;
+    private final int[][] groups;
+    private final int[][] singletonGroups;
+
+    @SuppressWarnings("unchecked")
+    private ResolvedObserverMethods(long version, List<? extends ObserverMethod<T>> observerMethods, Argument<T> eventArgument) {
+        this.version = version;
+        this.observerMethods = observerMethods.toArray(new ObserverMethod[0]);
+        this.guards = new TypeGuard[this.observerMethods.length];
+        Class<?> eventType = ReflectionUtils.getWrapperType(eventArgument.getType());
+        boolean rawEventType = eventArgument.getTypeParameters().length == 0;
+        for (int i = 0; i < guards.length; i++) {
+            Argument<?> observedArgument = observedArgument(this.observerMethods[i]);
+            Class<?> observedType = ReflectionUtils.getWrapperType(observedArgument.getType());
+            Argument<?>[] observedTypeArguments = observedArgument.getTypeParameters();
+            boolean subtype = observedType.isAssignableFrom(eventType);
+            if (observedTypeArguments.length == 0) {
+                if (!subtype) {
+                    guards[i] = new TypeGuard(observedType, null);
+                }
+            } else if (!subtype || rawEventType) {
+                guards[i] = new TypeGuard(observedType, observedTypeArguments);
+            }
+        }
+        this.groups = groupByBeanClass(this.observerMethods);
+        this.singletonGroups = new int[this.observerMethods.length][];
+        for (int i = 0; i < singletonGroups.length; i++) {
+            singletonGroups[i] = new int[] {i};
+        }
+    }
+
+    /**
+     * Creates the resolved observer methods.
+     *
+     * @param eventType       The event type
+     * @param observerMethods The observer methods resolved for the event type
+     * @param <T>             The event type
+     * @return The resolved observer methods
+     */
+    @NonNull
+    static <T> ResolvedObserverMethods<T> of(@NonNull Argument<T> eventType, @NonNull List<? extends ObserverMethod<T>> observerMethods) {
+        return of(0, eventType, observerMethods);
+    }
+
+    /**
+     * Creates the resolved observer methods.
+     *
+     * @param version         The version of the registry used by the resolution
+     * @param eventType       The event type
+     * @param observerMethods The observer methods resolved for the event type
+     * @param <T>             The event type
+     * @return The resolved observer methods
+     */
+    @NonNull
+    static <T> ResolvedObserverMethods<T> of(long version,
+                                             @NonNull Argument<T> eventType,
+                                             @NonNull List<? extends ObserverMethod<T>> observerMethods) {
+        return new ResolvedObserverMethods<>(version, observerMethods, eventType);
+    }
+
+    /**
+     * @return The version of the registry used by the resolution
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return The number of the observer methods
+     */
+    int size() {
+        return observerMethods.length;
+    }
+
+    /**
+     * @return Whether there are no observer methods
+     */
+    boolean isEmpty() {
+        return observerMethods.length == 0;
+    }
+
+    /**
+     * @param index The index
+     * @return The observer method
+     */
+    ObserverMethod<T> get(int index) {
+        return observerMethods[index];
+    }
+
+    /**
+     * Checks the type guard of the observer method.
+     *
+     * @param index The index of the observer method
+     * @param event The event
+     * @return Whether the observer method can be notified of the event
+     */
+    boolean accepts(int index, Object event) {
+        TypeGuard guard = guards[index];
+        return guard == null || guard.accepts(event);
+    }
+
+    /**
+     * The indexes of the observer methods grouped by the declaring bean class. The groups keep the order
+     * of the priority and are notified together by the asynchronous dispatch.
+     *
+     * @param byBeanClass Whether to group by the bean class, otherwise each observer method is its own group
+     * @return The groups of the observer indexes
+     */
+    int[][] getGroups(boolean byBeanClass) {
+        return byBeanClass ? groups : singletonGroups;
+    }
+
+    private static int[][] groupByBeanClass(ObserverMethod<?>[] observerMethods) {
+        Map<Class<?>, List<Integer>> byBeanClass = new LinkedHashMap<>();
+        for (int i = 0; i < observerMethods.length; i++) {
+            byBeanClass.computeIfAbsent(observerMethods[i].getBeanClass(), beanClass -> new ArrayList<>(1)).add(i);
+        }
+        int[][] groups = new int[byBeanClass.size()][];
+        int group = 0;
+        for (List<Integer> indexes : byBeanClass.values()) {
+            groups[group++] = indexes.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return groups;
+    }
+
+    private static Argument<?> observedArgument(ObserverMethod<?> observerMethod) {
+        if (observerMethod instanceof OdiObserverMethod) {
+            return ((OdiObserverMethod<?>) observerMethod).getObservedArgument();
+        }
+        return Argument.of(observerMethod.getObservedType());
+    }
+
+    /**
+     * Resolves the type arguments of the target type in the type hierarchy of the type.
+     *
+     * @param type     The type
+     * @param target   The parameterized supertype
+     * @param bindings The type arguments of the type variables of the type
+     * @return The type arguments of the target type, the not resolved ones are type variables,
+     * or null if the target type isn't a supertype
+     */
+    @Nullable
+    private static Type[] resolveTypeArguments(Type type, Class<?> target, Map<TypeVariable<?>, Type> bindings) {
+        Class<?> rawType;
+        Map<TypeVariable<?>, Type> typeBindings = new HashMap<>();
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            rawType = (Class<?>) parameterizedType.getRawType();
+            TypeVariable<?>[] typeVariables = rawType.getTypeParameters();
+            Type[] typeArguments = parameterizedType.getActualTypeArguments();
+            for (int i = 0; i < typeVariables.length; i++) {
+                Type typeArgument = typeArguments[i];
+                typeBindings.put(typeVariables[i], bindings.getOrDefault(typeArgument, typeArgument));
+            }
+        } else if (type instanceof Class) {
+            rawType = (Class<?>) type;
+        } else {
+            return null;
+        }
+        if (rawType == target) {
+            TypeVariable<?>[] typeVariables = rawType.getTypeParameters();
+            Type[] resolved = new Type[typeVariables.length];
+            for (int i = 0; i < typeVariables.length; i++) {
+                resolved[i] = typeBindings.getOrDefault(typeVariables[i], typeVariables[i]);
+            }
+            return resolved;
+        }
+        if (!target.isAssignableFrom(rawType)) {
+            return null;
+        }
+        Type superclass = rawType.getGenericSuperclass();
+        if (superclass != null) {
+            Type[] resolved = resolveTypeArguments(superclass, target, typeBindings);
+            if (resolved != null) {
+                return resolved;
+            }
+        }
+        for (Type genericInterface : rawType.getGenericInterfaces()) {
+            Type[] resolved = resolveTypeArguments(genericInterface, target, typeBindings);
+            if (resolved != null) {
+                return resolved;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class) {
+            return ReflectionUtils.getWrapperType((Class<?>) type);
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        // The type variables and the wildcards are not resolved
+        return null;
+    }
+
+    /**
+     * The guard of an observer method checking the runtime type of the event. The type arguments are resolved
+     * from the runtime type of the event, the result is kept for the last runtime type.
+     */
+    private static final class TypeGuard {
+        private final Class<?> observedType;
+        @Nullable
+        private final Argument<?>[] observedTypeArguments;
+        @Nullable
+        private volatile Check lastCheck;
+
+        private TypeGuard(Class<?> observedType, @Nullable Argument<?>[] observedTypeArguments) {
+            this.observedType = observedType;
+            this.observedTypeArguments = observedTypeArguments;
+        }
+
+        boolean accepts(Object event) {
+            if (!observedType.isInstance(event)) {
+                return false;
+            }
+            if (observedTypeArguments == null) {
+                return true;
+            }
+            Class<?> eventType = event.getClass();
+            Check check = lastCheck;
+            if (check == null || check.eventType != eventType) {
+                check = new Check(eventType, acceptsTypeArguments(eventType));
+                lastCheck = check;
+            }
+            return check.accepted;
+        }
+
+        private boolean acceptsTypeArguments(Class<?> eventType) {
+            Type[] typeArguments = resolveTypeArguments(eventType, observedType, Collections.emptyMap());
+            if (typeArguments == null || typeArguments.length != observedTypeArguments.length) {
+                return true;
+            }
+            for (int i = 0; i < typeArguments.length; i++) {
+                Class<?> typeArgument = rawType(typeArguments[i]);
+                if (typeArgument != null
+                        && !ReflectionUtils.getWrapperType(observedTypeArguments[i].getType()).isAssignableFrom(typeArgument)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The result of the type arguments check of a runtime type.
+     */
+    private static final class Check {
+        private final Class<?> eventType;
+        private final boolean accepted;
+
+        private Check(Class<?> eventType, boolean accepted) {
+            this.eventType = eventType;
+            this.accepted = accepted;
+        }
+    }
+}
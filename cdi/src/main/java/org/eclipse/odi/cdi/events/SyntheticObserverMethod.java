@@ -16,25 +16,25 @@
 package org.eclipse.odi.cdi.events;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Type;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.eclipse.odi.cdi.DefaultQualifier;
+import org.eclipse.odi.cdi.MethodExecutionPlan;
 import org.eclipse.odi.cdi.OdiBeanContainer;
-import org.eclipse.odi.cdi.OdiBeanImpl;
 import org.eclipse.odi.cdi.OdiUtils;
 import org.eclipse.odi.cdi.annotation.ObservesMethod;
 import io.micronaut.context.BeanContext;
 import io.micronaut.context.Qualifier;
 import io.micronaut.core.annotation.AnnotationValue;
 import io.micronaut.core.annotation.Internal;
-import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.core.util.SupplierUtil;
 import io.micronaut.inject.BeanDefinition;
 import io.micronaut.inject.ExecutableMethod;
 import jakarta.enterprise.event.Reception;
@@ -44,7 +44,6 @@ import jakarta.enterprise.inject.build.compatible.spi.SyntheticObserver;
 import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.EventContext;
 import jakarta.enterprise.inject.spi.EventMetadata;
-import jakarta.enterprise.inject.spi.InjectionPoint;
 
 @Internal
 final class SyntheticObserverMethod<B, E> extends AbstractOdiObserverMethod<E> {
@@ -54,7 +53,10 @@ final class SyntheticObserverMethod<B, E> extends AbstractOdiObserverMethod<E> {
     private final BeanContext beanContext;
     private final Parameters parameters;
     private final OdiBeanContainer beanContainer;
-    private final ExecutableMethod<B, Object> executableMethod;
+    private final Supplier<MethodExecutionPlan<B, Object>> executionPlanSupplier;
+    private final int[] eventContextIndexes;
+    private final int[] parametersIndexes;
+    private final EventMetadata emptyMetadata;
 
     private Set<Annotation> observedQualifiers;
 
@@ -80,7 +82,19 @@ final class SyntheticObserverMethod<B, E> extends AbstractOdiObserverMethod<E> {
         this.beanContext = beanContainer.getBeanContext();
         this.parameters = OdiUtils.createParameters(syntheticObserverBeanDefinition);
         this.beanContainer = beanContainer;
-        this.executableMethod = executableMethod;
+        Argument<?>[] arguments = executableMethod.getArguments();
+        this.executionPlanSupplier = SupplierUtil.memoized(() -> beanContainer.createExecutionPlan(
+                syntheticObserverBeanDefinition,
+                executableMethod,
+                i -> arguments[i].getType() == EventContext.class || arguments[i].getType() == Parameters.class
+        ));
+        this.eventContextIndexes = IntStream.range(0, arguments.length)
+                .filter(i -> arguments[i].getType() == EventContext.class)
+                .toArray();
+        this.parametersIndexes = IntStream.range(0, arguments.length)
+                .filter(i -> arguments[i].getType() == Parameters.class)
+                .toArray();
+        this.emptyMetadata = OdiEventContext.emptyMetadata(observerArgument.asType());
     }
 
     @Override
@@ -110,56 +124,28 @@ final class SyntheticObserverMethod<B, E> extends AbstractOdiObserverMethod<E> {
     @Override
     public Bean<?> getDeclaringBean() {
         // undefined for synthetic observers
-        return new OdiBeanImpl<>(beanContext, syntheticObserverBeanDefinition);
+        return beanContainer.getBean(syntheticObserverBeanDefinition);
     }
 
     @Override
     public void notify(E event) {
-        notify(event, new EventContext<E>() {
-            @Override
-            public E getEvent() {
-                return event;
-            }
-
-            @Override
-            public EventMetadata getMetadata() {
-                return new EventMetadata() {
-                    @Override
-                    public Set<Annotation> getQualifiers() {
-                        return Collections.emptySet();
-                    }
-
-                    @Override
-                    public InjectionPoint getInjectionPoint() {
-                        return null;
-                    }
-
-                    @Override
-                    public Type getType() {
-                        return getObservedType();
-                    }
-                };
-            }
-        });
+        notify(new OdiEventContext<>(event, emptyMetadata));
     }
 
     @Override
     public void notify(EventContext<E> eventContext) {
-        notify(eventContext.getEvent(), eventContext);
-    }
-
-    private void notify(E event, @Nullable EventContext<E> eventContext) {
         if (getReception() == Reception.IF_EXISTS && !beanContext.containsBean(syntheticObserverBeanDefinition.asArgument())) {
             return;
         }
 
-        beanContainer.fulfillAndExecuteMethod(syntheticObserverBeanDefinition, executableMethod, argument -> {
-            if (argument.getType() == EventContext.class) {
-                return eventContext;
-            } else if (argument.getType() == Parameters.class) {
-                return parameters;
-            }
-            return null;
-        });
+        MethodExecutionPlan<B, Object> executionPlan = executionPlanSupplier.get();
+        Object[] values = new Object[executionPlan.getArgumentCount()];
+        for (int eventContextIndex : eventContextIndexes) {
+            values[eventContextIndex] = eventContext;
+        }
+        for (int parametersIndex : parametersIndexes) {
+            values[parametersIndex] = parameters;
+        }
+        executionPlan.execute(values);
     }
 }
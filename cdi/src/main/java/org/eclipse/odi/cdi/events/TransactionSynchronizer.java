@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * The SPI connecting the transactional observer methods to a transaction manager, the bean implementing it
+ * enables the delivery of the events to the observers of {@link jakarta.enterprise.event.TransactionPhase}
+ * other than {@code IN_PROGRESS} at the completion of the transaction.
+ * Without the bean or an active transaction, the transactional observers are notified immediately.
+ *
+ * @see LocalTransactionSynchronizer
+ */
+public interface TransactionSynchronizer {
+
+    /**
+     * The key identifies the transaction, like {@code TransactionSynchronizationRegistry.getTransactionKey()}.
+     * The keys of different transactions are not equal.
+     *
+     * @return The key of the transaction active on the current thread or null if there is none
+     */
+    @Nullable
+    Object getTransactionKey();
+
+    /**
+     * Registers the synchronization with the transaction active on the current thread.
+     *
+     * @param synchronization The synchronization
+     * @throws IllegalStateException if the synchronization cannot be registered
+     */
+    void registerSynchronization(@NonNull Synchronization synchronization);
+
+    /**
+     * The callbacks of the completion of the transaction.
+     */
+    interface Synchronization {
+
+        /**
+         * Called before the transaction is completed, an exception rolls the transaction back.
+         */
+        void beforeCompletion();
+
+        /**
+         * Called after the transaction is completed.
+         *
+         * @param committed Whether the transaction was committed
+         */
+        void afterCompletion(boolean committed);
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Defers the notifications of the transactional observer methods to the completion of the current transaction
+ * of the {@link TransactionSynchronizer}.
+ * The notifications of one transaction are collected in one unit of work registered as a single synchronization,
+ * and delivered as a batch in the order of firing: {@code BEFORE_COMPLETION} before the completion,
+ * {@code AFTER_COMPLETION} and {@code AFTER_SUCCESS} or {@code AFTER_FAILURE} after it.
+ * The notifications of a rolled back transaction for {@code AFTER_SUCCESS} observers are dropped without
+ * invoking the observers.
+ */
+@Internal
+@Singleton
+public final class TransactionalEventDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionalEventDispatcher.class);
+
+    @Nullable
+    private final TransactionSynchronizer synchronizer;
+    private final Map<Object, UnitOfWork> unitsOfWork = new ConcurrentHashMap<>();
+
+    @Inject
+    TransactionalEventDispatcher(@Nullable TransactionSynchronizer synchronizer) {
+        this.synchronizer = synchronizer;
+    }
+
+    /**
+     * @return true if there is a transaction synchronizer
+     */
+    public boolean isEnabled() {
+        return synchronizer != null;
+    }
+
+    /**
+     * @return The number of the transactions with deferred notifications
+     */
+    public int getPendingTransactionCount() {
+        return unitsOfWork.size();
+    }
+
+    /**
+     * Defers the notification to the phase of the current transaction.
+     *
+     * @param phase        The transaction phase of the observer
+     * @param notification The notification of the observer
+     * @return false if there is no active transaction and the observer needs to be notified immediately
+     */
+    boolean defer(@NonNull TransactionPhase phase, @NonNull Runnable notification) {
+        TransactionSynchronizer synchronizer = this.synchronizer;
+        if (synchronizer == null || phase == TransactionPhase.IN_PROGRESS) {
+            return false;
+        }
+        Object key = synchronizer.getTransactionKey();
+        if (key == null) {
+            return false;
+        }
+        UnitOfWork unitOfWork = unitsOfWork.get(key);
+        if (unitOfWork == null) {
+            // The unit of work is registered once even when the transaction fires from more threads,
+            // the synchronization is registered outside the map by the thread putting the unit of work
+            UnitOfWork created = new UnitOfWork(key);
+            unitOfWork = unitsOfWork.putIfAbsent(key, created);
+            if (unitOfWork == null) {
+                if (!register(synchronizer, created)) {
+                    unitsOfWork.remove(key, created);
+                    created.cancel();
+                    return false;
+                }
+                unitOfWork = created;
+            }
+        }
+        return unitOfWork.add(phase, notification);
+    }
+
+    private static boolean register(TransactionSynchronizer synchronizer, UnitOfWork unitOfWork) {
+        try {
+            synchronizer.registerSynchronization(unitOfWork);
+            return true;
+        } catch (IllegalStateException e) {
+            // The transaction is completing or marked for rollback only
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Failed to register the synchronization, the observer is notified immediately", e);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The deferred notifications of one transaction.
+     */
+    private final class UnitOfWork implements TransactionSynchronizer.Synchronization {
+        private final Object key;
+        private final List<TransactionPhase> phases = new ArrayList<>();
+        private final List<Runnable> notifications = new ArrayList<>();
+        private boolean beforeCompletionDone;
+        private boolean completed;
+
+        UnitOfWork(Object key) {
+            this.key = key;
+        }
+
+        synchronized boolean add(TransactionPhase phase, Runnable notification) {
+            if (completed) {
+                // Fired concurrently with the completion, after the notifications were taken
+                return false;
+            }
+            if (phase == TransactionPhase.BEFORE_COMPLETION && beforeCompletionDone) {
+                // Fired by an observer notified before the completion
+                return false;
+            }
+            phases.add(phase);
+            notifications.add(notification);
+            return true;
+        }
+
+        @Override
+        public void beforeCompletion() {
+            // The observers can fire events deferred to the same unit of work
+            int i = 0;
+            while (true) {
+                Runnable notification = null;
+                synchronized (this) {
+                    if (i == notifications.size()) {
+                        beforeCompletionDone = true;
+                        return;
+                    }
+                    if (phases.get(i) == TransactionPhase.BEFORE_COMPLETION) {
+                        notification = notifications.get(i);
+                    }
+                }
+                i++;
+                if (notification != null) {
+                    notification.run();
+                }
+            }
+        }
+
+        /**
+         * Cancels the unit of work which failed to register, the notifications added by the other threads
+         * in the meantime are run immediately.
+         */
+        void cancel() {
+            Runnable[] notifications;
+            synchronized (this) {
+                completed = true;
+                notifications = this.notifications.toArray(new Runnable[0]);
+                this.notifications.clear();
+                phases.clear();
+            }
+            for (Runnable notification : notifications) {
+                try {
+                    notification.run();
+                } catch (RuntimeException e) {
+                    LOG.error("Failed to notify the observer of the transaction which failed to register the synchronization", e);
+                }
+            }
+        }
+
+        @Override
+        public void afterCompletion(boolean committed) {
+            unitsOfWork.remove(key, this);
+            TransactionPhase[] phases;
+            Runnable[] notifications;
+            synchronized (this) {
+                completed = true;
+                phases = this.phases.toArray(new TransactionPhase[0]);
+                notifications = this.notifications.toArray(new Runnable[0]);
+            }
+            for (int i = 0; i < notifications.length; i++) {
+                TransactionPhase phase = phases[i];
+                if (phase == TransactionPhase.AFTER_COMPLETION
+                        || (committed && phase == TransactionPhase.AFTER_SUCCESS)
+                        || (!committed && phase == TransactionPhase.AFTER_FAILURE)) {
+                    try {
+                        notifications[i].run();
+                    } catch (RuntimeException e) {
+                        LOG.error("Failed to notify the observer after the completion of the transaction", e);
+                    }
+                }
+            }
+        }
+    }
+}
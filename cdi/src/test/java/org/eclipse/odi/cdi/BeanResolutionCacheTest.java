@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi;
+
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BeanResolutionCacheTest {
+
+    @Test
+    void testResolutionsAreCached() {
+        try (SeContainer container = SeContainerInitializer.newInstance().initialize()) {
+            final OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            final BeanResolutionCache cache = beanContainer.getResolutionCache();
+            cache.clear();
+            final long misses = cache.getMissCount();
+            final long hits = cache.getHitCount();
+
+            final Set<Bean<?>> first = beanContainer.getBeans(Cached.class);
+            final Set<Bean<?>> second = beanContainer.getBeans(Cached.class);
+
+            assertEquals(first, second);
+            assertEquals(misses + 1, cache.getMissCount());
+            assertEquals(hits + 1, cache.getHitCount());
+            assertTrue(cache.size() > 0);
+
+            cache.clear();
+            assertEquals(0, cache.size());
+            assertEquals(1, beanContainer.getBeans(Cached.class).size());
+        }
+    }
+
+    @Test
+    void testRuntimeRegistrationNeedsInvalidation() {
+        try (SeContainer container = SeContainerInitializer.newInstance().initialize()) {
+            final OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            final BeanResolutionCache cache = beanContainer.getResolutionCache();
+
+            assertTrue(beanContainer.getBeans(Registered.class).isEmpty());
+
+            beanContainer.getBeanContext().registerSingleton(Registered.class, new Registered());
+
+            // the resolution computed before the registration is still served
+            assertTrue(beanContainer.getBeans(Registered.class).isEmpty());
+
+            cache.clear();
+            assertEquals(1, beanContainer.getBeans(Registered.class).size());
+        }
+    }
+
+    @Singleton
+    static class Cached {}
+
+    static class Registered {}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi;
+
+import io.micronaut.context.annotation.Executable;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.inject.ExecutableMethod;
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.Produces;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MethodExecutionPlanTest {
+
+    @Test
+    void testArgumentsAreResolvedByThePlan() {
+        try (SeContainer container = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            BeanDefinition<PlannedBean> beanDefinition = beanContainer.getBeanContext().getBeanDefinition(PlannedBean.class);
+            ExecutableMethod<PlannedBean, Object> method = beanDefinition.findMethod(
+                    "handle", String.class, Audit.class, Pool.class, Instance.class
+            ).orElseThrow();
+
+            MethodExecutionPlan<PlannedBean, Object> plan = beanContainer.createExecutionPlan(beanDefinition, method, i -> i == 0);
+            assertEquals(4, plan.getArgumentCount());
+
+            Object[] values = new Object[plan.getArgumentCount()];
+            values[0] = "event";
+            assertEquals("event:secondary", plan.execute(values));
+
+            assertEquals("event", values[0]);
+            assertSame(container.select(Audit.class).get(), values[1]);
+            assertEquals("secondary", ((Pool) values[2]).name());
+            assertInstanceOf(Instance.class, values[3]);
+            assertFalse(((Instance<?>) values[3]).isUnsatisfied());
+
+            Object[] next = new Object[plan.getArgumentCount()];
+            next[0] = "next";
+            assertEquals("next:secondary", plan.execute(next));
+            assertSame(values[1], next[1]);
+            assertSame(values[2], next[2]);
+        }
+    }
+
+    @Test
+    void testSuppliedArgumentsAreNotResolved() {
+        try (SeContainer container = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            BeanDefinition<PlannedBean> beanDefinition = beanContainer.getBeanContext().getBeanDefinition(PlannedBean.class);
+            ExecutableMethod<PlannedBean, Object> method = beanDefinition.findMethod(
+                    "handle", String.class, Audit.class, Pool.class, Instance.class
+            ).orElseThrow();
+
+            MethodExecutionPlan<PlannedBean, Object> plan = beanContainer.createExecutionPlan(beanDefinition, method, i -> i != 3);
+            Pool pool = () -> "supplied";
+            Object[] values = new Object[]{"event", null, pool, null};
+            assertEquals("event:supplied", plan.execute(values));
+
+            assertNull(values[1]);
+            assertSame(pool, values[2]);
+            assertInstanceOf(Instance.class, values[3]);
+        }
+    }
+
+    @Test
+    void testDisposerParametersAreResolved() {
+        Connection connection;
+        try (SeContainer container = SeContainerInitializer.newInstance().initialize()) {
+            connection = container.select(Connection.class).get();
+            assertNull(connection.closedBy);
+        }
+        assertEquals("secondary", connection.closedBy);
+        assertTrue(connection.audited);
+    }
+
+    interface Pool {
+        String name();
+    }
+
+    @Singleton
+    @Named("primary")
+    static class PrimaryPool implements Pool {
+        @Override
+        public String name() {
+            return "primary";
+        }
+    }
+
+    @Singleton
+    @Named("secondary")
+    static class SecondaryPool implements Pool {
+        @Override
+        public String name() {
+            return "secondary";
+        }
+    }
+
+    @Singleton
+    static class Audit {
+    }
+
+    static class Connection {
+        String closedBy;
+        boolean audited;
+    }
+
+    @Singleton
+    static class PlannedBean {
+
+        @Executable
+        String handle(String event, Audit audit, @Named("secondary") Pool pool, Instance<Audit> audits) {
+            return event + ":" + pool.name();
+        }
+    }
+
+    @Singleton
+    static class ConnectionProducer {
+
+        @Produces
+        @Singleton
+        Connection connection() {
+            return new Connection();
+        }
+
+        void close(Audit audit, @Disposes Connection connection, @Named("secondary") Pool pool) {
+            connection.audited = audit != null;
+            connection.closedBy = pool.name();
+        }
+    }
+}
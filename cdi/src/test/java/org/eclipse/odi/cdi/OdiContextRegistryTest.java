@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.context.NormalScope;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.context.spi.Context;
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OdiContextRegistryTest {
+
+    @Test
+    void testActiveContextLookup() {
+        try (SeContainer container = SeContainerInitializer.newInstance().initialize()) {
+            OdiContextRegistry registry = new OdiContextRegistry(getBeanContext());
+
+            Context context = registry.getActiveContext(ApplicationScoped.class);
+            assertEquals(ApplicationScoped.class, context.getScope());
+            assertSame(context, registry.getActiveContext(ApplicationScoped.class));
+            assertSame(context, registry.findContext(ApplicationScoped.class.getName()));
+        }
+    }
+
+    @Test
+    void testInactiveContext() {
+        try (SeContainer container = SeContainerInitializer.newInstance().initialize()) {
+            OdiContextRegistry registry = new OdiContextRegistry(getBeanContext());
+
+            assertNotNull(registry.findContext(RequestScoped.class.getName()));
+            assertThrows(ContextNotActiveException.class, () -> registry.getActiveContext(RequestScoped.class));
+        }
+    }
+
+    @Test
+    void testMissingContext() {
+        try (SeContainer container = SeContainerInitializer.newInstance().initialize()) {
+            OdiContextRegistry registry = new OdiContextRegistry(getBeanContext());
+
+            assertNull(registry.findContext(TestScoped.class.getName()));
+            assertThrows(ContextNotActiveException.class, () -> registry.getActiveContext(TestScoped.class));
+        }
+    }
+
+    @Test
+    void testMoreThanOneContext() {
+        try (SeContainer container = SeContainerInitializer.newInstance().initialize()) {
+            BeanContext beanContext = getBeanContext();
+            beanContext.registerSingleton(Context.class, new TestContext(), Qualifiers.byName("first"), false);
+            beanContext.registerSingleton(Context.class, new TestContext(), Qualifiers.byName("second"), false);
+            OdiContextRegistry registry = new OdiContextRegistry(beanContext);
+
+            assertThrows(IllegalArgumentException.class, () -> registry.getActiveContext(TestScoped.class));
+            assertThrows(IllegalStateException.class, () -> registry.findContext(TestScoped.class.getName()));
+        }
+    }
+
+    private static BeanContext getBeanContext() {
+        return ((OdiBeanContainer) CDI.current().getBeanContainer()).getBeanContext();
+    }
+
+    @NormalScope
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface TestScoped {
+    }
+
+    static final class TestContext implements Context {
+
+        @Override
+        public Class<? extends Annotation> getScope() {
+            return TestScoped.class;
+        }
+
+        @Override
+        public <T> T get(Contextual<T> contextual, CreationalContext<T> creationalContext) {
+            return null;
+        }
+
+        @Override
+        public <T> T get(Contextual<T> contextual) {
+            return null;
+        }
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+    }
+}
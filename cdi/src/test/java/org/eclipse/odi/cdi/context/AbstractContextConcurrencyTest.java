@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.context;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.spi.Context;
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.CreationException;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanContainer;
+import jakarta.enterprise.inject.spi.CDI;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class AbstractContextConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    @RepeatedTest(20)
+    void testSingleCreationUnderContention() throws Exception {
+        TestContext context = new TestContext();
+        CountingContextual contextual = new CountingContextual(5);
+
+        List<Object> instances = runConcurrently(() -> context.get(contextual, new TestCreationalContext<>()));
+
+        assertEquals(1, contextual.created.get());
+        assertEquals(1, distinct(instances).size());
+        assertSame(instances.get(0), context.get(contextual));
+    }
+
+    @Test
+    void testContextualsAreCreatedIndependently() throws Exception {
+        TestContext context = new TestContext();
+        List<CountingContextual> contextuals = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            contextuals.add(new CountingContextual(1));
+        }
+        AtomicInteger counter = new AtomicInteger();
+
+        runConcurrently(() -> {
+            CountingContextual contextual = contextuals.get(counter.getAndIncrement() % contextuals.size());
+            return context.get(contextual, new TestCreationalContext<>());
+        });
+
+        for (CountingContextual contextual : contextuals) {
+            assertEquals(1, contextual.created.get());
+        }
+    }
+
+    @Test
+    void testRecreatedAfterDestroy() throws Exception {
+        TestContext context = new TestContext();
+        CountingContextual contextual = new CountingContextual(0);
+        Object first = context.get(contextual, new TestCreationalContext<>());
+        context.destroy(contextual);
+
+        List<Object> instances = runConcurrently(() -> context.get(contextual, new TestCreationalContext<>()));
+
+        assertEquals(2, contextual.created.get());
+        assertEquals(1, distinct(instances).size());
+        assertEquals(1, contextual.destroyed.get());
+        assertFalse(instances.contains(first));
+    }
+
+    @Test
+    void testCreationGuardsAreRemoved() throws Exception {
+        ContextStorage storage = new ContextStorage();
+        AtomicInteger counter = new AtomicInteger();
+
+        runConcurrently(() -> storage.getOrCreate(new CountingContextual(0), new TestCreationalContext<>()));
+        runConcurrently(() -> {
+            CountingContextual contextual = new CountingContextual(1);
+            if (counter.getAndIncrement() % 2 == 0) {
+                contextual.failing = true;
+            }
+            try {
+                return storage.getOrCreate(contextual, new TestCreationalContext<>());
+            } catch (IllegalStateException e) {
+                return e;
+            }
+        });
+
+        assertEquals(0, storage.getPendingCreationCount());
+    }
+
+    @RepeatedTest(5)
+    void testCircularCreationBetweenThreadsFails() throws Exception {
+        ContextStorage storage = new ContextStorage();
+        CountDownLatch bothCreating = new CountDownLatch(2);
+        CyclicContextual first = new CyclicContextual(storage, bothCreating);
+        CyclicContextual second = new CyclicContextual(storage, bothCreating);
+        first.other = second;
+        second.other = first;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> firstResult = executor.submit(() -> storage.getOrCreate(first, new TestCreationalContext<>()));
+            Future<Object> secondResult = executor.submit(() -> storage.getOrCreate(second, new TestCreationalContext<>()));
+
+            int failures = 0;
+            for (Future<Object> result : List.of(firstResult, secondResult)) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertInstanceOf(CreationException.class, e.getCause());
+                    failures++;
+                }
+            }
+            assertEquals(1, failures);
+            assertEquals(0, storage.getPendingCreationCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @RepeatedTest(5)
+    void testApplicationScopedBeanIsConstructedOnce() throws Exception {
+        try (SeContainer container = SeContainerInitializer.newInstance().initialize()) {
+            ColdBean.CONSTRUCTED.set(0);
+            BeanContainer beanContainer = CDI.current().getBeanContainer();
+            @SuppressWarnings("unchecked")
+            Bean<ColdBean> bean = (Bean<ColdBean>) beanContainer.getBeans(ColdBean.class).iterator().next();
+            Context context = beanContainer.getContext(ApplicationScoped.class);
+
+            List<Object> instances = runConcurrently(() -> context.get(bean, beanContainer.createCreationalContext(bean)).id());
+
+            assertEquals(1, ColdBean.CONSTRUCTED.get());
+            assertEquals(1, distinct(instances).size());
+        }
+    }
+
+    private static List<Object> runConcurrently(Callable<Object> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Set<Object> distinct(List<Object> instances) {
+        Set<Object> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(instances);
+        return set;
+    }
+
+    static final class TestContext extends AbstractContext {
+        @Override
+        public Class<? extends Annotation> getScope() {
+            return ApplicationScoped.class;
+        }
+    }
+
+    static final class CountingContextual implements Contextual<Object> {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger destroyed = new AtomicInteger();
+        volatile boolean failing;
+        private final long creationDelay;
+
+        CountingContextual(long creationDelay) {
+            this.creationDelay = creationDelay;
+        }
+
+        @Override
+        public Object create(CreationalContext<Object> creationalContext) {
+            created.incrementAndGet();
+            try {
+                Thread.sleep(creationDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing) {
+                throw new IllegalStateException("Creation failed");
+            }
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object instance, CreationalContext<Object> creationalContext) {
+            destroyed.incrementAndGet();
+        }
+    }
+
+    static final class CyclicContextual implements Contextual<Object> {
+        private final ContextStorage storage;
+        private final CountDownLatch bothCreating;
+        private final AtomicBoolean requiresOther = new AtomicBoolean(true);
+        private CyclicContextual other;
+
+        CyclicContextual(ContextStorage storage, CountDownLatch bothCreating) {
+            this.storage = storage;
+            this.bothCreating = bothCreating;
+        }
+
+        @Override
+        public Object create(CreationalContext<Object> creationalContext) {
+            if (requiresOther.compareAndSet(true, false)) {
+                bothCreating.countDown();
+                try {
+                    bothCreating.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                storage.getOrCreate(other, new TestCreationalContext<>());
+            }
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object instance, CreationalContext<Object> creationalContext) {
+        }
+    }
+
+    static final class TestCreationalContext<T> implements CreationalContext<T> {
+        @Override
+        public void push(T incompleteInstance) {
+        }
+
+        @Override
+        public void release() {
+        }
+    }
+
+    @ApplicationScoped
+    static class ColdBean {
+        static final AtomicInteger CONSTRUCTED = new AtomicInteger();
+        private Object id;
+
+        @PostConstruct
+        void init() {
+            CONSTRUCTED.incrementAndGet();
+            id = new Object();
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        Object id() {
+            return id;
+        }
+    }
+}
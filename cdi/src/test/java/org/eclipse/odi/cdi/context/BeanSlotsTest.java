@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.context;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.inject.BeanDefinition;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import org.eclipse.odi.cdi.OdiBean;
+import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.eclipse.odi.cdi.OdiBeanImpl;
+import org.eclipse.odi.cdi.context.AbstractContextConcurrencyTest.CountingContextual;
+import org.eclipse.odi.cdi.context.AbstractContextConcurrencyTest.TestCreationalContext;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BeanSlotsTest {
+
+    @Test
+    void testSlotAssignment() {
+        try (SeContainer container = SeContainerInitializer.newInstance().initialize()) {
+            BeanContext beanContext = getBeanContext();
+            BeanSlots beanSlots = BeanSlots.of(beanContext);
+            assertSame(beanContext.getBean(BeanSlots.class), beanSlots);
+            // The slots are assigned at the startup
+            int applicationScoped = beanSlots.size(ApplicationScoped.class);
+            int requestScoped = beanSlots.size(RequestScoped.class);
+            assertTrue(applicationScoped >= 2);
+            assertTrue(requestScoped >= 1);
+
+            BeanDefinition<First> first = beanContext.getBeanDefinition(First.class);
+            BeanDefinition<Second> second = beanContext.getBeanDefinition(Second.class);
+            BeanDefinition<Third> third = beanContext.getBeanDefinition(Third.class);
+            int firstSlot = beanSlots.getSlot(ApplicationScoped.class, first);
+            int secondSlot = beanSlots.getSlot(ApplicationScoped.class, second);
+            int thirdSlot = beanSlots.getSlot(RequestScoped.class, third);
+
+            assertNotEquals(firstSlot, secondSlot);
+            assertTrue(firstSlot >= 0 && firstSlot < applicationScoped);
+            assertTrue(secondSlot >= 0 && secondSlot < applicationScoped);
+            assertTrue(thirdSlot >= 0 && thirdSlot < requestScoped);
+            assertEquals(firstSlot, beanSlots.getSlot(ApplicationScoped.class, first));
+            assertEquals(secondSlot, beanSlots.getSlot(ApplicationScoped.class, second));
+            assertEquals(applicationScoped, beanSlots.size(ApplicationScoped.class));
+            assertEquals(requestScoped, beanSlots.size(RequestScoped.class));
+        }
+    }
+
+    @Test
+    void testBeansOfPseudoScopesHaveNoSlot() {
+        try (SeContainer container = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            BeanContext beanContext = beanContainer.getBeanContext();
+
+            assertEquals(-1, beanContainer.getBean(beanContext.getBeanDefinition(Fourth.class)).getSlot());
+            assertTrue(beanContainer.getBean(beanContext.getBeanDefinition(Third.class)).getSlot() >= 0);
+        }
+    }
+
+    @Test
+    void testNotInternedBeansShareTheSlot() {
+        try (SeContainer container = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            BeanContext beanContext = beanContainer.getBeanContext();
+            BeanDefinition<First> definition = beanContext.getBeanDefinition(First.class);
+            OdiBean<First> interned = beanContainer.getBean(definition);
+            OdiBeanImpl<First> notInterned = new OdiBeanImpl<>(beanContext, definition);
+            OdiBeanImpl<First> otherNotInterned = new OdiBeanImpl<>(beanContext, definition);
+
+            assertNotSame(interned, notInterned);
+            assertEquals(interned.getSlot(), notInterned.getSlot());
+            assertEquals(interned.getSlot(), otherNotInterned.getSlot());
+
+            ContextStorage storage = new ContextStorage();
+            First instance = storage.getOrCreate(notInterned, beanContainer.createCreationalContext(notInterned));
+            assertSame(instance, storage.get(otherNotInterned));
+            assertSame(instance, storage.get(interned));
+        }
+    }
+
+    @Test
+    void testSlotArrayGrowsBeyondTheInitialSize() {
+        ContextStorage storage = new ContextStorage();
+        AtomicInteger created = new AtomicInteger();
+        OdiBean<Object> low = slotted(1, created);
+        OdiBean<Object> high = slotted(1000, created);
+
+        Object lowInstance = storage.getOrCreate(low, new TestCreationalContext<>());
+        Object highInstance = storage.getOrCreate(high, new TestCreationalContext<>());
+
+        assertNotSame(lowInstance, highInstance);
+        assertSame(lowInstance, storage.get(low));
+        assertSame(highInstance, storage.get(high));
+        assertSame(highInstance, storage.getOrCreate(slotted(1000, created), new TestCreationalContext<>()));
+        assertEquals(2, created.get());
+        assertNull(storage.get(slotted(999, created)));
+    }
+
+    @Test
+    void testContextualsWithoutSlotUseTheMap() {
+        ContextStorage storage = new ContextStorage();
+        CountingContextual first = new CountingContextual(0);
+        CountingContextual second = new CountingContextual(0);
+        OdiBean<Object> slotZero = slotted(0, new AtomicInteger());
+
+        Object firstInstance = storage.getOrCreate(first, new TestCreationalContext<>());
+        Object secondInstance = storage.getOrCreate(second, new TestCreationalContext<>());
+        Object slottedInstance = storage.getOrCreate(slotZero, new TestCreationalContext<>());
+
+        assertNotSame(firstInstance, secondInstance);
+        assertSame(firstInstance, storage.get(first));
+        assertSame(secondInstance, storage.get(second));
+        assertSame(slottedInstance, storage.get(slotZero));
+
+        storage.destroy(first);
+        assertNull(storage.get(first));
+        assertSame(secondInstance, storage.get(second));
+        assertSame(slottedInstance, storage.get(slotZero));
+        assertEquals(1, first.destroyed.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static OdiBean<Object> slotted(int slot, AtomicInteger created) {
+        return (OdiBean<Object>) Proxy.newProxyInstance(
+                BeanSlotsTest.class.getClassLoader(),
+                new Class<?>[]{OdiBean.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getSlot":
+                            return slot;
+                        case "create":
+                            created.incrementAndGet();
+                            return new Object();
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                }
+        );
+    }
+
+    private static BeanContext getBeanContext() {
+        return ((OdiBeanContainer) CDI.current().getBeanContainer()).getBeanContext();
+    }
+
+    @ApplicationScoped
+    static class First {
+    }
+
+    @ApplicationScoped
+    static class Second {
+    }
+
+    @RequestScoped
+    static class Third {
+    }
+
+    @Dependent
+    static class Fourth {
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.context;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.context.control.RequestContextController;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import org.eclipse.odi.cdi.context.AbstractContextConcurrencyTest.CountingContextual;
+import org.eclipse.odi.cdi.context.AbstractContextConcurrencyTest.TestCreationalContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ContextPropagationTest {
+
+    @Test
+    void testRequestIsPropagatedToExecutor() throws Exception {
+        RequestContext context = new RequestContext();
+        ContextPropagation propagation = new ContextPropagation(context);
+        CountingContextual contextual = new CountingContextual(0);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            assertTrue(propagation.capture().isEmpty());
+            Executor executor = propagation.wrap(executorService);
+            assertSame(executor, propagation.wrap(executor));
+
+            assertTrue(context.activateRequest());
+            Object instance = context.get(contextual, new TestCreationalContext<>());
+            Object propagated = CompletableFuture.supplyAsync(() -> context.get(contextual), executor)
+                    .get(30, TimeUnit.SECONDS);
+            assertSame(instance, propagated);
+            // The request is not leaked to the executor thread
+            assertNull(executorService.submit(() -> context.get(contextual)).get(30, TimeUnit.SECONDS));
+            context.deactivateRequest();
+            assertEquals(1, contextual.created.get());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDestructionIsDeferredUntilPropagatedTaskCompletes() throws Exception {
+        RequestContext context = new RequestContext();
+        ContextPropagation propagation = new ContextPropagation(context);
+        CountingContextual contextual = new CountingContextual(0);
+        context.activateRequest();
+        context.get(contextual, new TestCreationalContext<>());
+        Runnable task = propagation.wrap(() -> {
+            assertTrue(context.isActive());
+            context.destroy(contextual);
+        });
+        context.deactivateRequest();
+        assertEquals(0, contextual.destroyed.get());
+        Thread thread = new Thread(task);
+        thread.start();
+        thread.join(30_000);
+        assertEquals(1, contextual.destroyed.get());
+    }
+
+    @Test
+    void testDependentStagesUseTheContextOfTheirCreation() throws Exception {
+        RequestContext context = new RequestContext();
+        ContextPropagation propagation = new ContextPropagation(context);
+        CountingContextual contextual = new CountingContextual(0);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<Object> source = new CompletableFuture<>();
+            assertTrue(context.activateRequest());
+            Object instance = context.get(contextual, new TestCreationalContext<>());
+            CompletionStage<Object> stage = propagation.wrap(source);
+            CompletableFuture<Object> applied = stage.thenApply(ignore -> context.get(contextual)).toCompletableFuture();
+            CompletableFuture<Object> appliedAsync = stage.thenApplyAsync(ignore -> context.get(contextual), executorService)
+                    .thenApply(ignore -> context.get(contextual))
+                    .toCompletableFuture();
+            context.deactivateRequest();
+
+            // The previous stage is completed by a thread without the request
+            Thread thread = new Thread(() -> source.complete("done"));
+            thread.start();
+            thread.join(30_000);
+
+            assertSame(instance, applied.get(30, TimeUnit.SECONDS));
+            assertSame(instance, appliedAsync.get(30, TimeUnit.SECONDS));
+            assertEquals(1, contextual.created.get());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRejectedTaskReleasesRequest() {
+        RequestContext context = new RequestContext();
+        ContextPropagation propagation = new ContextPropagation(context);
+        CountingContextual contextual = new CountingContextual(0);
+        Executor executor = propagation.wrap((Executor) command -> {
+            throw new RejectedExecutionException("rejected");
+        });
+        ReleaseCountingCreationalContext creationalContext = new ReleaseCountingCreationalContext();
+        context.activateRequest();
+        context.get(contextual, creationalContext);
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        context.deactivateRequest();
+
+        // Released by the thread of the rejection
+        assertEquals(1, creationalContext.released.get());
+        assertTrue(context.activateRequest());
+        context.deactivateRequest();
+    }
+
+    @Test
+    void testSkippedDependentStageReleasesRequest() {
+        RequestContext context = new RequestContext();
+        ContextPropagation propagation = new ContextPropagation(context);
+        CountingContextual contextual = new CountingContextual(0);
+        CompletableFuture<String> source = new CompletableFuture<>();
+        ReleaseCountingCreationalContext creationalContext = new ReleaseCountingCreationalContext();
+        context.activateRequest();
+        context.get(contextual, creationalContext);
+        CompletionStage<String> applied = propagation.wrap(source).thenApply(value -> value);
+        context.deactivateRequest();
+        assertEquals(0, creationalContext.released.get());
+
+        source.completeExceptionally(new IllegalStateException("failed"));
+        assertTrue(applied.toCompletableFuture().isCompletedExceptionally());
+        assertEquals(1, creationalContext.released.get());
+    }
+
+    @Test
+    void testDiscardedSnapshotReleasesRequest() {
+        RequestContext context = new RequestContext();
+        ContextPropagation propagation = new ContextPropagation(context);
+        CountingContextual contextual = new CountingContextual(0);
+        ReleaseCountingCreationalContext creationalContext = new ReleaseCountingCreationalContext();
+        context.activateRequest();
+        context.get(contextual, creationalContext);
+        ContextSnapshot snapshot = propagation.capture();
+        context.deactivateRequest();
+        assertEquals(0, creationalContext.released.get());
+        snapshot.discard();
+        snapshot.discard();
+        assertEquals(1, creationalContext.released.get());
+        assertThrows(IllegalStateException.class, () -> snapshot.run(() -> { }));
+    }
+
+    @Test
+    void testSnapshotIsRestoredOnce() {
+        RequestContext context = new RequestContext();
+        ContextPropagation propagation = new ContextPropagation(context);
+        context.activateRequest();
+        ContextSnapshot snapshot = propagation.capture();
+        context.deactivateRequest();
+        snapshot.run(() -> assertTrue(context.isActive()));
+        assertThrows(IllegalStateException.class, () -> snapshot.run(() -> { }));
+    }
+
+    @Test
+    void testAsyncObserverUsesCallerRequest() throws Exception {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            RequestContextController controller = CDI.current().select(RequestContextController.class).get();
+            assertTrue(controller.activate());
+            try {
+                RequestCounter counter = CDI.current().select(RequestCounter.class).get();
+                counter.increment();
+                Event<Ping> event = CDI.current().getBeanContainer().getEvent().select(Ping.class);
+                event.fireAsync(new Ping()).toCompletableFuture().get(30, TimeUnit.SECONDS);
+                assertEquals(2, counter.get());
+            } finally {
+                controller.deactivate();
+            }
+        }
+    }
+
+    static final class ReleaseCountingCreationalContext implements CreationalContext<Object> {
+        final AtomicInteger released = new AtomicInteger();
+
+        @Override
+        public void push(Object incompleteInstance) {
+        }
+
+        @Override
+        public void release() {
+            released.incrementAndGet();
+        }
+    }
+
+    static final class Ping {
+    }
+
+    @ApplicationScoped
+    static class PingObserver {
+        void onPing(@ObservesAsync Ping ping, RequestCounter counter) {
+            counter.increment();
+        }
+    }
+
+    @RequestScoped
+    static class RequestCounter {
+        private int count;
+
+        public void increment() {
+            count++;
+        }
+
+        public int get() {
+            return count;
+        }
+    }
+}
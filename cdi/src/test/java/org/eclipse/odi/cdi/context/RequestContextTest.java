@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.context;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.context.control.RequestContextController;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import org.eclipse.odi.cdi.context.AbstractContextConcurrencyTest.CountingContextual;
+import org.eclipse.odi.cdi.context.AbstractContextConcurrencyTest.TestCreationalContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestContextTest {
+
+    @Test
+    void testRequestsAreIsolatedPerThread() throws Exception {
+        RequestContext context = new RequestContext();
+        CountingContextual contextual = new CountingContextual(0);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertTrue(context.activateRequest());
+            Object first = context.get(contextual, new TestCreationalContext<>());
+            assertSame(first, context.get(contextual));
+
+            Object other = executor.submit(() -> {
+                assertTrue(context.activateRequest());
+                try {
+                    assertNull(context.get(contextual));
+                    return context.get(contextual, new TestCreationalContext<>());
+                } finally {
+                    context.deactivateRequest();
+                }
+            }).get(30, TimeUnit.SECONDS);
+
+            assertNotSame(first, other);
+            assertSame(first, context.get(contextual));
+            context.deactivateRequest();
+            assertNull(context.get(contextual));
+            assertEquals(2, contextual.created.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testActivationIsNotReentrant() {
+        RequestContext context = new RequestContext();
+        assertThrows(ContextNotActiveException.class, context::deactivateRequest);
+        assertTrue(context.activateRequest());
+        assertFalse(context.activateRequest());
+        context.deactivateRequest();
+        assertThrows(ContextNotActiveException.class, context::deactivateRequest);
+    }
+
+    @Test
+    void testDeactivatedContextIsActiveForActivatedRequest() {
+        RequestContext context = new RequestContext();
+        context.deactivate();
+        assertFalse(context.isActive());
+        assertTrue(context.activateRequest());
+        assertTrue(context.isActive());
+        context.deactivateRequest();
+        assertFalse(context.isActive());
+    }
+
+    @Test
+    void testRequestContextController() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            RequestContextController controller = CDI.current().select(RequestContextController.class).get();
+            RequestContextController other = CDI.current().select(RequestContextController.class).get();
+            assertTrue(controller.activate());
+            assertFalse(other.activate());
+            assertThrows(ContextNotActiveException.class, other::deactivate);
+            controller.deactivate();
+            assertThrows(ContextNotActiveException.class, controller::deactivate);
+        }
+    }
+
+    @Test
+    void testActivateRequestContextInterceptor() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            RequestService service = CDI.current().select(RequestService.class).get();
+            Object first = service.requestId();
+            Object second = service.requestId();
+            assertNotSame(first, second);
+        }
+    }
+
+    @ApplicationScoped
+    static class RequestService {
+        private final RequestData requestData;
+
+        RequestService(RequestData requestData) {
+            this.requestData = requestData;
+        }
+
+        @ActivateRequestContext
+        public Object requestId() {
+            return requestData.id();
+        }
+    }
+
+    @RequestScoped
+    static class RequestData {
+        private final Object id = new Object();
+
+        public Object id() {
+            return id;
+        }
+    }
+}
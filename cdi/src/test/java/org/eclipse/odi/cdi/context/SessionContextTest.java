@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.context;
+
+import io.micronaut.inject.BeanDefinition;
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.context.SessionScoped;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.spi.InjectionPoint;
+import org.eclipse.odi.cdi.OdiBean;
+import org.eclipse.odi.cdi.context.AbstractContextConcurrencyTest.CountingContextual;
+import org.eclipse.odi.cdi.context.AbstractContextConcurrencyTest.TestCreationalContext;
+import org.eclipse.odi.cdi.context.ContextPropagationTest.ReleaseCountingCreationalContext;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SessionContextTest {
+
+    @Test
+    void testSessionsAreIsolated() {
+        SessionContext context = new SessionContext(10, Duration.ofMinutes(30), Duration.ZERO);
+        CountingContextual contextual = new CountingContextual(0);
+
+        assertTrue(context.activateSession("a"));
+        assertFalse(context.activateSession("b"));
+        Object a = context.get(contextual, new TestCreationalContext<>());
+        context.deactivateSession();
+
+        context.activateSession("b");
+        assertNull(context.get(contextual));
+        Object b = context.get(contextual, new TestCreationalContext<>());
+        context.deactivateSession();
+        assertNotSame(a, b);
+
+        context.activateSession("a");
+        assertSame(a, context.get(contextual));
+        context.deactivateSession();
+
+        assertEquals(2, context.getSessionCount());
+        assertThrows(ContextNotActiveException.class, context::deactivateSession);
+    }
+
+    @Test
+    void testLeastRecentlyUsedSessionIsEvicted() {
+        SessionContext context = new SessionContext(2, Duration.ofMinutes(30), Duration.ZERO);
+        CountingContextual contextual = new CountingContextual(0);
+        for (String id : new String[] {"a", "b", "a", "c"}) {
+            context.activateSession(id);
+            context.get(contextual, new TestCreationalContext<>());
+            context.deactivateSession();
+        }
+        assertEquals(2, context.getSessionCount());
+        assertEquals(1, context.getEvictionCount());
+        assertEquals(3, contextual.created.get());
+
+        context.activateSession("b");
+        assertNull(context.get(contextual));
+        context.deactivateSession();
+        context.activateSession("a");
+        assertNull(context.get(contextual));
+        context.deactivateSession();
+    }
+
+    @Test
+    void testIdleSessionIsSwept() throws Exception {
+        SessionContext context = new SessionContext(10, Duration.ofMillis(50), Duration.ZERO);
+        CountingContextual contextual = new CountingContextual(0);
+        context.activateSession("a");
+        context.get(contextual, new TestCreationalContext<>());
+        context.deactivateSession();
+        context.activateSession("active");
+        Thread.sleep(100);
+
+        context.sweep();
+        assertEquals(0, context.getSessionCount());
+        assertEquals(2, context.getEvictionCount());
+        // The session active in this thread is still usable
+        assertTrue(context.isActive());
+        context.get(contextual, new TestCreationalContext<>());
+        context.deactivateSession();
+    }
+
+    @Test
+    void testInvalidateSession() {
+        SessionContext context = new SessionContext(10, Duration.ofMinutes(30), Duration.ZERO);
+        CountingContextual contextual = new CountingContextual(0);
+        context.activateSession("a");
+        Object instance = context.get(contextual, new TestCreationalContext<>());
+        assertTrue(context.invalidateSession("a"));
+        assertFalse(context.invalidateSession("a"));
+        assertSame(instance, context.get(contextual));
+        context.deactivateSession();
+        assertEquals(0, context.getSessionCount());
+    }
+
+    @Test
+    void testSweeperIsStopped() {
+        SessionContext context = new SessionContext(10, Duration.ofMillis(50), Duration.ofMillis(10));
+        context.activateSession("a");
+        context.deactivateSession();
+        context.destroy();
+        assertEquals(0, context.getSessionCount());
+        context.close();
+    }
+
+    @Test
+    void testIdleSessionIsPassivated() throws Exception {
+        SessionContext context = new SessionContext(10, Duration.ZERO, Duration.ZERO, Duration.ofMillis(50));
+        SlotContextual serializable = new SlotContextual(0, true);
+        SlotContextual other = new SlotContextual(1, true);
+        try {
+            context.activateSession("a");
+            List<String> instance = context.get(serializable, new TestCreationalContext<>());
+            instance.add("value");
+            context.get(other, new TestCreationalContext<>());
+            context.deactivateSession();
+            Thread.sleep(100);
+
+            context.sweep();
+            assertEquals(1, context.getPassivatedSessionCount());
+
+            context.activateSession("a");
+            assertEquals(0, context.getPassivatedSessionCount());
+            List<String> activated = context.get(serializable);
+            assertNotSame(instance, activated);
+            assertEquals(List.of("value"), activated);
+            assertEquals(1, serializable.created);
+            context.deactivateSession();
+        } finally {
+            context.close();
+        }
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void testPassivatedCreationalContextsAreReleasedWithTheSession() throws Exception {
+        SessionContext context = new SessionContext(10, Duration.ZERO, Duration.ZERO, Duration.ofMillis(50));
+        SlotContextual serializable = new SlotContextual(0, true);
+        ReleaseCountingCreationalContext creationalContext = new ReleaseCountingCreationalContext();
+        try {
+            context.activateSession("a");
+            context.get(serializable, (CreationalContext) creationalContext);
+            context.deactivateSession();
+            Thread.sleep(100);
+
+            context.sweep();
+            assertEquals(1, context.getPassivatedSessionCount());
+            // The passivation doesn't destroy anything
+            assertEquals(0, creationalContext.released.get());
+
+            context.activateSession("a");
+            context.deactivateSession();
+            assertEquals(0, creationalContext.released.get());
+            context.invalidateSession("a");
+            assertEquals(1, creationalContext.released.get());
+        } finally {
+            context.close();
+        }
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void testInvalidatedPassivatedSessionReleasesCreationalContexts() throws Exception {
+        SessionContext context = new SessionContext(10, Duration.ZERO, Duration.ZERO, Duration.ofMillis(50));
+        SlotContextual serializable = new SlotContextual(0, true);
+        ReleaseCountingCreationalContext creationalContext = new ReleaseCountingCreationalContext();
+        try {
+            context.activateSession("a");
+            context.get(serializable, (CreationalContext) creationalContext);
+            context.deactivateSession();
+            Thread.sleep(100);
+
+            context.sweep();
+            assertEquals(1, context.getPassivatedSessionCount());
+            assertTrue(context.invalidateSession("a"));
+            assertEquals(0, context.getPassivatedSessionCount());
+            assertEquals(1, creationalContext.released.get());
+        } finally {
+            context.close();
+        }
+    }
+
+    @Test
+    void testSessionWithNotSerializableInstanceIsNotPassivated() throws Exception {
+        SessionContext context = new SessionContext(10, Duration.ZERO, Duration.ZERO, Duration.ofMillis(50));
+        SlotContextual serializable = new SlotContextual(0, true);
+        SlotContextual notSerializable = new SlotContextual(1, false);
+        try {
+            context.activateSession("a");
+            List<String> instance = context.get(serializable, new TestCreationalContext<>());
+            context.get(notSerializable, new TestCreationalContext<>());
+            context.deactivateSession();
+            Thread.sleep(100);
+
+            context.sweep();
+            assertEquals(0, context.getPassivatedSessionCount());
+            context.activateSession("a");
+            assertSame(instance, context.get(serializable));
+            context.deactivateSession();
+        } finally {
+            context.close();
+        }
+    }
+
+    static final class SlotContextual implements OdiBean<List<String>> {
+        private final int slot;
+        private final boolean serializable;
+        private int created;
+
+        SlotContextual(int slot, boolean serializable) {
+            this.slot = slot;
+            this.serializable = serializable;
+        }
+
+        @Override
+        public List<String> create(CreationalContext<List<String>> creationalContext) {
+            created++;
+            if (serializable) {
+                return new ArrayList<>();
+            }
+            return new ArrayList<>() {
+                private final Object notSerializable = new Object();
+            };
+        }
+
+        @Override
+        public void destroy(List<String> instance, CreationalContext<List<String>> creationalContext) {
+        }
+
+        @Override
+        public int getSlot() {
+            return slot;
+        }
+
+        @Override
+        public boolean isProxy() {
+            return false;
+        }
+
+        @Override
+        public OdiBean<List<String>> getProxyTargetBean() {
+            return this;
+        }
+
+        @Override
+        public BeanDefinition<List<String>> getBeanDefinition() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Class<?> getBeanClass() {
+            return List.class;
+        }
+
+        @Override
+        public Set<InjectionPoint> getInjectionPoints() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Set<Type> getTypes() {
+            return Set.of(List.class);
+        }
+
+        @Override
+        public Set<Annotation> getQualifiers() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Class<? extends Annotation> getScope() {
+            return SessionScoped.class;
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+
+        @Override
+        public Set<Class<? extends Annotation>> getStereotypes() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public boolean isAlternative() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.context;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SessionSpillFileTest {
+
+    @Test
+    void testWriteAndTake() throws IOException {
+        try (SessionSpillFile spillFile = SessionSpillFile.createTemporary()) {
+            assertTrue(spillFile.write("a", bytes("first")));
+            assertTrue(spillFile.write("b", bytes("second")));
+            assertTrue(spillFile.write("a", bytes("third")));
+            assertEquals(2, spillFile.size());
+
+            assertArrayEquals(bytes("third"), spillFile.take("a"));
+            assertNull(spillFile.take("a"));
+            assertArrayEquals(bytes("second"), spillFile.take("b"));
+            assertEquals(0, spillFile.size());
+            assertEquals(0, spillFile.getUsedBytes());
+        }
+    }
+
+    @Test
+    void testCompaction() throws IOException {
+        byte[] record = new byte[1024 * 1024];
+        try (SessionSpillFile spillFile = SessionSpillFile.createTemporary()) {
+            for (int i = 0; i < 40; i++) {
+                record[0] = (byte) i;
+                assertTrue(spillFile.write("session-" + i, record));
+            }
+            for (int i = 0; i < 30; i++) {
+                spillFile.remove("session-" + i);
+            }
+            // Compacted once less than half of the file was live
+            assertEquals(19 * record.length, spillFile.getUsedBytes());
+            for (int i = 30; i < 40; i++) {
+                byte[] bytes = spillFile.take("session-" + i);
+                assertEquals(record.length, bytes.length);
+                assertEquals((byte) i, bytes[0]);
+            }
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.core.type.Argument;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.NotificationOptions;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncEventDispatcherTest {
+
+    @Test
+    void testObserversOfBeanAreNotifiedByOneTask() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            AtomicInteger tasks = new AtomicInteger();
+            NotificationOptions options = NotificationOptions.ofExecutor(task -> {
+                tasks.incrementAndGet();
+                executorService.execute(task);
+            });
+
+            Job job = new Job();
+            CompletableFuture<Job> future = beanContainer.getEvent().select(Job.class).fireAsync(job, options).toCompletableFuture();
+
+            assertSame(job, future.get(10, TimeUnit.SECONDS));
+            assertEquals(3, CDI.current().select(FirstJobObserver.class).get().getNotifications());
+            assertEquals(1, CDI.current().select(SecondJobObserver.class).get().getNotifications());
+            assertEquals(2, tasks.get());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void testFailuresAreAggregated() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+
+            CompletableFuture<FailingJob> future = beanContainer.getEvent().select(FailingJob.class)
+                    .fireAsync(new FailingJob()).toCompletableFuture();
+
+            Throwable failure = future.handle((result, throwable) -> throwable).join();
+            assertTrue(failure instanceof CompletionException);
+            assertTrue(failure.getCause() instanceof IllegalStateException);
+            assertEquals(2, failure.getSuppressed().length);
+            assertEquals(1, CDI.current().select(SecondJobObserver.class).get().getFailingNotifications());
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Test
+    void testEventWithoutAcceptingObserversCompletesWithEvent() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            OdiObserverMethodRegistry registry = beanContainer.getBeanContext().getBean(OdiObserverMethodRegistry.class);
+            List observers = registry.findListOfObserverMethods(Argument.of(UrgentJob.class), null);
+            ResolvedObserverMethods<Object> guarded = ResolvedObserverMethods.of(Argument.OBJECT_ARGUMENT, (List<ObserverMethod<Object>>) observers);
+            ResolvedObserverMethods<Object> none = ResolvedObserverMethods.of(Argument.OBJECT_ARGUMENT, List.of());
+            Job job = new Job();
+
+            assertEquals(1, guarded.size());
+            assertSame(job, AsyncEventDispatcher.dispatch(job, guarded, Runnable::run, false, (event, observer) -> { }).join());
+            assertSame(job, AsyncEventDispatcher.dispatch(job, none, Runnable::run, false, (event, observer) -> { }).join());
+        }
+    }
+
+    static final class Job {
+    }
+
+    static final class UrgentJob {
+    }
+
+    static final class FailingJob {
+    }
+
+    @ApplicationScoped
+    static class FirstJobObserver {
+        private final AtomicInteger notifications = new AtomicInteger();
+
+        void first(@ObservesAsync Job job) {
+            notifications.incrementAndGet();
+        }
+
+        void second(@ObservesAsync Job job) {
+            notifications.incrementAndGet();
+        }
+
+        void third(@ObservesAsync Job job) {
+            notifications.incrementAndGet();
+        }
+
+        void failFirst(@ObservesAsync FailingJob job) {
+            throw new IllegalArgumentException("first");
+        }
+
+        void failSecond(@ObservesAsync FailingJob job) {
+            throw new IllegalArgumentException("second");
+        }
+
+        public int getNotifications() {
+            return notifications.get();
+        }
+    }
+
+    @ApplicationScoped
+    static class SecondJobObserver {
+        private final AtomicInteger notifications = new AtomicInteger();
+        private final AtomicInteger failingNotifications = new AtomicInteger();
+
+        void onJob(@ObservesAsync Job job) {
+            notifications.incrementAndGet();
+        }
+
+        void onFailingJob(@ObservesAsync FailingJob job) {
+            failingNotifications.incrementAndGet();
+        }
+
+        void onUrgentJob(@ObservesAsync UrgentJob job) {
+        }
+
+        public int getNotifications() {
+            return notifications.get();
+        }
+
+        public int getFailingNotifications() {
+            return failingNotifications.get();
+        }
+    }
+}
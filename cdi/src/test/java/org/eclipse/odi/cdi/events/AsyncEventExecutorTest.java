@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncEventExecutorTest {
+
+    @Test
+    void testDefaultMode() throws Exception {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            AsyncEventExecutor executor = beanContainer.getBeanContext().getBean(AsyncEventExecutor.class);
+            assertEquals(AsyncEventExecutor.BEAN_MODE_PREFIX + "scheduled", executor.getMode());
+
+            beanContainer.getEvent().select(Download.class).fireAsync(new Download()).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+            assertEquals(1, executor.getSubmittedTaskCount());
+        }
+    }
+
+    @Test
+    void testVirtualModeWithConcurrencyLimit() throws Exception {
+        try (SeContainer ignore = SeContainerInitializer.newInstance()
+                .addProperty("odi.events.async.executor", "virtual")
+                .addProperty("odi.events.async.max-concurrency-per-observer", 1)
+                .initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            AsyncEventExecutor executor = beanContainer.getBeanContext().getBean(AsyncEventExecutor.class);
+            assertEquals(AsyncEventExecutor.VIRTUAL_MODE, executor.getMode());
+            assertTrue(executor.isTaskPerObserver());
+
+            CompletableFuture<?>[] futures = new CompletableFuture[20];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = beanContainer.getEvent().select(Download.class).fireAsync(new Download()).toCompletableFuture();
+            }
+            CompletableFuture.allOf(futures).get(10, TimeUnit.SECONDS);
+
+            DownloadObserver observer = CDI.current().select(DownloadObserver.class).get();
+            assertEquals(20, observer.getDownloads());
+            assertEquals(1, observer.getMaxConcurrentDownloads());
+            // Each observer is notified by its own task
+            assertEquals(40, executor.getSubmittedTaskCount());
+            assertEquals(0, executor.getRejectedTaskCount());
+        }
+    }
+
+    @Test
+    void testForkJoinMode() throws Exception {
+        try (SeContainer ignore = SeContainerInitializer.newInstance()
+                .addProperty("odi.events.async.executor", "fork-join")
+                .initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            AsyncEventExecutor executor = beanContainer.getBeanContext().getBean(AsyncEventExecutor.class);
+
+            beanContainer.getEvent().select(Download.class).fireAsync(new Download()).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+            assertEquals(1, executor.getSubmittedTaskCount());
+            assertTrue(executor.getUtilization() >= 0);
+        }
+    }
+
+    @Test
+    void testUnknownMode() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncEventExecutor(null, null, "threads", 0, 0, "block", 0, 0, 256));
+    }
+
+    static final class Download {
+    }
+
+    @ApplicationScoped
+    static class DownloadObserver {
+        private final AtomicInteger downloads = new AtomicInteger();
+        private final AtomicInteger concurrentDownloads = new AtomicInteger();
+        private final AtomicInteger maxConcurrentDownloads = new AtomicInteger();
+
+        void download(@ObservesAsync Download download) throws InterruptedException {
+            int concurrent = concurrentDownloads.incrementAndGet();
+            maxConcurrentDownloads.accumulateAndGet(concurrent, Math::max);
+            Thread.sleep(5);
+            concurrentDownloads.decrementAndGet();
+            downloads.incrementAndGet();
+        }
+
+        void verify(@ObservesAsync Download download) {
+        }
+
+        public int getDownloads() {
+            return downloads.get();
+        }
+
+        public int getMaxConcurrentDownloads() {
+            return maxConcurrentDownloads.get();
+        }
+    }
+}
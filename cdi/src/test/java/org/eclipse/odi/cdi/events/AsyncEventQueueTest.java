@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.eclipse.odi.cdi.context.ContextPropagation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AsyncEventQueueTest {
+
+    @Test
+    void testFailPolicy() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            ContextPropagation contextPropagation = getContextPropagation();
+            List<Runnable> consumers = new ArrayList<>();
+            AsyncEventQueue queue = new AsyncEventQueue(1, AsyncEventQueue.OverflowPolicy.FAIL, 1, consumers::add, Runnable::run);
+            Task first = new Task();
+
+            queue.submit(first, contextPropagation.capture());
+            assertThrows(RejectedExecutionException.class, () -> queue.submit(new Task(), contextPropagation.capture()));
+
+            assertEquals(1, queue.getDepth());
+            assertEquals(1, queue.getRejectedCount());
+            assertEquals(1, consumers.size());
+            consumers.get(0).run();
+            assertEquals(1, first.runs.get());
+            assertEquals(0, queue.getDepth());
+        }
+    }
+
+    @Test
+    void testDropOldestPolicy() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            ContextPropagation contextPropagation = getContextPropagation();
+            List<Runnable> consumers = new ArrayList<>();
+            AsyncEventQueue queue = new AsyncEventQueue(1, AsyncEventQueue.OverflowPolicy.DROP_OLDEST, 1, consumers::add, Runnable::run);
+            Task oldest = new Task();
+            Task newest = new Task();
+
+            queue.submit(oldest, contextPropagation.capture());
+            queue.submit(newest, contextPropagation.capture());
+
+            assertNotNull(oldest.rejection);
+            assertEquals(1, queue.getDroppedCount());
+            consumers.get(0).run();
+            assertEquals(0, oldest.runs.get());
+            assertEquals(1, newest.runs.get());
+            assertNull(newest.rejection);
+        }
+    }
+
+    @Test
+    void testCallerRunsPolicy() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            ContextPropagation contextPropagation = getContextPropagation();
+            List<Runnable> consumers = new ArrayList<>();
+            AsyncEventQueue queue = new AsyncEventQueue(1, AsyncEventQueue.OverflowPolicy.CALLER_RUNS, 1, consumers::add, Runnable::run);
+            Task queued = new Task();
+            Task callerRuns = new Task();
+
+            queue.submit(queued, contextPropagation.capture());
+            queue.submit(callerRuns, contextPropagation.capture());
+
+            assertEquals(0, queued.runs.get());
+            assertEquals(1, callerRuns.runs.get());
+            assertEquals(1, queue.getCallerRunsCount());
+        }
+    }
+
+    @Test
+    void testUnknownPolicy() {
+        assertThrows(IllegalArgumentException.class, () -> AsyncEventQueue.OverflowPolicy.parse("discard"));
+        assertEquals(AsyncEventQueue.OverflowPolicy.DROP_OLDEST, AsyncEventQueue.OverflowPolicy.parse("drop-oldest"));
+    }
+
+    @Test
+    void testEventsAreDeliveredThroughQueue() throws Exception {
+        try (SeContainer ignore = SeContainerInitializer.newInstance()
+                .addProperty("odi.events.async.queue-capacity", 4)
+                .addProperty("odi.events.async.queue-consumers", 2)
+                .initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            AsyncEventExecutor executor = beanContainer.getBeanContext().getBean(AsyncEventExecutor.class);
+
+            CompletableFuture<?>[] futures = new CompletableFuture[50];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = beanContainer.getEvent().select(Order.class).fireAsync(new Order()).toCompletableFuture();
+            }
+            CompletableFuture.allOf(futures).get(10, TimeUnit.SECONDS);
+
+            assertEquals(50, CDI.current().select(OrderObserver.class).get().getOrders());
+            assertEquals(0, executor.getQueueRejectedCount());
+        }
+    }
+
+    private static ContextPropagation getContextPropagation() {
+        OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+        return beanContainer.getBeanContext().getBean(ContextPropagation.class);
+    }
+
+    static final class Task implements RejectableTask {
+        private final AtomicInteger runs = new AtomicInteger();
+        private RejectedExecutionException rejection;
+
+        @Override
+        public void run() {
+            runs.incrementAndGet();
+        }
+
+        @Override
+        public void reject(RejectedExecutionException e) {
+            rejection = e;
+        }
+    }
+
+    static final class Order {
+    }
+
+    @ApplicationScoped
+    static class OrderObserver {
+        private final AtomicInteger orders = new AtomicInteger();
+
+        void onOrder(@ObservesAsync Order order) {
+            orders.incrementAndGet();
+        }
+
+        public int getOrders() {
+            return orders.get();
+        }
+    }
+}
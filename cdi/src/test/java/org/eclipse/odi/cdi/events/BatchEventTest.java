@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BatchEventTest {
+
+    @Test
+    void testEachObserverIsNotifiedOfWholeBatch() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            BatchEvent<Item> event = (BatchEvent<Item>) beanContainer.getEvent().select(Item.class);
+
+            event.fireAll(Arrays.asList(new Item(1), null, new Item(2)));
+
+            assertEquals(List.of("first:1", "first:2", "second:1", "second:2"), CDI.current().select(ItemObserver.class).get().getReceived());
+        }
+    }
+
+    @Test
+    void testObjectEventBatchIsFiredByRuntimeType() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            BatchEvent<Object> event = (BatchEvent<Object>) beanContainer.getEvent();
+
+            event.fireAll(List.of(new Item(1), new AsyncItem(), new Item(2)));
+
+            assertEquals(List.of("first:1", "first:2", "second:1", "second:2"), CDI.current().select(ItemObserver.class).get().getReceived());
+        }
+    }
+
+    @Test
+    void testAsyncBatchIsNotifiedInChunks() throws Exception {
+        try (SeContainer ignore = SeContainerInitializer.newInstance()
+                .addProperty("odi.events.async.batch-chunk-size", 100)
+                .initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            AsyncEventExecutor executor = beanContainer.getBeanContext().getBean(AsyncEventExecutor.class);
+            Event<AsyncItem> event = beanContainer.getEvent().select(AsyncItem.class);
+            List<AsyncItem> items = IntStream.range(0, 1000).mapToObj(i -> new AsyncItem()).collect(Collectors.toList());
+
+            List<AsyncItem> fired = ((BatchEvent<AsyncItem>) event).fireAllAsync(items).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+            assertEquals(items, fired);
+            assertEquals(1000, CDI.current().select(ItemObserver.class).get().getAsyncItems());
+            assertEquals(10, executor.getSubmittedTaskCount());
+        }
+    }
+
+    @Test
+    void testEmptyBatch() throws Exception {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            BatchEvent<AsyncItem> event = (BatchEvent<AsyncItem>) beanContainer.getEvent().select(AsyncItem.class);
+
+            event.fireAll(Collections.emptyList());
+            assertEquals(List.of(), event.fireAllAsync(new ArrayList<>()).toCompletableFuture().get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    static final class Item {
+        private final int id;
+
+        Item(int id) {
+            this.id = id;
+        }
+    }
+
+    static final class AsyncItem {
+    }
+
+    @ApplicationScoped
+    static class ItemObserver {
+        private final List<String> received = new ArrayList<>();
+        private final AtomicInteger asyncItems = new AtomicInteger();
+
+        void first(@Observes @Priority(1) Item item) {
+            received.add("first:" + item.id);
+        }
+
+        void second(@Observes @Priority(2) Item item) {
+            received.add("second:" + item.id);
+        }
+
+        void onAsyncItem(@ObservesAsync AsyncItem item) {
+            asyncItems.incrementAndGet();
+        }
+
+        public List<String> getReceived() {
+            return received;
+        }
+
+        public int getAsyncItems() {
+            return asyncItems.get();
+        }
+    }
+}
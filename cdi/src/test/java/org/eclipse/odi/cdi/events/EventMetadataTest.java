@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.core.type.Argument;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.literal.NamedLiteral;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.enterprise.inject.spi.EventMetadata;
+import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventMetadataTest {
+
+    @Test
+    void testMetadataIsSharedBetweenNotifications() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            Event<Ping> event = beanContainer.getEvent().select(Ping.class, NamedLiteral.of("ping"));
+            PingObserver observer = CDI.current().select(PingObserver.class).get();
+
+            event.fire(new Ping());
+            event.fire(new Ping());
+
+            List<EventMetadata> received = observer.getReceived();
+            assertEquals(2, received.size());
+            assertSame(received.get(0), received.get(1));
+            assertSame(received.get(0).getQualifiers(), received.get(1).getQualifiers());
+            assertTrue(received.get(0).getQualifiers().contains(Any.Literal.INSTANCE));
+            assertEquals(Ping.class, received.get(0).getType());
+        }
+    }
+
+    @Test
+    void testMetadataOfDirectNotification() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            PingObserver observer = CDI.current().select(PingObserver.class).get();
+            OdiObserverMethodRegistry registry = beanContainer.getBeanContext().getBean(OdiObserverMethodRegistry.class);
+
+            registry.findListOfObserverMethods(Argument.of(Ping.class), null)
+                    .forEach(observerMethod -> observerMethod.notify(new Ping()));
+
+            List<EventMetadata> received = observer.getReceived();
+            assertEquals(1, received.size());
+            assertTrue(received.get(0).getQualifiers().isEmpty());
+            assertEquals(Ping.class, received.get(0).getType());
+        }
+    }
+
+    static final class Ping {
+    }
+
+    @ApplicationScoped
+    static class PingObserver {
+        private final List<EventMetadata> received = new ArrayList<>();
+
+        void onPing(@Observes Ping ping, EventMetadata metadata) {
+            received.add(metadata);
+        }
+
+        public List<EventMetadata> getReceived() {
+            return received;
+        }
+    }
+}
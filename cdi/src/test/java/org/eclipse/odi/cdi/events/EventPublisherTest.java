@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.core.type.Argument;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.enterprise.inject.spi.EventContext;
+import jakarta.enterprise.util.AnnotationLiteral;
+import jakarta.inject.Qualifier;
+import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventPublisherTest {
+
+    @Test
+    void testEventsAreDeliveredOnDemand() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            EventPublishers publishers = beanContainer.getBeanContext().getBean(EventPublishers.class);
+            Event<Tick> event = beanContainer.getEvent().select(Tick.class);
+            event.fire(new Tick(0));
+
+            Flow.Publisher<Tick> publisher = publishers.publisher(Tick.class);
+            RecordingSubscriber<Tick> subscriber = new RecordingSubscriber<>();
+            publisher.subscribe(subscriber);
+            event.fire(new Tick(1));
+            event.fire(new Tick(2));
+            event.fire(new Tick(3));
+            assertEquals(List.of(), subscriber.ids());
+
+            subscriber.subscription.request(2);
+            assertEquals(List.of(1, 2), subscriber.ids());
+
+            subscriber.subscription.request(5);
+            event.fire(new Tick(4));
+            assertEquals(List.of(1, 2, 3, 4), subscriber.ids());
+
+            subscriber.subscription.cancel();
+            event.fire(new Tick(5));
+            assertEquals(List.of(1, 2, 3, 4), subscriber.ids());
+            assertEquals(0, ((EventPublisher<?, ?>) publisher).getSubscriptionCount());
+        }
+    }
+
+    @Test
+    void testObserverMethodIsRegisteredWhileSubscribed() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            EventPublishers publishers = beanContainer.getBeanContext().getBean(EventPublishers.class);
+            OdiObserverMethodRegistry registry = beanContainer.getBeanContext().getBean(OdiObserverMethodRegistry.class);
+            EventPublisher<?, ?> publisher = (EventPublisher<?, ?>) publishers.publisher(Tick.class);
+            assertFalse(registry.getObserverMethods().contains(publisher.getObserverMethod()));
+
+            RecordingSubscriber<Object> first = new RecordingSubscriber<>();
+            RecordingSubscriber<Object> second = new RecordingSubscriber<>();
+            publisher.subscribe(first);
+            publisher.subscribe(second);
+            assertTrue(registry.getObserverMethods().contains(publisher.getObserverMethod()));
+
+            first.subscription.cancel();
+            assertTrue(registry.getObserverMethods().contains(publisher.getObserverMethod()));
+            second.subscription.cancel();
+            second.subscription.cancel();
+            assertFalse(registry.getObserverMethods().contains(publisher.getObserverMethod()));
+        }
+    }
+
+    @Test
+    void testQualifiedPublisher() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            EventPublishers publishers = beanContainer.getBeanContext().getBean(EventPublishers.class);
+            RecordingSubscriber<Tick> subscriber = new RecordingSubscriber<>();
+            publishers.publisher(Tick.class, Urgent.Literal.INSTANCE).subscribe(subscriber);
+            subscriber.subscription.request(Long.MAX_VALUE);
+
+            beanContainer.getEvent().select(Tick.class).fire(new Tick(1));
+            beanContainer.getEvent().select(Tick.class, Urgent.Literal.INSTANCE).fire(new Tick(2));
+
+            assertEquals(List.of(2), subscriber.ids());
+        }
+    }
+
+    @Test
+    void testOverflow() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            EventPublishers publishers = beanContainer.getBeanContext().getBean(EventPublishers.class);
+            RecordingSubscriber<Tick> dropOldest = new RecordingSubscriber<>();
+            RecordingSubscriber<Tick> dropLatest = new RecordingSubscriber<>();
+            RecordingSubscriber<Tick> error = new RecordingSubscriber<>();
+            publishers.publisher(Argument.of(Tick.class), false, 2, EventPublishers.Overflow.DROP_OLDEST).subscribe(dropOldest);
+            publishers.publisher(Argument.of(Tick.class), false, 2, EventPublishers.Overflow.DROP_LATEST).subscribe(dropLatest);
+            publishers.publisher(Argument.of(Tick.class), false, 2, EventPublishers.Overflow.ERROR).subscribe(error);
+
+            Event<Tick> event = beanContainer.getEvent().select(Tick.class);
+            for (int i = 1; i <= 3; i++) {
+                event.fire(new Tick(i));
+            }
+            dropOldest.subscription.request(10);
+            dropLatest.subscription.request(10);
+            error.subscription.request(10);
+
+            assertEquals(List.of(2, 3), dropOldest.ids());
+            assertEquals(List.of(1, 2), dropLatest.ids());
+            assertEquals(List.of(), error.ids());
+            assertInstanceOf(IllegalStateException.class, error.failure);
+        }
+    }
+
+    @Test
+    void testContextPublisherOfAsyncEvents() throws Exception {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            EventPublishers publishers = beanContainer.getBeanContext().getBean(EventPublishers.class);
+            RecordingSubscriber<EventContext<Tick>> subscriber = new RecordingSubscriber<>();
+            publishers.contextPublisher(Argument.of(Tick.class), true, 16, EventPublishers.Overflow.ERROR).subscribe(subscriber);
+            subscriber.subscription.request(1);
+
+            Event<Tick> event = beanContainer.getEvent().select(Tick.class);
+            event.fire(new Tick(1));
+            event.fireAsync(new Tick(2)).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+            assertEquals(1, subscriber.received.size());
+            EventContext<Tick> eventContext = subscriber.received.get(0);
+            assertEquals(2, eventContext.getEvent().id);
+            assertEquals(Tick.class, eventContext.getMetadata().getType());
+            assertNull(subscriber.failure);
+        }
+    }
+
+    @Test
+    void testInvalidRequest() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            EventPublishers publishers = beanContainer.getBeanContext().getBean(EventPublishers.class);
+            RecordingSubscriber<Tick> subscriber = new RecordingSubscriber<>();
+            publishers.publisher(Tick.class).subscribe(subscriber);
+
+            subscriber.subscription.request(0);
+
+            assertTrue(subscriber.failure instanceof IllegalArgumentException);
+        }
+    }
+
+    static final class Tick {
+        private final int id;
+
+        Tick(int id) {
+            this.id = id;
+        }
+    }
+
+    @Qualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Urgent {
+        final class Literal extends AnnotationLiteral<Urgent> implements Urgent {
+            static final Literal INSTANCE = new Literal();
+        }
+    }
+
+    static final class RecordingSubscriber<E> implements Flow.Subscriber<E> {
+        private final List<E> received = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private volatile Throwable failure;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public synchronized void onNext(E item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            failure = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        synchronized List<Integer> ids() {
+            List<Integer> ids = new ArrayList<>();
+            for (E e : received) {
+                ids.add(((Tick) e).id);
+            }
+            return ids;
+        }
+    }
+}
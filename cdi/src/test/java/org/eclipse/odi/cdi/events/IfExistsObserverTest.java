@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.context.control.RequestContextController;
+import jakarta.enterprise.context.spi.AlterableContext;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.Reception;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.CDI;
+import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class IfExistsObserverTest {
+
+    private static final AtomicInteger APPLICATION_NOTIFICATIONS = new AtomicInteger();
+    private static final AtomicInteger REQUEST_NOTIFICATIONS = new AtomicInteger();
+
+    @Test
+    void testObserverIsNotifiedWhileTheInstanceExists() {
+        APPLICATION_NOTIFICATIONS.set(0);
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            Event<Ping> event = beanContainer.getEvent().select(Ping.class);
+
+            event.fire(new Ping());
+            assertEquals(0, APPLICATION_NOTIFICATIONS.get());
+
+            CDI.current().select(ApplicationObserver.class).get().touch();
+            for (int i = 0; i < 1000; i++) {
+                event.fire(new Ping());
+            }
+            assertEquals(1000, APPLICATION_NOTIFICATIONS.get());
+
+            Bean<?> bean = beanContainer.resolve(beanContainer.getBeans(ApplicationObserver.class));
+            ((AlterableContext) beanContainer.getContext(ApplicationScoped.class)).destroy(bean);
+            event.fire(new Ping());
+            assertEquals(1000, APPLICATION_NOTIFICATIONS.get());
+        }
+    }
+
+    @Test
+    void testRequestScopedObserver() {
+        REQUEST_NOTIFICATIONS.set(0);
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            Event<RequestPing> event = beanContainer.getEvent().select(RequestPing.class);
+            RequestContextController controller = CDI.current().select(RequestContextController.class).get();
+
+            event.fire(new RequestPing());
+            controller.activate();
+            try {
+                event.fire(new RequestPing());
+                assertEquals(0, REQUEST_NOTIFICATIONS.get());
+                CDI.current().select(RequestObserver.class).get().touch();
+                event.fire(new RequestPing());
+                assertEquals(1, REQUEST_NOTIFICATIONS.get());
+            } finally {
+                controller.deactivate();
+            }
+            event.fire(new RequestPing());
+            assertEquals(1, REQUEST_NOTIFICATIONS.get());
+        }
+    }
+
+    static final class Ping {
+    }
+
+    static final class RequestPing {
+    }
+
+    @ApplicationScoped
+    static class ApplicationObserver {
+
+        void onPing(@Observes(notifyObserver = Reception.IF_EXISTS) Ping ping) {
+            APPLICATION_NOTIFICATIONS.incrementAndGet();
+        }
+
+        public void touch() {
+        }
+    }
+
+    @RequestScoped
+    static class RequestObserver {
+
+        void onPing(@Observes(notifyObserver = Reception.IF_EXISTS) RequestPing ping) {
+            REQUEST_NOTIFICATIONS.incrementAndGet();
+        }
+
+        public void touch() {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.inject.Inject;
+import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ObjectEventTest {
+
+    @Test
+    void testRuntimeTypedEventsAreReused() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            OdiObserverMethodRegistry registry = beanContainer.getBeanContext().getBean(OdiObserverMethodRegistry.class);
+            Event<Object> event = beanContainer.getEvent();
+            Counter counter = CDI.current().select(Counter.class).get();
+
+            event.fire(new Tick());
+            long misses = registry.getResolutionCacheMissCount();
+            long hits = registry.getResolutionCacheHitCount();
+            for (int i = 0; i < 10; i++) {
+                event.fire(new Tick());
+            }
+
+            assertEquals(11, counter.getTicks());
+            // The observers of the runtime type were resolved once
+            assertEquals(misses, registry.getResolutionCacheMissCount());
+            assertEquals(hits, registry.getResolutionCacheHitCount());
+        }
+    }
+
+    @Test
+    void testRuntimeTypedEventsAreClearedOnClose() {
+        OdiEventFactory eventFactory;
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            eventFactory = beanContainer.getBeanContext().getBean(OdiEventFactory.class);
+            Event<Object> event = beanContainer.getEvent();
+
+            event.fire(new Tick());
+            // An equal object event shares the cached event of the runtime type
+            event.select().fire(new Tick());
+            assertEquals(1, eventFactory.getRuntimeTypedEventCount());
+        }
+        assertEquals(0, eventFactory.getRuntimeTypedEventCount());
+    }
+
+    @Test
+    void testRuntimeTypedEventsAreKeyedByInjectionPoint() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            OdiEventFactory eventFactory = beanContainer.getBeanContext().getBean(OdiEventFactory.class);
+            Emitter emitter = CDI.current().select(Emitter.class).get();
+            Counter counter = CDI.current().select(Counter.class).get();
+
+            // The injected arguments are equal, the injection points are not
+            emitter.constructorEvent.fire(new Tick());
+            emitter.methodEvent.fire(new Tick());
+            emitter.constructorEvent.fire(new Tick());
+
+            assertEquals(3, counter.getTicks());
+            assertEquals(2, eventFactory.getRuntimeTypedEventCount());
+        }
+    }
+
+    static final class Tick {
+    }
+
+    @Dependent
+    static class Emitter {
+        private final Event<Object> constructorEvent;
+        private Event<Object> methodEvent;
+
+        @Inject
+        Emitter(Event<Object> event) {
+            this.constructorEvent = event;
+        }
+
+        @Inject
+        void init(Event<Object> event) {
+            this.methodEvent = event;
+        }
+    }
+
+    @ApplicationScoped
+    static class Counter {
+        private int ticks;
+
+        void onTick(@Observes Tick tick) {
+            ticks++;
+        }
+
+        public int getTicks() {
+            return ticks;
+        }
+    }
+}
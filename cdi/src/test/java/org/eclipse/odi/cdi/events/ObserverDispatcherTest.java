@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.ObserverException;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.enterprise.inject.spi.EventMetadata;
+import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ObserverDispatcherTest {
+
+    private static final List<String> STATIC_RECEIVED = new ArrayList<>();
+
+    @Test
+    void testObserversAreInvokedByGeneratedDispatchers() {
+        STATIC_RECEIVED.clear();
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+
+            beanContainer.getEvent().select(Dispatched.class).fire(new Dispatched("a"));
+
+            DispatchedObserver observer = CDI.current().select(DispatchedObserver.class).get();
+            assertEquals(Set.of("instance:a:" + Dispatched.class.getName() + ":injected", "private:a"), Set.copyOf(observer.getReceived()));
+            assertEquals(List.of("static:a"), STATIC_RECEIVED);
+            Map<String, Boolean> dispatched = beanContainer.resolveObserverMethods(new Dispatched("b")).stream()
+                    .filter(o -> o.getBeanClass() == DispatchedObserver.class)
+                    .map(o -> (ExecutableObserverMethod<?, ?>) o)
+                    .collect(Collectors.toMap(o -> o.toString().contains("onPrivate") ? "private" : "accessible", ExecutableObserverMethod::isDispatched, (a, b) -> a && b));
+            assertEquals(Map.of("private", false, "accessible", true), dispatched);
+        }
+    }
+
+    @Test
+    void testCheckedExceptionIsWrapped() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+
+            ObserverException e = assertThrows(ObserverException.class,
+                    () -> beanContainer.getEvent().select(Failing.class).fire(new Failing()));
+
+            assertInstanceOf(IOException.class, e.getCause());
+        }
+    }
+
+    static final class Dispatched {
+        private final String value;
+
+        Dispatched(String value) {
+            this.value = value;
+        }
+    }
+
+    static final class Failing {
+    }
+
+    @ApplicationScoped
+    static class Injected {
+        public String getName() {
+            return "injected";
+        }
+    }
+
+    @ApplicationScoped
+    static class DispatchedObserver {
+        private final List<String> received = new ArrayList<>();
+
+        void onInstance(@Observes Dispatched event, EventMetadata metadata, Injected injected) {
+            received.add("instance:" + event.value + ":" + metadata.getType().getTypeName() + ":" + injected.getName());
+        }
+
+        static void onStatic(@Observes Dispatched event) {
+            STATIC_RECEIVED.add("static:" + event.value);
+        }
+
+        private void onPrivate(@Observes Dispatched event) {
+            received.add("private:" + event.value);
+        }
+
+        void onFailing(@Observes Failing event) throws IOException {
+            throw new IOException("Failed");
+        }
+
+        public List<String> getReceived() {
+            return received;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ObserverMetricsTest {
+
+    @Test
+    void testMetricsAreDisabledByDefault() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+
+            assertFalse(beanContainer.getBeanContext().getBean(ObserverInvocationMonitor.class).isEnabled());
+            assertFalse(beanContainer.getBeanContext().containsBean(InMemoryObserverMetrics.class));
+        }
+    }
+
+    @Test
+    void testInvocationsAreRecorded() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance()
+                .addProperty("odi.events.metrics.enabled", true)
+                .initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            InMemoryObserverMetrics metrics = beanContainer.getBeanContext().getBean(InMemoryObserverMetrics.class);
+            Event<Measured> event = beanContainer.getEvent().select(Measured.class);
+
+            event.fire(new Measured(false));
+            event.fire(new Measured(false));
+            assertThrows(IllegalStateException.class, () -> event.fire(new Measured(true)));
+
+            ObserverMethod<?> observerMethod = beanContainer.resolveObserverMethods(new Measured(false)).iterator().next();
+            InMemoryObserverMetrics.ObserverStatistics statistics = metrics.getStatistics(observerMethod);
+            assertNotNull(statistics);
+            assertEquals(3, statistics.getInvocationCount());
+            assertEquals(1, statistics.getErrorCount());
+            assertEquals(3, Arrays.stream(statistics.getLatencyHistogram()).sum());
+            assertEquals(InMemoryObserverMetrics.getLatencyBucketBounds().length + 1, statistics.getLatencyHistogram().length);
+            assertTrue(statistics.getMaxTime() <= statistics.getTotalTime());
+            assertEquals(0, statistics.getQueueWaitCount());
+        }
+    }
+
+    @Test
+    void testAsyncQueueWaitIsRecorded() throws Exception {
+        try (SeContainer ignore = SeContainerInitializer.newInstance()
+                .addProperty("odi.events.metrics.enabled", true)
+                .initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            InMemoryObserverMetrics metrics = beanContainer.getBeanContext().getBean(InMemoryObserverMetrics.class);
+            Event<AsyncMeasured> event = beanContainer.getEvent().select(AsyncMeasured.class);
+
+            event.fireAsync(new AsyncMeasured()).toCompletableFuture().get(10, TimeUnit.SECONDS);
+            event.fireAsync(new AsyncMeasured()).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+            InMemoryObserverMetrics.ObserverStatistics statistics = metrics.getStatistics().values().iterator().next();
+            assertEquals(2, statistics.getInvocationCount());
+            assertEquals(2, statistics.getQueueWaitCount());
+            assertTrue(statistics.getMaxQueueWaitTime() <= statistics.getQueueWaitTime());
+        }
+    }
+
+    @Test
+    void testSlowObserverThresholdEnablesMonitor() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance()
+                .addProperty("odi.events.slow-observer-threshold", 100)
+                .initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            ObserverInvocationMonitor monitor = beanContainer.getBeanContext().getBean(ObserverInvocationMonitor.class);
+
+            assertTrue(monitor.isEnabled());
+            assertEquals(100, monitor.getSlowThreshold());
+            beanContainer.getEvent().select(Measured.class).fire(new Measured(false));
+        }
+    }
+
+    static final class Measured {
+        private final boolean fail;
+
+        Measured(boolean fail) {
+            this.fail = fail;
+        }
+    }
+
+    static final class AsyncMeasured {
+    }
+
+    @ApplicationScoped
+    static class MeasuredObserver {
+
+        void onMeasured(@Observes Measured measured) {
+            if (measured.fail) {
+                throw new IllegalStateException("Failed");
+            }
+        }
+
+        void onAsyncMeasured(@ObservesAsync AsyncMeasured measured) {
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ObserverTypeGuardTest {
+
+    @Test
+    void testObserversOfSubtypesAreGuardedByRuntimeType() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            ShapeObserver observer = CDI.current().select(ShapeObserver.class).get();
+
+            // The circle observer throws when it's invoked
+            beanContainer.getEvent().select(Shape.class).fire(new Square());
+
+            assertEquals(List.of("shape", "square"), observer.getReceived());
+        }
+    }
+
+    @Test
+    void testGenericObserversAreGuardedByTypeArguments() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            BoxObserver observer = CDI.current().select(BoxObserver.class).get();
+
+            beanContainer.getEvent().fire(new IntegerBox());
+            beanContainer.getEvent().select(Box.class).fire(new StringBox());
+
+            assertEquals(List.of("integer", "string"), observer.getReceived());
+        }
+    }
+
+    @Test
+    void testClassCastExceptionOfObserverIsPropagated() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+
+            ClassCastException e = assertThrows(ClassCastException.class,
+                    () -> beanContainer.getEvent().select(Circle.class).fire(new Circle()));
+            assertEquals(Circle.class.getName() + " thrown by the observer", e.getMessage());
+            assertFalse(CDI.current().select(ShapeObserver.class).get().isSquareReceived());
+        }
+    }
+
+    interface Shape {
+    }
+
+    static final class Square implements Shape {
+    }
+
+    static final class Circle implements Shape {
+    }
+
+    interface Box<T> {
+    }
+
+    static final class IntegerBox implements Box<Integer> {
+    }
+
+    static final class StringBox implements Box<String> {
+    }
+
+    @ApplicationScoped
+    static class ShapeObserver {
+        private final List<String> received = new ArrayList<>();
+        private boolean squareReceived;
+
+        void onShape(@Observes @Priority(1) Shape shape) {
+            received.add("shape");
+        }
+
+        void onSquare(@Observes @Priority(2) Square square) {
+            squareReceived = true;
+            received.add("square");
+        }
+
+        void onCircle(@Observes Circle circle) {
+            throw new ClassCastException(Circle.class.getName() + " thrown by the observer");
+        }
+
+        public boolean isSquareReceived() {
+            return squareReceived;
+        }
+
+        public List<String> getReceived() {
+            return received;
+        }
+    }
+
+    @ApplicationScoped
+    static class BoxObserver {
+        private final List<String> received = new ArrayList<>();
+
+        void onIntegerBox(@Observes Box<Integer> box) {
+            received.add("integer");
+        }
+
+        void onStringBox(@Observes Box<String> box) {
+            received.add("string");
+        }
+
+        public List<String> getReceived() {
+            return received;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import io.micronaut.core.type.Argument;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.BeanContainer;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.enterprise.inject.spi.EventContext;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OdiObserverMethodRegistryTest {
+
+    @Test
+    void testObserversOfSupertypesAreResolvedByPriority() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            BeanContainer beanContainer = CDI.current().getBeanContainer();
+            Set<ObserverMethod<? super Dog>> observers = beanContainer.resolveObserverMethods(new Dog());
+            assertEquals(
+                    List.of(1, 5, 10),
+                    observers.stream().map(ObserverMethod::getPriority).collect(Collectors.toList())
+            );
+            assertEquals(1, beanContainer.resolveObserverMethods(new Cat()).size());
+
+            AnimalObserver observer = CDI.current().select(AnimalObserver.class).get();
+            beanContainer.getEvent().select(Dog.class).fire(new Dog());
+            assertEquals(List.of("animal", "dog", "pet"), observer.getReceived());
+        }
+    }
+
+    @Test
+    void testObserversOfArraysOfSupertypesAreResolved() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            BeanContainer beanContainer = CDI.current().getBeanContainer();
+            ArrayObserver observer = CDI.current().select(ArrayObserver.class).get();
+
+            beanContainer.getEvent().select(String[].class).fire(new String[] {"a"});
+            beanContainer.getEvent().select(Integer[].class).fire(new Integer[] {1});
+            beanContainer.getEvent().select(int[].class).fire(new int[] {1});
+
+            assertEquals(List.of("objects", "objects", "numbers"), observer.getReceived());
+            assertEquals(2, beanContainer.resolveObserverMethods(new Integer[0]).size());
+            assertEquals(0, beanContainer.resolveObserverMethods(new int[0]).size());
+        }
+    }
+
+    @Test
+    void testResolutionsAreCached() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            OdiObserverMethodRegistry registry = beanContainer.getBeanContext().getBean(OdiObserverMethodRegistry.class);
+            long misses = registry.getResolutionCacheMissCount();
+            long hits = registry.getResolutionCacheHitCount();
+
+            beanContainer.resolveObserverMethods(new Cat());
+            beanContainer.resolveObserverMethods(new Cat());
+
+            assertEquals(misses + 1, registry.getResolutionCacheMissCount());
+            assertEquals(hits + 1, registry.getResolutionCacheHitCount());
+            assertTrue(registry.getResolutionCacheSize() > 0);
+        }
+    }
+
+    @Test
+    void testObserversRegisteredAtRuntimeAreResolved() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            OdiObserverMethodRegistry registry = beanContainer.getBeanContext().getBean(OdiObserverMethodRegistry.class);
+            beanContainer.getEvent().select(Dog.class).fire(new Dog());
+            long version = registry.getVersion();
+
+            registry.register(observerOf(registry, Dog.class));
+
+            assertEquals(version + 1, registry.getVersion());
+            assertEquals(
+                    List.of(1, 5, 10, ObserverMethod.DEFAULT_PRIORITY),
+                    beanContainer.resolveObserverMethods(new Dog()).stream().map(ObserverMethod::getPriority).collect(Collectors.toList())
+            );
+            assertSortedByPriority(registry.getObserverMethods());
+        }
+    }
+
+    @Test
+    void testConcurrentRegistrations() throws Exception {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            OdiObserverMethodRegistry registry = beanContainer.getBeanContext().getBean(OdiObserverMethodRegistry.class);
+            int registered = registry.getObserverMethods().size();
+            long version = registry.getVersion();
+            int threads = 8;
+            int registrations = 50;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    futures.add(executor.submit(() -> {
+                        for (int j = 0; j < registrations; j++) {
+                            registry.register(observerOf(registry, Cat.class));
+                            assertSortedByPriority(registry.findListOfObserverMethods(Argument.of(Cat.class), null));
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertEquals(registered + threads * registrations, registry.getObserverMethods().size());
+            assertEquals(version + threads * registrations, registry.getVersion());
+            assertEquals(1 + threads * registrations, beanContainer.resolveObserverMethods(new Cat()).size());
+        }
+    }
+
+    private static <T> OdiObserverMethod<T> observerOf(OdiObserverMethodRegistry registry, Class<T> type) {
+        return new EventPublisher<>(registry, Argument.of(type), null, Set.of(), false, EventContext::getEvent, 1, EventPublishers.Overflow.DROP_OLDEST)
+                .getObserverMethod();
+    }
+
+    private static void assertSortedByPriority(List<? extends ObserverMethod<?>> observerMethods) {
+        for (int i = 1; i < observerMethods.size(); i++) {
+            assertTrue(observerMethods.get(i - 1).getPriority() <= observerMethods.get(i).getPriority());
+        }
+    }
+
+    interface Animal {
+    }
+
+    interface Pet {
+    }
+
+    static class Dog implements Animal, Pet {
+    }
+
+    static class Cat implements Animal {
+    }
+
+    @ApplicationScoped
+    static class AnimalObserver {
+        private final List<String> received = new ArrayList<>();
+
+        public List<String> getReceived() {
+            return received;
+        }
+
+        void onAnimal(@Observes @Priority(1) Animal animal) {
+            if (animal instanceof Dog) {
+                received.add("animal");
+            }
+        }
+
+        void onDog(@Observes @Priority(5) Dog dog) {
+            received.add("dog");
+        }
+
+        void onPet(@Observes @Priority(10) Pet pet) {
+            received.add("pet");
+        }
+    }
+
+    @ApplicationScoped
+    static class ArrayObserver {
+        private final List<String> received = new ArrayList<>();
+
+        public List<String> getReceived() {
+            return received;
+        }
+
+        void onObjects(@Observes @Priority(1) Object[] objects) {
+            received.add("objects");
+        }
+
+        void onNumbers(@Observes @Priority(5) Number[] numbers) {
+            received.add("numbers");
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.NotificationOptions;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PartitionedEventTest {
+
+    @Test
+    void testEventsOfKeyAreDeliveredInOrder() throws Exception {
+        try (SeContainer ignore = SeContainerInitializer.newInstance()
+                .addProperty("odi.events.async.partitions", 3)
+                .initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            Event<Transfer> event = beanContainer.getEvent().select(Transfer.class);
+            NotificationOptions options = NotificationOptions.builder()
+                    .set(AsyncEventExecutor.PARTITION_KEY_OPTION, (Function<Transfer, Object>) Transfer::getAccount)
+                    .build();
+
+            List<CompletableFuture<Transfer>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                futures.add(event.fireAsync(new Transfer("account-" + (i % 8), i), options).toCompletableFuture());
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+            Map<String, List<Integer>> received = CDI.current().select(TransferObserver.class).get().getReceived();
+            assertEquals(8, received.size());
+            for (int account = 0; account < 8; account++) {
+                int first = account;
+                List<Integer> expected = IntStream.range(0, 400).filter(i -> i % 8 == first).boxed().collect(Collectors.toList());
+                assertEquals(expected, received.get("account-" + account));
+            }
+        }
+    }
+
+    static final class Transfer {
+        private final String account;
+        private final int sequence;
+
+        Transfer(String account, int sequence) {
+            this.account = account;
+            this.sequence = sequence;
+        }
+
+        String getAccount() {
+            return account;
+        }
+
+        int getSequence() {
+            return sequence;
+        }
+    }
+
+    @ApplicationScoped
+    static class TransferObserver {
+        private final Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+
+        void onTransfer(@ObservesAsync Transfer transfer) {
+            // The lane of the account is the only writer of the list
+            received.computeIfAbsent(transfer.getAccount(), account -> new ArrayList<>()).add(transfer.getSequence());
+        }
+
+        public Map<String, List<Integer>> getReceived() {
+            return received;
+        }
+    }
+}
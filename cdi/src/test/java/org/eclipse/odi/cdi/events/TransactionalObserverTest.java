@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.events;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.enterprise.inject.spi.CDI;
+import org.eclipse.odi.cdi.OdiBeanContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransactionalObserverTest {
+
+    @Test
+    void testObserversAreNotifiedImmediatelyWithoutSynchronizer() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance().initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            assertFalse(beanContainer.getBeanContext().getBean(TransactionalEventDispatcher.class).isEnabled());
+
+            beanContainer.getEvent().select(Order.class).fire(new Order(1));
+
+            assertEquals(List.of("in-progress:1", "before:1", "completion:1", "success:1", "failure:1"), received());
+        }
+    }
+
+    @Test
+    void testObserversAreNotifiedOutsideOfTransaction() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance()
+                .addProperty("odi.events.transactions", "local")
+                .initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+
+            beanContainer.getEvent().select(Order.class).fire(new Order(1));
+
+            assertEquals(List.of("in-progress:1", "before:1", "completion:1", "success:1", "failure:1"), received());
+        }
+    }
+
+    @Test
+    void testCommittedTransaction() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance()
+                .addProperty("odi.events.transactions", "local")
+                .initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            LocalTransactionSynchronizer transactions = beanContainer.getBeanContext().getBean(LocalTransactionSynchronizer.class);
+            TransactionalEventDispatcher dispatcher = beanContainer.getBeanContext().getBean(TransactionalEventDispatcher.class);
+            Event<Order> event = beanContainer.getEvent().select(Order.class);
+
+            transactions.begin();
+            event.fire(new Order(1));
+            event.fire(new Order(2));
+            assertEquals(List.of("in-progress:1", "in-progress:2"), received());
+            assertEquals(1, dispatcher.getPendingTransactionCount());
+            transactions.commit();
+
+            assertEquals(List.of(
+                    "in-progress:1", "in-progress:2",
+                    "before:1", "before:2",
+                    "completion:1", "success:1", "completion:2", "success:2"
+            ), received());
+            assertEquals(0, dispatcher.getPendingTransactionCount());
+        }
+    }
+
+    @Test
+    void testRolledBackTransaction() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance()
+                .addProperty("odi.events.transactions", "local")
+                .initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            LocalTransactionSynchronizer transactions = beanContainer.getBeanContext().getBean(LocalTransactionSynchronizer.class);
+
+            transactions.begin();
+            beanContainer.getEvent().select(Order.class).fire(new Order(1));
+            transactions.rollback();
+
+            assertEquals(List.of("in-progress:1", "completion:1", "failure:1"), received());
+        }
+    }
+
+    @Test
+    void testFailureBeforeCompletionRollsBack() {
+        try (SeContainer ignore = SeContainerInitializer.newInstance()
+                .addProperty("odi.events.transactions", "local")
+                .initialize()) {
+            OdiBeanContainer beanContainer = (OdiBeanContainer) CDI.current().getBeanContainer();
+            LocalTransactionSynchronizer transactions = beanContainer.getBeanContext().getBean(LocalTransactionSynchronizer.class);
+
+            transactions.begin();
+            beanContainer.getEvent().select(Order.class).fire(new Order(-1));
+            assertThrows(IllegalStateException.class, transactions::commit);
+
+            assertEquals(List.of("in-progress:-1", "completion:-1", "failure:-1"), received());
+            assertFalse(transactions.isActive());
+        }
+    }
+
+    @Test
+    void testConcurrentNotificationsRegisterOneSynchronization() throws Exception {
+        Object transaction = new Object();
+        List<TransactionSynchronizer.Synchronization> synchronizations = new CopyOnWriteArrayList<>();
+        TransactionalEventDispatcher dispatcher = new TransactionalEventDispatcher(new TransactionSynchronizer() {
+            @Override
+            public Object getTransactionKey() {
+                return transaction;
+            }
+
+            @Override
+            public void registerSynchronization(TransactionSynchronizer.Synchronization synchronization) {
+                synchronizations.add(synchronization);
+            }
+        });
+        int threads = 8;
+        AtomicInteger notified = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return dispatcher.defer(TransactionPhase.AFTER_SUCCESS, notified::incrementAndGet);
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, synchronizations.size());
+        synchronizations.get(0).afterCompletion(true);
+        assertEquals(threads, notified.get());
+        assertEquals(0, dispatcher.getPendingTransactionCount());
+    }
+
+    @Test
+    void testFailedRegistrationIsRemoved() {
+        Object transaction = new Object();
+        AtomicInteger attempts = new AtomicInteger();
+        List<TransactionSynchronizer.Synchronization> synchronizations = new ArrayList<>();
+        TransactionalEventDispatcher dispatcher = new TransactionalEventDispatcher(new TransactionSynchronizer() {
+            @Override
+            public Object getTransactionKey() {
+                return transaction;
+            }
+
+            @Override
+            public void registerSynchronization(TransactionSynchronizer.Synchronization synchronization) {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException("Marked for rollback");
+                }
+                synchronizations.add(synchronization);
+            }
+        });
+        AtomicInteger notified = new AtomicInteger();
+
+        assertFalse(dispatcher.defer(TransactionPhase.AFTER_SUCCESS, notified::incrementAndGet));
+        assertEquals(0, dispatcher.getPendingTransactionCount());
+
+        assertTrue(dispatcher.defer(TransactionPhase.AFTER_SUCCESS, notified::incrementAndGet));
+        assertEquals(1, dispatcher.getPendingTransactionCount());
+        synchronizations.get(0).afterCompletion(true);
+        assertEquals(1, notified.get());
+    }
+
+    @Test
+    void testRegistrationCanDeferNotifications() {
+        Object transaction = new Object();
+        AtomicInteger notified = new AtomicInteger();
+        List<TransactionSynchronizer.Synchronization> synchronizations = new ArrayList<>();
+        TransactionalEventDispatcher[] dispatcher = new TransactionalEventDispatcher[1];
+        dispatcher[0] = new TransactionalEventDispatcher(new TransactionSynchronizer() {
+            @Override
+            public Object getTransactionKey() {
+                return transaction;
+            }
+
+            @Override
+            public void registerSynchronization(TransactionSynchronizer.Synchronization synchronization) {
+                // A synchronizer notifying its own listeners fires events of the same transaction
+                assertTrue(dispatcher[0].defer(TransactionPhase.AFTER_SUCCESS, notified::incrementAndGet));
+                synchronizations.add(synchronization);
+            }
+        });
+
+        assertTrue(dispatcher[0].defer(TransactionPhase.AFTER_SUCCESS, notified::incrementAndGet));
+        assertEquals(1, synchronizations.size());
+        synchronizations.get(0).afterCompletion(true);
+        assertEquals(2, notified.get());
+    }
+
+    private static List<String> received() {
+        return CDI.current().select(OrderObserver.class).get().getReceived();
+    }
+
+    static final class Order {
+        private final int id;
+
+        Order(int id) {
+            this.id = id;
+        }
+    }
+
+    @ApplicationScoped
+    static class OrderObserver {
+        private final List<String> received = new ArrayList<>();
+
+        void inProgress(@Observes @Priority(1) Order order) {
+            received.add("in-progress:" + order.id);
+        }
+
+        void beforeCompletion(@Observes(during = TransactionPhase.BEFORE_COMPLETION) @Priority(2) Order order) {
+            if (order.id < 0) {
+                throw new IllegalStateException("Invalid order");
+            }
+            received.add("before:" + order.id);
+        }
+
+        void afterCompletion(@Observes(during = TransactionPhase.AFTER_COMPLETION) @Priority(3) Order order) {
+            received.add("completion:" + order.id);
+        }
+
+        void afterSuccess(@Observes(during = TransactionPhase.AFTER_SUCCESS) @Priority(4) Order order) {
+            received.add("success:" + order.id);
+        }
+
+        void afterFailure(@Observes(during = TransactionPhase.AFTER_FAILURE) @Priority(5) Order order) {
+            received.add("failure:" + order.id);
+        }
+
+        public List<String> getReceived() {
+            return received;
+        }
+    }
+}
@@ -63,4 +63,9 @@ public @interface ObservesMethod {
      */
     TransactionPhase during() default TransactionPhase.IN_PROGRESS;
 
+    /**
+     * @return The name of the generated class invoking the method, empty if the method is invoked as executable method
+     */
+    String dispatcher() default "";
+
 }
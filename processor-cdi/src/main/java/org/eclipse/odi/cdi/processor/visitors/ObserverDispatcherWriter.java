@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.odi.cdi.processor.visitors;
+
+import io.micronaut.inject.ast.ClassElement;
+import io.micronaut.inject.ast.GenericPlaceholderElement;
+import io.micronaut.inject.ast.MethodElement;
+import io.micronaut.inject.ast.ParameterElement;
+import io.micronaut.inject.visitor.VisitorContext;
+import io.micronaut.inject.writer.GeneratedFile;
+import org.eclipse.odi.cdi.processor.AnnotationUtil;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Optional;
+
+/**
+ * Writes the dispatcher of an observer method: a class in the package of the bean implementing
+ * {@code org.eclipse.odi.cdi.MethodInvoker} that calls the observer method directly with the arguments
+ * fulfilled by the runtime, instead of going through the executable method.
+ */
+final class ObserverDispatcherWriter {
+
+    private static final String METHOD_INVOKER = "org.eclipse.odi.cdi.MethodInvoker";
+    private static final String OBSERVER_EXCEPTION = "jakarta.enterprise.event.ObserverException";
+
+    private ObserverDispatcherWriter() {
+    }
+
+    /**
+     * Writes the dispatcher of the observer method if the method is accessible from the package of the bean.
+     *
+     * @param beanClass     The bean class declaring the method
+     * @param methodElement The observer method
+     * @param context       The visitor context
+     * @return The name of the dispatcher class if it was written
+     */
+    static Optional<String> write(ClassElement beanClass, MethodElement methodElement, VisitorContext context) {
+        Optional<String> written = methodElement.stringValue(AnnotationUtil.ANN_OBSERVES_METHOD, "dispatcher");
+        if (written.isPresent()) {
+            // The method was already visited by the build time extensions
+            return written;
+        }
+        if (!isAccessible(beanClass, methodElement)) {
+            return Optional.empty();
+        }
+        String packageName = beanClass.getPackageName();
+        String binaryName = beanClass.getName();
+        String simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        String dispatcherSimpleName = simpleName + "$ObserverDispatcher$" + methodElement.getName() + "$" + signatureHash(methodElement);
+        Optional<GeneratedFile> generatedFile = context.visitGeneratedSourceFile(packageName, dispatcherSimpleName, beanClass);
+        if (!generatedFile.isPresent()) {
+            return Optional.empty();
+        }
+        try (Writer writer = generatedFile.get().openWriter()) {
+            writer.write(source(beanClass, methodElement, packageName, dispatcherSimpleName));
+        } catch (IOException e) {
+            context.warn("Failed to write the observer method dispatcher, the method will be invoked as executable method: " + e.getMessage(), methodElement);
+            return Optional.empty();
+        }
+        return Optional.of(packageName.isEmpty() ? dispatcherSimpleName : packageName + "." + dispatcherSimpleName);
+    }
+
+    private static boolean isAccessible(ClassElement beanClass, MethodElement methodElement) {
+        String packageName = beanClass.getPackageName();
+        if (methodElement.isPrivate() || !isAccessible(beanClass, packageName)) {
+            return false;
+        }
+        // The package-private and protected methods inherited from another package are not accessible to the dispatcher
+        if (!methodElement.isPublic() && !methodElement.getDeclaringType().getPackageName().equals(packageName)) {
+            return false;
+        }
+        for (ParameterElement parameter : methodElement.getParameters()) {
+            ClassElement type = parameter.getType();
+            if (type instanceof GenericPlaceholderElement || !isAccessible(type, packageName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAccessible(ClassElement type, String packageName) {
+        if (type.isPrimitive()) {
+            return true;
+        }
+        // A nested type is only accessible when its enclosing types are
+        for (ClassElement current = type; current != null; current = current.getEnclosingType().orElse(null)) {
+            if (current.isPrivate() || !current.isPublic() && !current.getPackageName().equals(packageName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String signatureHash(MethodElement methodElement) {
+        StringBuilder signature = new StringBuilder();
+        for (ParameterElement parameter : methodElement.getParameters()) {
+            signature.append(typeName(parameter.getType())).append(',');
+        }
+        return Integer.toHexString(signature.toString().hashCode());
+    }
+
+    private static String source(ClassElement beanClass, MethodElement methodElement, String packageName, String dispatcherSimpleName) {
+        String beanType = typeName(beanClass);
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@io.micronaut.core.annotation.Generated\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(dispatcherSimpleName)
+                .append(" implements ").append(METHOD_INVOKER).append('<').append(beanType).append(", Object> {\n\n")
+                .append("    @Override\n")
+                .append("    public Object invoke(").append(beanType).append(" bean, Object[] arguments) {\n")
+                .append("        try {\n")
+                .append("            ")
+                .append(methodElement.isStatic() ? beanType : "bean")
+                .append('.').append(methodElement.getName()).append('(');
+        ParameterElement[] parameters = methodElement.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            if (i > 0) {
+                source.append(", ");
+            }
+            source.append('(').append(typeName(parameters[i].getType())).append(") arguments[").append(i).append(']');
+        }
+        source.append(");\n")
+                .append("        } catch (RuntimeException e) {\n")
+                .append("            throw e;\n")
+                .append("        } catch (Exception e) {\n")
+                .append("            throw new ").append(OBSERVER_EXCEPTION).append("(e);\n")
+                .append("        }\n")
+                .append("        return null;\n")
+                .append("    }\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    private static String typeName(ClassElement type) {
+        StringBuilder name = new StringBuilder(type.getName().replace('$', '.'));
+        for (int i = 0; i < type.getArrayDimensions(); i++) {
+            name.append("[]");
+        }
+        return name.toString();
+    }
+}
@@ -27,6 +27,7 @@ import jakarta.enterprise.event.Reception;
 import org.eclipse.odi.cdi.processor.AnnotationUtil;
 
 import java.util.Arrays;
+import java.util.Optional;
 
 /**
  * The visitor of methods that are declared with {@link ObservesAsync}.
@@ -43,6 +44,7 @@ public class ObservesAsyncMethodVisitor extends ParameterAnnotationInjectableMet
         if (!AnnotationUtil.hasBeanDefiningAnnotation(currentClass)) {
             currentClass.annotate(ApplicationScoped.class);
         }
+        Optional<String> dispatcher = ObserverDispatcherWriter.write(currentClass, methodElement, context);
         methodElement.annotate(AnnotationUtil.ANN_OBSERVES_METHOD, annotationValueBuilder -> {
             annotationValueBuilder.member("eventArgumentIndex", Arrays.asList(methodElement.getParameters()).indexOf(parameterElement));
             AnnotationValue<ObservesAsync> observesAnnotation = parameterElement.getAnnotation(ObservesAsync.class);
@@ -51,6 +53,7 @@ public class ObservesAsyncMethodVisitor extends ParameterAnnotationInjectableMet
             observesAnnotation.enumValue("notifyObserver", Reception.class)
                     .ifPresent(reception -> annotationValueBuilder.member("notifyObserver", reception));
             parameterElement.intValue(Priority.class).ifPresent(priority -> annotationValueBuilder.member("priority", priority));
+            dispatcher.ifPresent(name -> annotationValueBuilder.member("dispatcher", name));
         });
     }
 
@@ -30,6 +30,7 @@ import jakarta.enterprise.event.TransactionPhase;
 import org.eclipse.odi.cdi.processor.AnnotationUtil;
 
 import java.util.Arrays;
+import java.util.Optional;
 
 /**
  * The visitor of methods that are declared with {@link Observes}.
@@ -46,6 +47,7 @@ public class ObservesMethodVisitor extends ParameterAnnotationInjectableMethodVi
         if (!AnnotationUtil.hasBeanDefiningAnnotation(currentClass)) {
             currentClass.annotate(ApplicationScoped.class);
         }
+        Optional<String> dispatcher = ObserverDispatcherWriter.write(currentClass, methodElement, context);
         methodElement.annotate(AnnotationUtil.ANN_OBSERVES_METHOD, annotationValueBuilder -> {
             AnnotationValue<Observes> observesAnnotation = parameterElement.getAnnotation(Observes.class);
             annotationValueBuilder.member("eventArgumentIndex", Arrays.asList(methodElement.getParameters()).indexOf(parameterElement));
@@ -60,6 +62,7 @@ public class ObservesMethodVisitor extends ParameterAnnotationInjectableMethodVi
             observesAnnotation.enumValue("during", TransactionPhase.class)
                     .ifPresent(during -> annotationValueBuilder.member("during", during));
             parameterElement.intValue(Priority.class).ifPresent(priority -> annotationValueBuilder.member("priority", priority));
+            dispatcher.ifPresent(name -> annotationValueBuilder.member("dispatcher", name));
         });
         methodElement.annotate(Executable.class, builder -> builder.member("processOnStartup", true));
     }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.eclipse.odi.cdi.processor
+
+import io.micronaut.annotation.processing.test.AbstractTypeElementSpec
+import io.micronaut.annotation.processing.test.JavaFileObjects
+
+import javax.tools.JavaFileObject
+
+class ObserverDispatcherSpec extends AbstractTypeElementSpec {
+
+    void 'test dispatchers are not written for the methods inherited from another package'() {
+        when:
+        def files = generate(
+                JavaFileObjects.forSourceString('base.Event', '''
+package base;
+
+public class Event {
+}
+'''),
+                JavaFileObjects.forSourceString('base.Hidden', '''
+package base;
+
+class Hidden {
+}
+'''),
+                JavaFileObjects.forSourceString('base.Base', '''
+package base;
+
+import jakarta.enterprise.event.Observes;
+
+public class Base {
+
+    void onPackagePrivate(@Observes Event event) {
+    }
+
+    protected void onProtected(@Observes Event event) {
+    }
+
+    public void onHiddenParameter(@Observes Event event, Hidden hidden) {
+    }
+}
+'''),
+                JavaFileObjects.forSourceString('test.Test', '''
+package test;
+
+import jakarta.enterprise.event.Observes;
+
+public class Test extends base.Base {
+
+    void onEvent(@Observes base.Event event) {
+    }
+}
+'''))
+
+        then:
+        dispatchers(files) == ['Test$ObserverDispatcher$onEvent']
+    }
+
+    void 'test dispatchers are not written for the beans nested in a private class'() {
+        when:
+        def files = generate(JavaFileObjects.forSourceString('test.Test', '''
+package test;
+
+import jakarta.enterprise.event.Observes;
+
+public class Test {
+
+    void onEvent(@Observes String event) {
+    }
+
+    private static class Hidden {
+
+        static class Nested {
+
+            void onEvent(@Observes String event) {
+            }
+        }
+    }
+}
+'''))
+
+        then:
+        dispatchers(files) == ['Test$ObserverDispatcher$onEvent']
+    }
+
+    private Iterable<? extends JavaFileObject> generate(JavaFileObject... sources) {
+        return newJavaParser().generate(sources)
+    }
+
+    private static List<String> dispatchers(Iterable<? extends JavaFileObject> files) {
+        return files.findAll { it.kind == JavaFileObject.Kind.CLASS }
+                .collect { it.name.substring(it.name.lastIndexOf('/') + 1) }
+                // The dispatchers of the test package, the other packages have their own
+                .findAll { it.startsWith('Test$') && it.contains('$ObserverDispatcher$') }
+                .collect { it.substring(0, it.lastIndexOf('$')) }
+                .unique()
+    }
+}